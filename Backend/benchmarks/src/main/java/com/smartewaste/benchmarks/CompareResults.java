@@ -0,0 +1,103 @@
+package com.smartewaste.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files ({@code -rf json}), e.g. from the
+ * previous release and the current build, benchmark by benchmark (same
+ * method and {@code @Param} values).
+ *
+ * A change counts as a regression when the score got worse by more than the
+ * threshold percentage and by more than the two runs' combined error:
+ * slower for time modes (avgt, sample, ss), fewer ops for throughput.
+ * Exits with status 1 when there is at least one regression. Run with
+ * {@code java -cp target/benchmarks.jar com.smartewaste.benchmarks.CompareResults baseline.json results.json [thresholdPercent=10]}.
+ */
+public class CompareResults {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <results.json> [thresholdPercent=10]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue().get("primaryMetric");
+            JsonNode before = baseline.containsKey(entry.getKey())
+                    ? baseline.get(entry.getKey()).get("primaryMetric")
+                    : null;
+            String unit = now.get("scoreUnit").asText();
+
+            if (before == null) {
+                System.out.printf("%-90s %14s %14s %9s%n", entry.getKey(), "-", format(now, unit), "new");
+                continue;
+            }
+
+            double oldScore = before.get("score").asDouble();
+            double newScore = now.get("score").asDouble();
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().get("mode").asText());
+            double worse = higherIsBetter ? -change : change;
+            double noise = error(before) + error(now);
+
+            boolean regression = worse > threshold && Math.abs(newScore - oldScore) > noise;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14s %14s %+8.1f%%%s%n",
+                    entry.getKey(), format(before, unit), format(now, unit), change, regression ? "  REGRESSION" : "");
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> {
+                    JsonNode before = baseline.get(key).get("primaryMetric");
+                    System.out.printf("%-90s %14s %14s %9s%n",
+                            key, format(before, before.get("scoreUnit").asText()), "-", "removed");
+                });
+
+        System.out.printf("%d benchmarks, %d regressions over %.1f%%%n", current.size(), regressions, threshold);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    // "class.method(param=value, ...)" -> result
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asText()
+                    .replace("com.smartewaste.benchmarks.", ""));
+            JsonNode params = result.get("params");
+            if (params != null) {
+                Map<String, String> sorted = new TreeMap<>();
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                fields.forEachRemaining(field -> sorted.put(field.getKey(), field.getValue().asText()));
+                key.append(sorted.toString().replace('{', '(').replace('}', ')'));
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    // NaN when the run had too few iterations to estimate it
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String format(JsonNode metric, String unit) {
+        return String.format("%.3f %s", metric.get("score").asDouble(), unit);
+    }
+}
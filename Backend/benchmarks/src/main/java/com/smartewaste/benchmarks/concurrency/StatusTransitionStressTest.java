@@ -0,0 +1,220 @@
+package com.smartewaste.benchmarks.concurrency;
+
+import com.smartewaste.backend.SmartewasteBackendApplication;
+import com.smartewaste.backend.entity.Personnel;
+import com.smartewaste.backend.entity.UserAccount;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.repository.PersonnelRepository;
+import com.smartewaste.backend.repository.UserAccountRepository;
+import com.smartewaste.backend.service.CollectionService;
+import com.smartewaste.backend.service.RequestStateConflictException;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency stress test for request status changes (not a JMH benchmark).
+ *
+ * Boots the backend on an in-memory H2 database, seeds PENDING requests and
+ * races schedule / reschedule / reject / complete / cancel calls on the same
+ * rows from many threads, half of them carrying the version they read first.
+ * Afterwards every row must satisfy:
+ *
+ * <ul>
+ *   <li>version == number of calls that reported success (no lost updates)</li>
+ *   <li>at most one successful call moved it to a final status, and the row is in it</li>
+ *   <li>every failed call failed with a conflict, never anything else</li>
+ * </ul>
+ *
+ * Exits with status 1 on any violation. Run with
+ * {@code java -cp target/benchmarks.jar com.smartewaste.benchmarks.concurrency.StatusTransitionStressTest [requests] [threads] [opsPerRequest]}.
+ */
+public class StatusTransitionStressTest {
+
+    private enum Op { SCHEDULE, REJECT, COMPLETE, CANCEL }
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int opsPerRequest = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+
+        // Command-line style so they win over the backend's application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SmartewasteBackendApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:stress;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=" + threads,
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.mail.host=localhost",
+                        "--email.outbox.poll-interval-ms=3600000",
+                        "--storage.images.dir=target/stress/uploads",
+                        "--storage.documents.dir=target/stress/documents",
+                        "--search.index.dir=target/stress/search-index");
+
+        int exitCode;
+        try {
+            exitCode = run(context, requests, threads, opsPerRequest);
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(ConfigurableApplicationContext context, int requests, int threads, int opsPerRequest)
+            throws InterruptedException {
+        CollectionService collectionService = context.getBean(CollectionService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Long> ids = seed(context, jdbcTemplate, requests);
+        Personnel crew = context.getBean(PersonnelRepository.class).findAll().get(0);
+
+        // Every call, shuffled so calls on one row interleave with calls on others
+        List<long[]> calls = new ArrayList<>();
+        for (Long id : ids) {
+            for (int i = 0; i < opsPerRequest; i++) {
+                calls.add(new long[] {id, i % Op.values().length});
+            }
+        }
+        Collections.shuffle(calls);
+
+        Map<Long, AtomicInteger> successes = new ConcurrentHashMap<>();
+        Map<Long, List<RequestStatus>> finalWinners = new ConcurrentHashMap<>();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(calls.size());
+
+        for (long[] call : calls) {
+            pool.execute(() -> {
+                long id = call[0];
+                Op op = Op.values()[(int) call[1]];
+                try {
+                    start.await();
+                    Long version = ThreadLocalRandom.current().nextBoolean()
+                            ? jdbcTemplate.queryForObject(
+                                    "SELECT version FROM collection_requests WHERE id = ?", Long.class, id)
+                            : null;
+
+                    RequestStatus target = apply(collectionService, crew, id, op, version);
+                    successes.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+                    if (target.isFinal()) {
+                        finalWinners.computeIfAbsent(id, k -> Collections.synchronizedList(new ArrayList<>()))
+                                .add(target);
+                    }
+                } catch (RequestStateConflictException e) {
+                    conflicts.incrementAndGet();
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+        pool.shutdown();
+
+        int violations = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList("SELECT id, status, version FROM collection_requests")) {
+            long id = ((Number) row.get("id")).longValue();
+            long version = ((Number) row.get("version")).longValue();
+            RequestStatus status = RequestStatus.valueOf((String) row.get("status"));
+            int applied = successes.getOrDefault(id, new AtomicInteger()).get();
+            List<RequestStatus> winners = finalWinners.getOrDefault(id, List.of());
+
+            String problem = null;
+            if (version != applied) {
+                problem = "version " + version + " but " + applied + " successful updates";
+            } else if (winners.size() > 1) {
+                problem = "several final transitions succeeded: " + winners;
+            } else if (winners.size() == 1 && status != winners.get(0)) {
+                problem = "final transition to " + winners.get(0) + " succeeded but row is " + status;
+            } else if (winners.isEmpty() && status.isFinal()) {
+                problem = "row is " + status + " but no final transition succeeded";
+            }
+
+            if (problem != null) {
+                violations++;
+                if (violations <= 10) {
+                    System.out.println("VIOLATION request " + id + ": " + problem);
+                }
+            }
+        }
+
+        int succeeded = successes.values().stream().mapToInt(AtomicInteger::get).sum();
+        System.out.printf("%d calls on %d requests with %d threads in %d ms: %d applied, %d conflicts, %d errors, %d violations%n",
+                calls.size(), ids.size(), threads, elapsedMs, succeeded, conflicts.get(), unexpected.size(), violations);
+        unexpected.stream().limit(5).forEach(Throwable::printStackTrace);
+
+        return violations == 0 && unexpected.isEmpty() ? 0 : 1;
+    }
+
+    private static RequestStatus apply(
+            CollectionService collectionService, Personnel crew, long id, Op op, Long version) {
+        switch (op) {
+            case SCHEDULE:
+                LocalDate date = LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(1, 8));
+                collectionService.schedulePickup(id, date, LocalTime.of(10, 0), crew.getId(), null, version)
+                        .orElseThrow();
+                return RequestStatus.IN_PROGRESS;
+            case REJECT:
+                collectionService.rejectRequest(id, "Stress test", version).orElseThrow();
+                return RequestStatus.REJECTED;
+            case COMPLETE:
+                collectionService.updateRequestStatus(id, "COMPLETED", version);
+                return RequestStatus.COMPLETED;
+            default:
+                collectionService.updateRequestStatus(id, "CANCELLED", version);
+                return RequestStatus.CANCELLED;
+        }
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext context, JdbcTemplate jdbcTemplate, int requests) {
+        UserAccount user = new UserAccount();
+        user.setFullName("Stress User");
+        user.setEmail("stress@example.com");
+        user.setUsername("stress");
+        context.getBean(UserAccountRepository.class).save(user);
+
+        Personnel crew = new Personnel();
+        crew.setName("Stress Crew");
+        crew.setEmail("crew@example.com");
+        crew.setPincode("411001");
+        context.getBean(PersonnelRepository.class).save(crew);
+
+        List<Object[]> rows = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            rows.add(new Object[] {user.getId(), "Laptop", "Pune 411001", LocalDateTime.now()});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO collection_requests (user_id, device_type, address, created_at, status, version) "
+                        + "VALUES (?, ?, ?, ?, 'PENDING', 0)",
+                rows);
+
+        return jdbcTemplate.queryForList("SELECT id FROM collection_requests ORDER BY id", Long.class);
+    }
+}
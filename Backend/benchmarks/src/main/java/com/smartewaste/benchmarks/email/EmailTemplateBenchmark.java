@@ -0,0 +1,60 @@
+package com.smartewaste.benchmarks.email;
+
+import com.smartewaste.backend.entity.EmailOutbox;
+import com.smartewaste.backend.service.EmailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTML rendering of outbound emails: the message body plus
+ * {@code EmailService.baseTemplate}, through the factories the bulk paths
+ * use (they build the outbox row without saving it, so no repository is
+ * needed). A bulk completion of 1000 requests renders 1000 of these.
+ *
+ * <ul>
+ *   <li>{@code pickupCompleted} – the most frequent email (bulk status updates)</li>
+ *   <li>{@code requestRejected} – body with a free-text reason</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private EmailService emailService;
+    private LocalDate date;
+    private LocalTime time;
+
+    @Setup
+    public void setUp() {
+        emailService = new EmailService(null, null); // Rendering only, nothing is queued
+        date = LocalDate.of(2026, 3, 14);
+        time = LocalTime.of(10, 30);
+    }
+
+    @Benchmark
+    public EmailOutbox pickupCompleted() {
+        return emailService.pickupCompletedEmail("user42@mail.example", "Priya Deshmukh", "Laptop", date, time);
+    }
+
+    @Benchmark
+    public EmailOutbox requestRejected() {
+        return emailService.requestRejectedEmail("user42@mail.example", "Priya Deshmukh",
+                "The pickup address is outside our current service area. Please drop the device at the nearest centre.");
+    }
+}
@@ -0,0 +1,106 @@
+package com.smartewaste.benchmarks.geo;
+
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.geo.GeoMath;
+import com.smartewaste.backend.geo.GridIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearby queries against {@code points} open requests spread over a
+ * 60 x 60 km metro area (default 0.01 degree cells).
+ *
+ * <ul>
+ *   <li>{@code radius3km} – PENDING requests within 3 km of a random point, nearest 50</li>
+ *   <li>{@code box} – any open request in a ~2 x 2 km box, up to 200</li>
+ *   <li>{@code linearScan} – the same 3 km radius by brute force, for reference</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GridIndexBenchmark {
+
+    private static final double MIN_LAT = 18.30;
+    private static final double MIN_LON = 73.60;
+    private static final double SPAN = 0.55; // ~60 km
+
+    private static final int PENDING_ONLY = 1 << RequestStatus.PENDING.ordinal();
+    private static final int OPEN = PENDING_ONLY | 1 << RequestStatus.IN_PROGRESS.ordinal();
+
+    @Param({"300000"})
+    public int points;
+
+    private GridIndex index;
+    private double[] lats;
+    private double[] lons;
+    private int[] tags;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        index = new GridIndex(0.01);
+        lats = new double[points];
+        lons = new double[points];
+        tags = new int[points];
+
+        Random seed = new Random(11);
+        for (int i = 0; i < points; i++) {
+            lats[i] = MIN_LAT + seed.nextDouble() * SPAN;
+            lons[i] = MIN_LON + seed.nextDouble() * SPAN;
+            tags[i] = seed.nextInt(3) == 0 ? RequestStatus.IN_PROGRESS.ordinal() : RequestStatus.PENDING.ordinal();
+            index.put(i, lats[i], lons[i], tags[i]);
+        }
+        random = new Random(3);
+    }
+
+    @Benchmark
+    public List<GridIndex.Hit> radius3km() {
+        return index.withinRadius(randomLat(), randomLon(), 3, PENDING_ONLY, 50);
+    }
+
+    @Benchmark
+    public List<GridIndex.Hit> box() {
+        double lat = randomLat();
+        double lon = randomLon();
+        return index.withinBox(lat, lon, lat + 0.018, lon + 0.019, OPEN, 200);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        double lat = randomLat();
+        double lon = randomLon();
+        int found = 0;
+        for (int i = 0; i < points; i++) {
+            if ((PENDING_ONLY & (1 << tags[i])) != 0
+                    && GeoMath.distanceKm(lat, lon, lats[i], lons[i]) <= 3) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private double randomLat() {
+        return MIN_LAT + random.nextDouble() * SPAN;
+    }
+
+    private double randomLon() {
+        return MIN_LON + random.nextDouble() * SPAN;
+    }
+}
@@ -0,0 +1,242 @@
+package com.smartewaste.benchmarks.load;
+
+import com.smartewaste.backend.SmartewasteBackendApplication;
+import com.smartewaste.benchmarks.load.Workload.Interval;
+import com.smartewaste.benchmarks.load.Workload.Op;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end API load test (not a JMH benchmark): how many concurrent users
+ * the REST API sustains before latency collapses.
+ *
+ * <ol>
+ *   <li>Boots the backend once to create the schema on an in-memory H2, and
+ *       seeds it ({@link DataSeeder}); then boots it again on a random port over the same data, so
+ *       the startup loaders (dashboard counters, location and search indexes) see it as after a restart.</li>
+ *   <li>Replaces JavaMailSender with {@link InMemoryMailSender}, so the email outbox drains as usual.</li>
+ *   <li>Runs the {@link Workload} mix in stages of increasing concurrency (closed model: each virtual
+ *       user waits for its response, then optionally thinks, then sends the next call). Every stage warms
+ *       up, then measures; per operation it prints throughput, errors, 409 conflicts and the latency
+ *       distribution from HdrHistogram.</li>
+ * </ol>
+ *
+ * Latency is measured per call as the virtual user sees it; with no think time the offered load
+ * adapts to the server, so throughput flattening while p99 climbs is the saturation point.
+ *
+ * Options (key=value), any {@code --spring.property=value} is passed to the backend:
+ * <pre>
+ * users=1000000 personnel=500 requests=1000000   seeded rows
+ * concurrency=8,16,32,64,128                       virtual users per stage
+ * warmup=15 duration=60                            seconds per stage
+ * thinkMs=0                                        mean pause between a virtual user's calls
+ * mix=LOGIN:5,CREATE_REQUEST:10,MY_REQUESTS:25,ADMIN_FEED:15,SCHEDULE:10,COMPLETE:10,ROUTE:25
+ * dbLatencyMs=0                                    delay added to every SQL statement ({@link DatabaseLatency})
+ * dir=target/loadtest                              uploads, documents, search index (wiped first)
+ * out=target/loadtest-results.csv                  one row per stage and operation
+ * </pre>
+ *
+ * Run with
+ * {@code java -Xmx4g -cp target/benchmarks.jar com.smartewaste.benchmarks.load.ApiLoadTest users=1000000 requests=2000000}.
+ */
+public class ApiLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                springArgs.add(arg);
+            } else if (arg.contains("=")) {
+                options.put(arg.substring(0, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Expected key=value or --spring.property=value: " + arg);
+            }
+        }
+
+        int users = Integer.parseInt(options.getOrDefault("users", "1000000"));
+        int personnel = Integer.parseInt(options.getOrDefault("personnel", "500"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "1000000"));
+        int[] stages = Arrays.stream(options.getOrDefault("concurrency", "8,16,32,64,128").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        long thinkMs = Long.parseLong(options.getOrDefault("thinkMs", "0"));
+        long dbLatencyMs = Long.parseLong(options.getOrDefault("dbLatencyMs", "0"));
+        Map<Op, Integer> mix = parseMix(options.get("mix"));
+        Path dir = Paths.get(options.getOrDefault("dir", "target/loadtest"));
+        Path out = Paths.get(options.getOrDefault("out", "target/loadtest-results.csv"));
+
+        wipe(dir);
+        InMemoryMailSender mail = new InMemoryMailSender();
+
+        // 1. Schema + data
+        DataSeeder.SeededData data;
+        try (ConfigurableApplicationContext seeding = boot(mail, dir, springArgs, false, 0)) {
+            PasswordEncoder encoder = seeding.getBean(PasswordEncoder.class);
+            data = new DataSeeder(seeding.getBean(JdbcTemplate.class), encoder.encode(DataSeeder.PASSWORD))
+                    .seed(users, personnel, requests);
+        }
+        wipe(dir.resolve("search-index")); // built over the empty schema; rebuilt on the next boot
+
+        // 2. Serve and load
+        int exitCode = 0;
+        try (ConfigurableApplicationContext app = boot(mail, dir, springArgs, true, dbLatencyMs)) {
+            int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            Workload workload = new Workload("http://localhost:" + port, data, mix, thinkMs);
+            workload.prefill(app.getBean(JdbcTemplate.class));
+
+            List<String> csv = new ArrayList<>();
+            csv.add("concurrency,operation,count,throughput_per_s,errors,conflicts,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+            List<String> summary = new ArrayList<>();
+            for (int concurrency : stages) {
+                Map<Op, Interval> result = runStage(workload, concurrency, warmup, duration);
+                summary.add(report(concurrency, duration, result, csv));
+            }
+
+            System.out.println();
+            System.out.printf("%-12s %12s %9s %9s %9s %9s%n", "Concurrency", "Throughput/s", "Errors", "p50 ms", "p99 ms", "max ms");
+            summary.forEach(System.out::println);
+            System.out.printf("Emails delivered to the in-memory sink: %,d (%,d KB)%n", mail.getMessages(), mail.getBytes() / 1024);
+
+            Files.createDirectories(out.toAbsolutePath().getParent());
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out))) {
+                csv.forEach(writer::println);
+            }
+            System.out.println("Results written to " + out.toAbsolutePath());
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext boot(
+            InMemoryMailSender mail, Path dir, List<String> springArgs, boolean serve, long dbLatencyMs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=" + (serve ? "none" : "create"),
+                "--spring.jpa.show-sql=false",
+                "--spring.mail.host=localhost",
+                "--storage.images.dir=" + dir.resolve("uploads"),
+                "--storage.documents.dir=" + dir.resolve("documents"),
+                "--search.index.dir=" + dir.resolve("search-index")));
+        args.addAll(springArgs); // later arguments win
+
+        // Registered before auto-configuration, so Boot's own JavaMailSender backs off
+        return new SpringApplicationBuilder(SmartewasteBackendApplication.class)
+                .initializers(context -> {
+                    context.getBeanFactory().registerSingleton("mailSender", mail);
+                    if (dbLatencyMs > 0) {
+                        context.getBeanFactory().addBeanPostProcessor(new DatabaseLatency(dbLatencyMs));
+                    }
+                })
+                .run(args.toArray(new String[0]));
+    }
+
+    private static Map<Op, Interval> runStage(Workload workload, int concurrency, int warmup, int duration)
+            throws InterruptedException {
+        System.out.printf("[load] %d virtual users: %d s warm-up, %d s measured%n", concurrency, warmup, duration);
+        List<Workload.VirtualUser> users = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Workload.VirtualUser user = new Workload.VirtualUser();
+            Thread thread = new Thread(() -> workload.run(user), "vu-" + i);
+            thread.setDaemon(true);
+            users.add(user);
+            threads.add(thread);
+            thread.start();
+        }
+
+        TimeUnit.SECONDS.sleep(warmup);
+        workload.stats.interval(); // discard warm-up
+        TimeUnit.SECONDS.sleep(duration);
+        Map<Op, Interval> result = workload.stats.interval();
+
+        users.forEach(user -> user.running = false);
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(60));
+        }
+        workload.stats.interval(); // calls that finished after the window
+        return result;
+    }
+
+    // Prints the stage table, appends CSV rows, returns the stage's summary line
+    private static String report(int concurrency, int duration, Map<Op, Interval> result, List<String> csv) {
+        System.out.printf("%n%-16s %9s %10s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Operation", "Count", "Per second", "Errors", "Conflicts", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        for (Map.Entry<Op, Interval> entry : result.entrySet()) {
+            Histogram h = entry.getValue().latencyMicros;
+            if (h.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(h);
+            errors += entry.getValue().errors;
+            double perSecond = (double) h.getTotalCount() / duration;
+            System.out.printf("%-16s %9d %10.1f %7d %9d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), h.getTotalCount(), perSecond, entry.getValue().errors, entry.getValue().conflicts,
+                    ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9), h.getMaxValue() / 1000.0);
+            csv.add(String.format("%d,%s,%d,%.1f,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f",
+                    concurrency, entry.getKey(), h.getTotalCount(), perSecond, entry.getValue().errors,
+                    entry.getValue().conflicts, ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9), h.getMaxValue() / 1000.0));
+        }
+        return String.format("%-12d %12.1f %9d %9.1f %9.1f %9.1f",
+                concurrency, (double) all.getTotalCount() / duration, errors, ms(all, 50), ms(all, 99),
+                all.getMaxValue() / 1000.0);
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static Map<Op, Integer> parseMix(String mix) {
+        Map<Op, Integer> weights = new EnumMap<>(Op.class);
+        if (mix == null) {
+            for (Op op : Op.values()) {
+                weights.put(op, op.defaultWeight);
+            }
+            return weights;
+        }
+        for (String part : mix.split(",")) {
+            String[] kv = part.split(":");
+            weights.put(Op.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return weights;
+    }
+
+    private static void wipe(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.smartewaste.benchmarks.load;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Synthetic data for the load test, written with plain JDBC batches (no
+ * entity listeners, no per-row BCrypt) so millions of rows take minutes,
+ * not hours.
+ *
+ * <ul>
+ *   <li>citizens: VERIFIED {@code ROLE_USER} accounts {@code load.user<N>@example.com}</li>
+ *   <li>personnel: a {@code personnel} row plus a {@code ROLE_PERSONNEL} account with the same email</li>
+ *   <li>requests: spread over the last 180 days with a realistic status mix; IN_PROGRESS ones are
+ *       assigned to a personnel with a slot in the coming week, so routes have stops</li>
+ * </ul>
+ *
+ * Every account shares one password hash, made with the backend's own
+ * PasswordEncoder. Ids of a batch are contiguous (one connection, identity
+ * columns), so only the first id of each batch is looked up.
+ */
+public class DataSeeder {
+
+    public static final String PASSWORD = "Load@Test2026";
+
+    static final String[] DEVICES = {"Laptop", "Phone", "Monitor", "Printer", "Tablet", "Television",
+            "Battery", "Router"};
+    static final String[] BRANDS = {"Dell", "HP", "Lenovo", "Samsung", "Apple", "Sony", "LG", "Asus",
+            "Acer", "Nokia", "Motorola", "Xiaomi"};
+    private static final String[] STATUSES = {"PENDING", "PENDING", "IN_PROGRESS", "COMPLETED", "COMPLETED",
+            "COMPLETED", "COMPLETED", "REJECTED", "CANCELLED"};
+    private static final String[] AREAS = {"Kothrud", "Baner", "Hadapsar", "Wakad", "Aundh", "Viman Nagar",
+            "Kharadi", "Shivajinagar"};
+
+    private static final int HISTORY_DAYS = 180;
+    private static final int CHUNK = 50_000; // rows per batchUpdate; bounds the parameter list in memory
+
+    private final JdbcTemplate jdbc;
+    private final String passwordHash;
+    private final Random random = new Random(42);
+
+    public DataSeeder(JdbcTemplate jdbc, String passwordHash) {
+        this.jdbc = jdbc;
+        this.passwordHash = passwordHash;
+    }
+
+    public SeededData seed(int users, int personnel, int requests) {
+        long started = System.nanoTime();
+
+        long firstUser = insertAccounts(users, "ROLE_USER", i -> "load.user" + i + "@example.com");
+        insertAccounts(personnel, "ROLE_PERSONNEL", DataSeeder::crewEmail);
+        long firstCrew = insertPersonnel(personnel);
+        log("Seeded %,d users and %,d personnel", users, personnel);
+
+        insertRequests(requests, firstUser, users, firstCrew, personnel);
+        jdbc.execute("ANALYZE");
+
+        log("Seeded %,d requests in %d s", requests, (System.nanoTime() - started) / 1_000_000_000);
+        return new SeededData(firstUser, users, firstCrew, personnel);
+    }
+
+    static String crewEmail(int i) {
+        return "crew" + i + "@load.example";
+    }
+
+    private long insertAccounts(int count, String role, IntFunction<String> email) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusDays(HISTORY_DAYS + 1));
+        chunked(count, (from, to) -> jdbc.batchUpdate(
+                "INSERT INTO user_accounts (full_name, email, phone, address, city, username, password, status, "
+                        + "must_reset_password, created_at, email_key, username_key) "
+                        + "VALUES (?, ?, ?, ?, 'Pune', ?, ?, 'VERIFIED', FALSE, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int n = from + i;
+                        String address = n % 400 + " " + AREAS[n % AREAS.length] + " Road, Pune " + (411001 + n % 60);
+                        ps.setString(1, (role.equals("ROLE_USER") ? "Load User " : "Load Crew ") + n);
+                        ps.setString(2, email.apply(n));
+                        ps.setString(3, String.format("9%09d", n));
+                        ps.setString(4, address);
+                        ps.setString(5, email.apply(n));
+                        ps.setString(6, passwordHash);
+                        ps.setTimestamp(7, createdAt);
+                        ps.setString(8, email.apply(n));
+                        ps.setString(9, email.apply(n));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return to - from;
+                    }
+                }));
+
+        long first = jdbc.queryForObject("SELECT id FROM user_accounts WHERE email_key = ?", Long.class, email.apply(0));
+        jdbc.update("INSERT INTO user_roles (user_id, role) SELECT id, ? FROM user_accounts WHERE id BETWEEN ? AND ?",
+                role, first, first + count - 1);
+        return first;
+    }
+
+    private long insertPersonnel(int count) {
+        jdbc.batchUpdate("INSERT INTO personnel (name, role, phone, active, email, address, pincode) "
+                        + "VALUES (?, 'Collector', ?, TRUE, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, "Load Crew " + i);
+                        ps.setString(2, String.format("8%09d", i));
+                        ps.setString(3, crewEmail(i));
+                        ps.setString(4, AREAS[i % AREAS.length] + ", Pune");
+                        ps.setString(5, String.valueOf(411001 + i % 60));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+        return jdbc.queryForObject("SELECT id FROM personnel WHERE email = ?", Long.class, crewEmail(0));
+    }
+
+    private void insertRequests(int count, long firstUser, int users, long firstCrew, int personnel) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime start = today.minusDays(HISTORY_DAYS).atTime(8, 0);
+        long stepSeconds = Math.max(1, HISTORY_DAYS * 86_400L / Math.max(1, count));
+
+        chunked(count, (from, to) -> jdbc.batchUpdate(
+                "INSERT INTO collection_requests (user_id, device_type, brand, model, item_condition, quantity, "
+                        + "address, remarks, latitude, longitude, pickup_date, pickup_time, personnel_id, "
+                        + "pickup_personnel, status, created_at, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int n = from + i;
+                        String status = STATUSES[random.nextInt(STATUSES.length)];
+                        LocalDateTime createdAt = start.plusSeconds(n * stepSeconds);
+                        int crew = random.nextInt(personnel);
+
+                        ps.setLong(1, firstUser + random.nextInt(users));
+                        ps.setString(2, DEVICES[random.nextInt(DEVICES.length)]);
+                        ps.setString(3, BRANDS[random.nextInt(BRANDS.length)]);
+                        ps.setString(4, "M" + random.nextInt(5000));
+                        ps.setString(5, random.nextBoolean() ? "Working" : "Damaged");
+                        ps.setInt(6, 1 + random.nextInt(3));
+                        ps.setString(7, n % 400 + " " + AREAS[n % AREAS.length] + " Road, Pune " + (411001 + n % 60));
+                        ps.setString(8, n % 4 == 0 ? "Please call before pickup" : null);
+                        ps.setDouble(9, 18.45 + random.nextDouble() * 0.15);
+                        ps.setDouble(10, 73.75 + random.nextDouble() * 0.2);
+
+                        if (status.equals("PENDING")) {
+                            ps.setNull(11, Types.DATE);
+                            ps.setNull(12, Types.TIME);
+                            ps.setNull(13, Types.BIGINT);
+                            ps.setNull(14, Types.VARCHAR);
+                        } else {
+                            // Open work is booked in the coming week, closed work shortly after it was requested
+                            LocalDate day = status.equals("IN_PROGRESS")
+                                    ? today.plusDays(random.nextInt(7))
+                                    : createdAt.toLocalDate().plusDays(1 + random.nextInt(3));
+                            ps.setObject(11, day);
+                            ps.setObject(12, LocalTime.of(9 + random.nextInt(9), 0));
+                            ps.setLong(13, firstCrew + crew);
+                            ps.setString(14, "Load Crew " + crew);
+                        }
+                        ps.setString(15, status);
+                        ps.setTimestamp(16, Timestamp.valueOf(createdAt));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return to - from;
+                    }
+                }));
+    }
+
+    private static void chunked(int count, ChunkWriter writer) {
+        for (int from = 0; from < count; from += CHUNK) {
+            writer.write(from, Math.min(count, from + CHUNK));
+        }
+    }
+
+    private interface ChunkWriter {
+        void write(int from, int to);
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[load] " + format + "%n", args);
+    }
+
+    // ===================== RESULT =====================
+    public static class SeededData {
+
+        private final long firstUserId;
+        private final int users;
+        private final long firstPersonnelId;
+        private final int personnel;
+
+        SeededData(long firstUserId, int users, long firstPersonnelId, int personnel) {
+            this.firstUserId = firstUserId;
+            this.users = users;
+            this.firstPersonnelId = firstPersonnelId;
+            this.personnel = personnel;
+        }
+
+        public long getFirstUserId() {
+            return firstUserId;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public long getFirstPersonnelId() {
+            return firstPersonnelId;
+        }
+
+        public int getPersonnel() {
+            return personnel;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.smartewaste.benchmarks.load;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Adds a fixed delay before every statement execution, so the in-memory H2
+ * behaves like a database across the network: the request thread is parked
+ * for the round trip instead of burning CPU. That waiting is what a thread
+ * per request pays for and what virtual threads make cheap, so this is the
+ * knob for thread-capacity comparisons ({@code dbLatencyMs=}).
+ *
+ * Connections and statements are wrapped in JDK proxies; {@code unwrap} and
+ * {@code isWrapperFor} still reach the pool, so Hikari metrics keep working.
+ */
+class DatabaseLatency implements BeanPostProcessor {
+
+    private final long delayMs;
+
+    DatabaseLatency(long delayMs) {
+        this.delayMs = delayMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource)) {
+            return bean;
+        }
+        return proxy(DataSource.class, bean, (method, result) ->
+                result instanceof Connection ? proxy(Connection.class, result, this::statements) : result);
+    }
+
+    private Object statements(Method method, Object result) {
+        if (result instanceof CallableStatement) {
+            return proxy(CallableStatement.class, result, null);
+        }
+        if (result instanceof PreparedStatement) {
+            return proxy(PreparedStatement.class, result, null);
+        }
+        if (result instanceof Statement) {
+            return proxy(Statement.class, result, null);
+        }
+        return result;
+    }
+
+    private interface ResultWrapper {
+        Object wrap(Method method, Object result);
+    }
+
+    // Statements (wrapper == null) sleep before execute*; everything else only wraps what it returns
+    private Object proxy(Class<?> type, Object target, ResultWrapper wrapper) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (wrapper == null && method.getName().startsWith("execute")) {
+                Thread.sleep(delayMs);
+            }
+            try {
+                Object result = method.invoke(target, args);
+                boolean passThrough = wrapper == null
+                        || method.getName().equals("unwrap") || method.getName().equals("isWrapperFor");
+                return passThrough ? result : wrapper.wrap(method, result);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return Proxy.newProxyInstance(DatabaseLatency.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
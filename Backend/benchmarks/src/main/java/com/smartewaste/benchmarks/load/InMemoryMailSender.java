@@ -0,0 +1,60 @@
+package com.smartewaste.benchmarks.load;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JavaMailSender that never talks to SMTP: every message is fully rendered
+ * (so building the MIME content still costs what it costs) and then counted.
+ * Registered in place of Boot's sender so the outbox dispatcher runs as in
+ * production during a load test.
+ */
+public class InMemoryMailSender extends JavaMailSenderImpl {
+
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        for (MimeMessage message : mimeMessages) {
+            try {
+                CountingStream out = new CountingStream();
+                message.writeTo(out);
+                bytes.add(out.count);
+            } catch (IOException | MessagingException e) {
+                throw new MailPreparationException("Could not render message", e);
+            }
+            messages.increment();
+        }
+    }
+
+    public long getMessages() {
+        return messages.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    private static final class CountingStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package com.smartewaste.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The mixed workload: one virtual user is one thread that logs in as a random
+ * citizen and then loops over weighted operations against the running API,
+ * recording each call's latency per operation.
+ *
+ * Operations that need a request in a given state take one from a shared
+ * queue (PENDING ids to schedule, IN_PROGRESS ids to complete), prefilled from
+ * the seeded data and fed by the workload itself: created requests become
+ * schedulable, scheduled ones completable. When a queue is empty the virtual
+ * user does a list call instead.
+ */
+class Workload {
+
+    enum Op {
+        LOGIN(5),          // POST /api/public/login (BCrypt-bound)
+        CREATE_REQUEST(10), // POST /api/collection/request, multipart with a photo
+        MY_REQUESTS(25),   // GET /api/collection/my-requests
+        ADMIN_FEED(15),    // GET /api/admin/requests, first page, random filter
+        SCHEDULE(10),      // PUT /api/admin/requests/{id}/schedule
+        COMPLETE(10),      // PUT /api/collection/{id}/status?status=COMPLETED, as the assigned personnel
+        ROUTE(25);         // GET /api/collection/route?date=, as a personnel
+
+        final int defaultWeight;
+
+        Op(int defaultWeight) {
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int PREFILL = 200_000;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final DataSeeder.SeededData data;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Op[] wheel; // each op repeated by its weight; a random index picks an op
+    private final long thinkMs;
+
+    private final byte[] photo = photo();
+    private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<long[]> scheduled = new ConcurrentLinkedQueue<>(); // {requestId, personnelId}
+    private final Map<Integer, String> crewTokens = new ConcurrentHashMap<>();
+    private volatile String adminToken;
+
+    final Stats stats = new Stats();
+
+    Workload(String baseUrl, DataSeeder.SeededData data, Map<Op, Integer> weights, long thinkMs) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.thinkMs = thinkMs;
+
+        List<Op> slots = new ArrayList<>();
+        weights.forEach((op, weight) -> slots.addAll(Collections.nCopies(weight, op)));
+        this.wheel = slots.toArray(new Op[0]);
+    }
+
+    // Most recent open work first, shuffled so virtual users don't contend on neighbouring rows
+    void prefill(JdbcTemplate jdbc) throws IOException, InterruptedException {
+        List<Long> open = jdbc.queryForList(
+                "SELECT id FROM collection_requests WHERE status = 'PENDING' ORDER BY id DESC LIMIT ?", Long.class, PREFILL);
+        List<long[]> booked = jdbc.query(
+                "SELECT id, personnel_id FROM collection_requests WHERE status = 'IN_PROGRESS' ORDER BY id DESC LIMIT ?",
+                (rs, row) -> new long[] {rs.getLong(1), rs.getLong(2)}, PREFILL);
+        open = new ArrayList<>(open);
+        booked = new ArrayList<>(booked);
+        Collections.shuffle(open);
+        Collections.shuffle(booked);
+        pending.addAll(open);
+        scheduled.addAll(booked);
+
+        adminToken = login("admin@smartewaste.local", "Admin@123");
+    }
+
+    // ===================== VIRTUAL USER =====================
+
+    void run(VirtualUser user) {
+        try {
+            // The first session is retried through 429s (hashing bulkhead), which only happen in the warm-up ramp
+            while (user.running && user.token == null) {
+                user.token = timed(Op.LOGIN, () -> loginCall(randomCitizen()));
+                if (user.token == null) {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(50, 200));
+                }
+            }
+            while (user.running) {
+                execute(wheel[ThreadLocalRandom.current().nextInt(wheel.length)], user);
+                if (thinkMs > 0) {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMs * 2 + 1)); // mean thinkMs
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static final class VirtualUser {
+        volatile boolean running = true;
+        String token;
+    }
+
+    private void execute(Op op, VirtualUser user) throws InterruptedException {
+        switch (op) {
+            case LOGIN: {
+                String token = timed(Op.LOGIN, () -> loginCall(randomCitizen()));
+                if (token != null) {
+                    user.token = token;
+                }
+                break;
+            }
+            case CREATE_REQUEST: {
+                String body = timed(Op.CREATE_REQUEST, () -> send(createRequest(user.token)));
+                Long id = body == null ? null : idOf(body);
+                if (id != null) {
+                    pending.add(id);
+                }
+                break;
+            }
+            case ADMIN_FEED:
+                timed(Op.ADMIN_FEED, () -> send(get("/api/admin/requests?" + feedFilter(), adminToken)));
+                break;
+            case SCHEDULE: {
+                Long id = pending.poll();
+                if (id == null) {
+                    execute(Op.MY_REQUESTS, user);
+                    break;
+                }
+                int crew = ThreadLocalRandom.current().nextInt(data.getPersonnel());
+                long personnelId = data.getFirstPersonnelId() + crew;
+                String body = timed(Op.SCHEDULE, () -> send(put("/api/admin/requests/" + id + "/schedule",
+                        "{\"pickupDate\":\"" + LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(1, 4))
+                                + "\",\"pickupTime\":\"" + slot() + "\",\"personnelId\":" + personnelId + "}",
+                        adminToken)));
+                if (body != null) {
+                    scheduled.add(new long[] {id, personnelId});
+                }
+                break;
+            }
+            case COMPLETE: {
+                long[] booking = scheduled.poll();
+                if (booking == null) {
+                    execute(Op.ROUTE, user);
+                    break;
+                }
+                String token = crewToken((int) (booking[1] - data.getFirstPersonnelId()));
+                timed(Op.COMPLETE, () -> send(put("/api/collection/" + booking[0] + "/status?status=COMPLETED", null, token)));
+                break;
+            }
+            case ROUTE: {
+                String token = crewToken(ThreadLocalRandom.current().nextInt(data.getPersonnel()));
+                LocalDate date = LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(3));
+                timed(Op.ROUTE, () -> send(get("/api/collection/route?date=" + date, token)));
+                break;
+            }
+            default:
+                timed(Op.MY_REQUESTS, () -> send(get("/api/collection/my-requests", user.token)));
+        }
+    }
+
+    // ===================== CALLS =====================
+
+    private interface Call {
+        Response call() throws IOException, InterruptedException;
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    // Body of a 2xx response, null otherwise; every outcome lands in the stats
+    private String timed(Op op, Call call) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            Response response = call.call();
+            stats.record(op, System.nanoTime() - start, response.status);
+            return response.status / 100 == 2 ? response.body : null;
+        } catch (IOException e) {
+            stats.record(op, System.nanoTime() - start, 0);
+            return null;
+        }
+    }
+
+    private Response send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    private Response loginCall(long userNumber) throws IOException, InterruptedException {
+        Response response = send(loginRequest("load.user" + userNumber + "@example.com", DataSeeder.PASSWORD));
+        if (response.status != 200) {
+            return response;
+        }
+        JsonNode json = objectMapper.readTree(response.body);
+        return json.path("success").asBoolean()
+                ? new Response(200, json.path("token").asText())
+                : new Response(401, response.body);
+    }
+
+    // Not timed: personnel sessions are set up once and reused
+    private String crewToken(int crew) {
+        return crewTokens.computeIfAbsent(crew, c -> {
+            try {
+                return login(DataSeeder.crewEmail(c), DataSeeder.PASSWORD);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    // Setup logins back off while the hashing bulkhead is full (429) instead of failing the virtual user
+    private String login(String username, String password) throws IOException, InterruptedException {
+        Response response = send(loginRequest(username, password));
+        for (int attempt = 1; response.status == 429 && attempt < 50; attempt++) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(50, 200));
+            response = send(loginRequest(username, password));
+        }
+        JsonNode json = objectMapper.readTree(response.body);
+        if (response.status != 200 || !json.path("success").asBoolean()) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.body);
+        }
+        return json.path("token").asText();
+    }
+
+    private HttpRequest loginRequest(String username, String password) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/public/login"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest put(String path, String json, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .PUT(json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest createRequest(String token) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String boundary = "----load" + Long.toHexString(random.nextLong());
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("deviceType", DataSeeder.DEVICES[random.nextInt(DataSeeder.DEVICES.length)]);
+        fields.put("brand", DataSeeder.BRANDS[random.nextInt(DataSeeder.BRANDS.length)]);
+        fields.put("model", "M" + random.nextInt(5000));
+        fields.put("condition", random.nextBoolean() ? "Working" : "Damaged");
+        fields.put("quantity", String.valueOf(1 + random.nextInt(3)));
+        fields.put("address", random.nextInt(400) + " Baner Road, Pune " + (411001 + random.nextInt(60)));
+        fields.put("pickupDate", LocalDate.now().plusDays(random.nextInt(1, 8)).toString());
+        fields.put("pickupTime", slot());
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(photo.length + 2048);
+        fields.forEach((name, value) -> write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\""
+                + name + "\"\r\n\r\n" + value + "\r\n"));
+        write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"image\"; filename=\"device.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n");
+        body.writeBytes(photo);
+        // Trailing bytes after the JPEG end marker: ignored by decoders, but every upload hashes
+        // differently, so the content-addressed store really writes (and derives) each photo
+        write(body, Long.toHexString(random.nextLong()) + "\r\n--" + boundary + "--\r\n");
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/collection/request"))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private static String slot() {
+        return String.format("%02d:00", 9 + ThreadLocalRandom.current().nextInt(9));
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String feedFilter() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (random.nextInt(3)) {
+            case 0:
+                return "status=PENDING&size=20";
+            case 1:
+                return "deviceType=" + DataSeeder.DEVICES[random.nextInt(DataSeeder.DEVICES.length)] + "&size=20";
+            default:
+                return "size=20";
+        }
+    }
+
+    private Long idOf(String json) {
+        try {
+            JsonNode id = objectMapper.readTree(json).get("id");
+            return id == null ? null : id.asLong();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private long randomCitizen() {
+        return ThreadLocalRandom.current().nextInt(data.getUsers());
+    }
+
+    // A phone-camera-sized JPEG (~100 KB), generated once
+    private static byte[] photo() {
+        BufferedImage image = new BufferedImage(1024, 768, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 400; i++) {
+            g.setColor(new Color(random.nextInt(0x1000000)));
+            g.fillOval(random.nextInt(1024), random.nextInt(768), 20 + random.nextInt(200), 20 + random.nextInt(200));
+        }
+        g.dispose();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ===================== STATS =====================
+
+    /**
+     * Per-operation latency (microseconds) and outcome counts. Recorders are
+     * wait-free for the recording threads; {@link #interval()} swaps them out.
+     */
+    static final class Stats {
+
+        private final Map<Op, Recorder> latencies = new EnumMap<>(Op.class);
+        private final Map<Op, LongAdder> errors = new EnumMap<>(Op.class);
+        private final Map<Op, LongAdder> conflicts = new EnumMap<>(Op.class);
+
+        Stats() {
+            for (Op op : Op.values()) {
+                latencies.put(op, new Recorder(3));
+                errors.put(op, new LongAdder());
+                conflicts.put(op, new LongAdder());
+            }
+        }
+
+        // status 0 = no response (timeout, connection refused)
+        void record(Op op, long nanos, int status) {
+            latencies.get(op).recordValue(Math.max(1, nanos / 1000));
+            if (status == 409) {
+                conflicts.get(op).increment(); // lost a race for the same request: expected under load
+            } else if (status / 100 != 2) {
+                errors.get(op).increment();
+            }
+        }
+
+        // Everything recorded since the previous call
+        Map<Op, Interval> interval() {
+            Map<Op, Interval> result = new EnumMap<>(Op.class);
+            for (Op op : Op.values()) {
+                result.put(op, new Interval(latencies.get(op).getIntervalHistogram(),
+                        errors.get(op).sumThenReset(), conflicts.get(op).sumThenReset()));
+            }
+            return result;
+        }
+    }
+
+    static final class Interval {
+        final Histogram latencyMicros;
+        final long errors;
+        final long conflicts;
+
+        Interval(Histogram latencyMicros, long errors, long conflicts) {
+            this.latencyMicros = latencyMicros;
+            this.errors = errors;
+            this.conflicts = conflicts;
+        }
+    }
+}
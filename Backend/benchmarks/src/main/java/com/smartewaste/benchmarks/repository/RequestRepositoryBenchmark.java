@@ -0,0 +1,241 @@
+package com.smartewaste.benchmarks.repository;
+
+import com.smartewaste.backend.SmartewasteBackendApplication;
+import com.smartewaste.backend.dto.CollectionRequestDto;
+import com.smartewaste.backend.dto.RequestFeedFilter;
+import com.smartewaste.backend.entity.UserAccount;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.repository.CollectionRequestRepository;
+import com.smartewaste.backend.repository.UserAccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spring Data repository calls behind the busiest screens, against the real
+ * schema (booted backend, in-memory H2, {@code ddl-auto=create}) seeded with
+ * 500k requests, 50k users and 200 personnel over 180 days by default.
+ *
+ * <ul>
+ *   <li>{@code userRequests} – a user's own request list ({@code findDtosByUserId})</li>
+ *   <li>{@code personnelRoute} – one personnel's stops for a day ({@code findRouteStops})</li>
+ *   <li>{@code feedStatus} / {@code feedDeviceType} – first admin feed page, filtered by status or device type</li>
+ *   <li>{@code requestById} – one request as a DTO ({@code findDtoById})</li>
+ *   <li>{@code userByEmail} – login lookup ({@code findByEmailIgnoreCase}, entity + roles)</li>
+ * </ul>
+ *
+ * Keys are random on every call: H2 reuses the previous result of a statement
+ * run again with the same parameters, which would hide the real cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class RequestRepositoryBenchmark {
+
+    private static final String[] DEVICES = {"Laptop", "Phone", "Monitor", "Printer", "Tablet", "Television",
+            "Battery", "Router"};
+    private static final String[] BRANDS = {"Dell", "HP", "Lenovo", "Samsung", "Apple", "Sony", "LG", "Asus"};
+    private static final String[] CITIES = {"Pune", "Mumbai", "Nashik", "Nagpur", "Thane"};
+    private static final RequestStatus[] STATUSES = {RequestStatus.PENDING, RequestStatus.IN_PROGRESS,
+            RequestStatus.IN_PROGRESS, RequestStatus.COMPLETED, RequestStatus.COMPLETED, RequestStatus.COMPLETED,
+            RequestStatus.REJECTED, RequestStatus.CANCELLED};
+
+    private static final int PERSONNEL = 200;
+    private static final int DAYS = 180;
+    private static final int FEED_PAGE = 20;
+
+    @Param({"500000"})
+    public int requests;
+
+    private ConfigurableApplicationContext context;
+    private CollectionRequestRepository requestRepository;
+    private UserAccountRepository userRepository;
+    private LocalDate firstDay;
+    private int users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line style so they win over the backend's application.properties
+        context = new SpringApplicationBuilder(SmartewasteBackendApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:repository;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.mail.host=localhost",
+                        "--email.outbox.poll-interval-ms=3600000",
+                        "--storage.images.dir=target/repository-bench/uploads",
+                        "--storage.documents.dir=target/repository-bench/documents",
+                        "--search.index.dir=target/repository-bench/search-index");
+
+        requestRepository = context.getBean(CollectionRequestRepository.class);
+        userRepository = context.getBean(UserAccountRepository.class);
+        users = Math.max(1, requests / 10);
+        firstDay = LocalDate.now().minusDays(DAYS - 1);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    // Plain JDBC batches (no entity listeners); ids start at 1 on a fresh schema
+    private void seed(JdbcTemplate jdbc) {
+        jdbc.batchUpdate("INSERT INTO user_accounts (full_name, email, phone, address, city, username, status, "
+                + "must_reset_password, created_at, email_key, username_key) VALUES (?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        String city = CITIES[i % CITIES.length];
+                        String email = "user" + i + "@mail.example";
+                        ps.setString(1, "User " + i);
+                        ps.setString(2, email);
+                        ps.setString(3, String.format("98%08d", i));
+                        ps.setString(4, i % 300 + " MG Road, " + city);
+                        ps.setString(5, city);
+                        ps.setString(6, "user" + i);
+                        ps.setString(7, i % 10 == 0 ? "PENDING" : "VERIFIED");
+                        ps.setTimestamp(8, Timestamp.valueOf(LocalDateTime.now().minusDays(DAYS)));
+                        ps.setString(9, email);
+                        ps.setString(10, "user" + i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users;
+                    }
+                });
+
+        jdbc.batchUpdate("INSERT INTO personnel (name, role, phone, active, email, pincode) VALUES (?, 'Collector', ?, TRUE, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, "Crew " + i);
+                        ps.setString(2, String.format("97%08d", i));
+                        ps.setString(3, "crew" + i + "@smartewaste.local");
+                        ps.setString(4, String.valueOf(411001 + i % 60));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return PERSONNEL;
+                    }
+                });
+
+        // Oldest first, spread evenly over the window; every non-PENDING request has a crew and a slot
+        LocalDateTime start = firstDay.atTime(8, 0);
+        long stepSeconds = Math.max(1, DAYS * 86_400L / requests);
+        jdbc.batchUpdate("INSERT INTO collection_requests (user_id, device_type, brand, model, item_condition, quantity, "
+                + "address, remarks, pickup_date, pickup_time, personnel_id, pickup_personnel, status, created_at, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        RequestStatus status = STATUSES[random.nextInt(STATUSES.length)];
+                        LocalDateTime createdAt = start.plusSeconds(i * stepSeconds);
+                        int crew = 1 + random.nextInt(PERSONNEL);
+
+                        ps.setLong(1, 1 + random.nextInt(users));
+                        ps.setString(2, DEVICES[random.nextInt(DEVICES.length)]);
+                        ps.setString(3, BRANDS[random.nextInt(BRANDS.length)]);
+                        ps.setString(4, "M" + random.nextInt(5000));
+                        ps.setString(5, random.nextBoolean() ? "Working" : "Damaged");
+                        ps.setInt(6, 1 + random.nextInt(3));
+                        ps.setString(7, i % 300 + " MG Road, " + CITIES[i % CITIES.length] + " " + (411001 + i % 60));
+                        ps.setString(8, i % 4 == 0 ? "Please call before pickup" : null);
+                        if (status == RequestStatus.PENDING) {
+                            ps.setNull(9, Types.DATE);
+                            ps.setNull(10, Types.TIME);
+                            ps.setNull(11, Types.BIGINT);
+                            ps.setNull(12, Types.VARCHAR);
+                        } else {
+                            ps.setDate(9, Date.valueOf(createdAt.toLocalDate().plusDays(1 + random.nextInt(3))));
+                            ps.setTime(10, Time.valueOf(createdAt.toLocalTime().withMinute(0).withSecond(0).withNano(0)));
+                            ps.setLong(11, crew);
+                            ps.setString(12, "Crew " + (crew - 1));
+                        }
+                        ps.setString(13, status.name());
+                        ps.setTimestamp(14, Timestamp.valueOf(createdAt));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return requests;
+                    }
+                });
+
+        // Fresh optimizer statistics, as a long-running database would have
+        jdbc.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CollectionRequestDto> userRequests() {
+        return requestRepository.findDtosByUserId(1L + ThreadLocalRandom.current().nextInt(users));
+    }
+
+    @Benchmark
+    public List<CollectionRequestDto> personnelRoute() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return requestRepository.findRouteStops(1L + random.nextInt(PERSONNEL), RequestStatus.IN_PROGRESS,
+                firstDay.plusDays(random.nextInt(DAYS)));
+    }
+
+    @Benchmark
+    public List<CollectionRequestDto> feedStatus() {
+        RequestFeedFilter filter = new RequestFeedFilter();
+        filter.setStatus(STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)]);
+        return requestRepository.findFeedPage(filter, null, FEED_PAGE + 1);
+    }
+
+    @Benchmark
+    public List<CollectionRequestDto> feedDeviceType() {
+        RequestFeedFilter filter = new RequestFeedFilter();
+        filter.setDeviceType(DEVICES[ThreadLocalRandom.current().nextInt(DEVICES.length)]);
+        return requestRepository.findFeedPage(filter, null, FEED_PAGE + 1);
+    }
+
+    @Benchmark
+    public Optional<CollectionRequestDto> requestById() {
+        return requestRepository.findDtoById(1L + ThreadLocalRandom.current().nextInt(requests));
+    }
+
+    @Benchmark
+    public Optional<UserAccount> userByEmail() {
+        return userRepository.findByEmailIgnoreCase("User" + ThreadLocalRandom.current().nextInt(users) + "@Mail.Example");
+    }
+}
@@ -0,0 +1,138 @@
+package com.smartewaste.benchmarks.repository;
+
+import com.smartewaste.backend.entity.UserAccount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User lookup by email on a seeded user_accounts table (1M rows by default).
+ *
+ * <ul>
+ *   <li>{@code ignoreCase} – the old derived query, {@code upper(email) = upper(?)}: full scan</li>
+ *   <li>{@code normalizedKey} – {@code email_key = ?} against the unique index: index seek</li>
+ * </ul>
+ *
+ * The query plans for both are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    private static final String IGNORE_CASE_SQL =
+            "SELECT id, email, username FROM user_accounts WHERE UPPER(email) = UPPER(?)";
+
+    private static final String NORMALIZED_KEY_SQL =
+            "SELECT id, email, username FROM user_accounts WHERE email_key = ?";
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Connection connection;
+    private PreparedStatement ignoreCase;
+    private PreparedStatement normalizedKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:user_lookup;DB_CLOSE_DELAY=-1", "sa", "");
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS user_accounts");
+            // Same shape as the Hibernate-generated table, reduced to the columns the lookup touches
+            ddl.execute("CREATE TABLE user_accounts ("
+                    + "id BIGINT PRIMARY KEY, "
+                    + "email VARCHAR(255) UNIQUE, "
+                    + "username VARCHAR(255) UNIQUE, "
+                    + "email_key VARCHAR(255) UNIQUE, "
+                    + "username_key VARCHAR(255) UNIQUE, "
+                    + "full_name VARCHAR(255))");
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO user_accounts (id, email, username, email_key, username_key, full_name) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                String email = "User" + i + "@Example.com";
+                insert.setLong(1, i);
+                insert.setString(2, email);
+                insert.setString(3, email);
+                insert.setString(4, UserAccount.normalizeKey(email));
+                insert.setString(5, UserAccount.normalizeKey(email));
+                insert.setString(6, "User " + i);
+                insert.addBatch();
+                if (i % 10_000 == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+
+        ignoreCase = connection.prepareStatement(IGNORE_CASE_SQL);
+        normalizedKey = connection.prepareStatement(NORMALIZED_KEY_SQL);
+
+        printPlan(IGNORE_CASE_SQL);
+        printPlan(NORMALIZED_KEY_SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long ignoreCase() throws SQLException {
+        ignoreCase.setString(1, randomEmail());
+        return firstId(ignoreCase);
+    }
+
+    @Benchmark
+    public long normalizedKey() throws SQLException {
+        normalizedKey.setString(1, UserAccount.normalizeKey(randomEmail()));
+        return firstId(normalizedKey);
+    }
+
+    private String randomEmail() {
+        return "USER" + ThreadLocalRandom.current().nextInt(1, rows + 1) + "@example.COM";
+    }
+
+    private static long firstId(PreparedStatement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    private void printPlan(String sql) throws SQLException {
+        try (Statement explain = connection.createStatement();
+             ResultSet rs = explain.executeQuery("EXPLAIN " + sql.replace("?", "'user1@example.com'"))) {
+            rs.next();
+            System.out.println("\n" + rs.getString(1).replaceAll("\\s+", " "));
+        }
+    }
+}
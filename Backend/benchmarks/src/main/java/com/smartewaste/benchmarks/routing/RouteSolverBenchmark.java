@@ -0,0 +1,65 @@
+package com.smartewaste.benchmarks.routing;
+
+import com.smartewaste.backend.routing.RouteOptions;
+import com.smartewaste.backend.routing.RoutePlan;
+import com.smartewaste.backend.routing.RouteSolver;
+import com.smartewaste.backend.routing.RouteStop;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One personnel's day: {@code stops} pickups scattered over a ~15 km square,
+ * on the scheduler's 45-minute slot grid. Uses a generous budget so the
+ * score is the time to reach a local optimum, not the cut-off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteSolverBenchmark {
+
+    @Param({"12", "30"})
+    public int stops;
+
+    private RouteSolver solver;
+    private List<RouteStop> day;
+
+    @Setup
+    public void setUp() {
+        solver = new RouteSolver(new RouteOptions(
+                25, Duration.ofMinutes(15), Duration.ofMinutes(60), 1.0, Duration.ofSeconds(5)));
+
+        Random random = new Random(7);
+        day = new ArrayList<>(stops);
+        for (long id = 1; id <= stops; id++) {
+            day.add(new RouteStop(
+                    id,
+                    18.45 + random.nextDouble() * 0.15,
+                    73.78 + random.nextDouble() * 0.15,
+                    LocalTime.of(9, 0).plusMinutes(45L * random.nextInt(12))));
+        }
+    }
+
+    @Benchmark
+    public RoutePlan solve() {
+        return solver.solve(day);
+    }
+}
@@ -0,0 +1,167 @@
+package com.smartewaste.benchmarks.scheduling;
+
+import com.smartewaste.backend.SmartewasteBackendApplication;
+import com.smartewaste.backend.dto.AutoScheduleResult;
+import com.smartewaste.backend.service.AutoSchedulingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole {@link AutoSchedulingService#run} against the booted backend on
+ * in-memory H2: planning plus the commit (guarded assignment batch, event log,
+ * counters and, with {@code notify}, one outbox row per stop). Every
+ * invocation starts from the same all-PENDING backlog. Crew is sized so the
+ * 14-day horizon has room for every request; {@code notify=false} isolates
+ * the notification cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class AutoScheduleCommitBenchmark {
+
+    private static final int AREAS = 50;
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 5);
+
+    @Param({"2000", "10000"})
+    public int pending;
+
+    @Param({"true", "false"})
+    public boolean notify;
+
+    private ConfigurableApplicationContext context;
+    private AutoSchedulingService autoSchedulingService;
+    private JdbcTemplate jdbc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line style so they win over the backend's application.properties
+        context = new SpringApplicationBuilder(SmartewasteBackendApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:autoschedule;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.mail.host=localhost",
+                        "--email.outbox.poll-interval-ms=3600000",
+                        "--storage.images.dir=target/autoschedule-bench/uploads",
+                        "--storage.documents.dir=target/autoschedule-bench/documents",
+                        "--search.index.dir=target/autoschedule-bench/search-index");
+
+        autoSchedulingService = context.getBean(AutoSchedulingService.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        seed();
+    }
+
+    // Plain JDBC batches (no entity listeners); ids start at 1 on a fresh schema
+    private void seed() {
+        int users = Math.max(1, pending / 5);
+        jdbc.batchUpdate("INSERT INTO user_accounts (full_name, email, phone, address, city, username, status, "
+                + "must_reset_password, created_at, email_key, username_key) VALUES (?, ?, ?, ?, 'Pune', ?, 'VERIFIED', FALSE, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        String email = "user" + i + "@mail.example";
+                        ps.setString(1, "User " + i);
+                        ps.setString(2, email);
+                        ps.setString(3, String.format("98%08d", i));
+                        ps.setString(4, i % 300 + " MG Road, Pune");
+                        ps.setString(5, "user" + i);
+                        ps.setTimestamp(6, Timestamp.valueOf(LocalDateTime.of(2025, 11, 1, 0, 0)));
+                        ps.setString(7, email);
+                        ps.setString(8, "user" + i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users;
+                    }
+                });
+
+        // 12 stops a day over 14 days per crew member: pending / 100 leaves ~40% headroom
+        int personnel = Math.max(AREAS, pending / 100);
+        jdbc.batchUpdate("INSERT INTO personnel (name, role, phone, active, email, pincode, address) "
+                        + "VALUES (?, 'Collector', ?, TRUE, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, "Crew " + i);
+                        ps.setString(2, String.format("97%08d", i));
+                        ps.setString(3, "crew" + i + "@smartewaste.local");
+                        ps.setString(4, pincode(i % AREAS));
+                        ps.setString(5, "Depot, Pune " + pincode(i % AREAS));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return personnel;
+                    }
+                });
+
+        LocalDateTime start = LocalDateTime.of(2025, 12, 1, 8, 0);
+        jdbc.batchUpdate("INSERT INTO collection_requests (user_id, device_type, brand, model, item_condition, quantity, "
+                + "address, status, created_at, version) VALUES (?, 'Laptop', 'Dell', 'M1', 'Working', 1, ?, 'PENDING', ?, 0)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, 1 + i % users);
+                        ps.setString(2, i % 300 + " MG Road, Pune " + pincode(i % AREAS));
+                        ps.setTimestamp(3, Timestamp.valueOf(start.plusMinutes(i)));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return pending;
+                    }
+                });
+    }
+
+    // Back to the seeded backlog: nothing scheduled, no queued mail
+    @Setup(Level.Invocation)
+    public void reset() {
+        jdbc.update("UPDATE collection_requests SET status = 'PENDING', personnel_id = NULL, pickup_personnel = NULL, "
+                + "pickup_date = NULL, pickup_time = NULL");
+        jdbc.update("DELETE FROM email_outbox");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AutoScheduleResult run() {
+        return autoSchedulingService.run(FROM, false, notify);
+    }
+
+    private static String pincode(int area) {
+        return String.valueOf(411000 + area);
+    }
+}
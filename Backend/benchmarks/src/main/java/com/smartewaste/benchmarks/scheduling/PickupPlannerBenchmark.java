@@ -0,0 +1,95 @@
+package com.smartewaste.benchmarks.scheduling;
+
+import com.smartewaste.backend.scheduling.CrewMember;
+import com.smartewaste.backend.scheduling.PendingPickup;
+import com.smartewaste.backend.scheduling.PickupPlanner;
+import com.smartewaste.backend.scheduling.SchedulingOptions;
+import com.smartewaste.backend.scheduling.SchedulingPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full auto-scheduling pass over a synthetic backlog: {@code pending}
+ * requests spread over {@code areas} pincodes (a few without any crew), two
+ * crew members per served pincode, default 14-day horizon and 12 stops a day.
+ * Measures planning only; {@link AutoScheduleCommitBenchmark} covers the commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PickupPlannerBenchmark {
+
+    @Param({"10000", "50000"})
+    public int pending;
+
+    @Param({"100"})
+    public int areas;
+
+    private SchedulingOptions options;
+    private List<CrewMember> crew;
+    private List<PendingPickup> backlog;
+
+    @Setup
+    public void setUp() {
+        options = new SchedulingOptions(
+                LocalDate.of(2026, 1, 5), 14, 12, LocalTime.of(9, 0), LocalTime.of(18, 0), Duration.ofMinutes(45));
+
+        crew = new ArrayList<>();
+        long personnelId = 1;
+        for (int area = 0; area < areas; area++) {
+            if (area % 10 == 9) {
+                continue; // Unserved pincode: exercises the district/city fallbacks
+            }
+            for (int i = 0; i < 2; i++) {
+                crew.add(new CrewMember(personnelId, "Crew " + personnelId, pincode(area), "Depot, Pune " + pincode(area)));
+                personnelId++;
+            }
+        }
+
+        Random random = new Random(42);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 12, 1, 0, 0);
+        backlog = new ArrayList<>(pending);
+        for (long id = 1; id <= pending; id++) {
+            String pincode = pincode(random.nextInt(areas));
+            backlog.add(new PendingPickup(
+                    id,
+                    id + " MG Road, Pune " + pincode,
+                    "Pune",
+                    random.nextInt(4) == 0 ? LocalDate.of(2026, 1, 5).plusDays(random.nextInt(14)) : null,
+                    null,
+                    createdAt.plusMinutes(id),
+                    "user" + id + "@bench.local",
+                    "User " + id));
+        }
+    }
+
+    @Benchmark
+    public SchedulingPlan plan() {
+        return new PickupPlanner(options, crew).plan(backlog);
+    }
+
+    private static String pincode(int area) {
+        return String.valueOf(411000 + area);
+    }
+}
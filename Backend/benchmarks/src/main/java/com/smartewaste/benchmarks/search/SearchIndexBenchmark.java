@@ -0,0 +1,192 @@
+package com.smartewaste.benchmarks.search;
+
+import com.smartewaste.backend.dto.SearchResultDto;
+import com.smartewaste.backend.service.SearchIndexService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Admin full-text search over a seeded index (1M requests + 50k users by
+ * default), through SearchIndexService itself: query building, ranking
+ * and facet counting.
+ *
+ * <ul>
+ *   <li>{@code mixed} – a random mix of brand / device / city words, typos, model codes, prefixes
+ *       being typed, user names and phone numbers; every fourth query also filters on status</li>
+ *   <li>{@code browse} – no text, filters only (facet navigation)</li>
+ * </ul>
+ *
+ * SampleTime mode, so JMH reports p50 / p99 / p99.9. {@code -p facetCacheSize=0}
+ * measures every query uncached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class SearchIndexBenchmark {
+
+    private static final String[] BRANDS = {"Dell", "HP", "Lenovo", "Samsung", "Apple", "Sony", "LG", "Asus",
+            "Acer", "Nokia", "Motorola", "Xiaomi", "OnePlus", "Philips", "Panasonic", "Toshiba", "Canon", "Epson",
+            "Microsoft", "Huawei"};
+    private static final String[] DEVICES = {"Laptop", "Phone", "Monitor", "Printer", "Tablet", "Television",
+            "Battery", "Router"};
+    private static final String[] CITIES = {"Pune", "Mumbai", "Nashik", "Nagpur", "Thane", "Delhi", "Bengaluru",
+            "Chennai", "Hyderabad", "Kolkata", "Jaipur", "Surat", "Indore", "Bhopal", "Lucknow", "Kanpur", "Patna",
+            "Vadodara", "Ludhiana", "Agra"};
+    private static final String[] STATUSES = {"PENDING", "PENDING", "IN_PROGRESS", "COMPLETED", "COMPLETED",
+            "COMPLETED", "REJECTED", "CANCELLED"};
+    private static final String[] REMARKS = {"screen cracked", "battery swollen", "not powering on", "water damage",
+            "keyboard missing keys", null, null, null, "please call before pickup", "gate code 4411"};
+    private static final String[] TYPOS = {"samsnug", "lenvo", "delll", "pirnter", "mumbia", "chenai", "batery",
+            "monitr"};
+
+    private static final int MODELS = 5000;
+
+    @Param({"1000000"})
+    public int requests;
+
+    @Param({"1000"})
+    public long facetCacheSize;
+
+    private SingleConnectionDataSource dataSource;
+    private Path indexDir;
+    private SearchIndexService search;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:search;DB_CLOSE_DELAY=-1", "sa", "", true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        seed(jdbc);
+
+        indexDir = Files.createTempDirectory("search-bench");
+        search = new SearchIndexService(jdbc, indexDir.toString(), 2000, 8, 1000, 64, facetCacheSize);
+        search.rebuild();
+    }
+
+    // Same columns SearchIndexService reads; values vary so term frequencies and hit counts are realistic-ish
+    private void seed(JdbcTemplate jdbc) {
+        jdbc.execute("CREATE TABLE collection_requests (id BIGINT PRIMARY KEY, status VARCHAR(20), "
+                + "device_type VARCHAR(50), brand VARCHAR(50), model VARCHAR(50), address VARCHAR(255), remarks VARCHAR(255))");
+        jdbc.execute("CREATE TABLE user_accounts (id BIGINT PRIMARY KEY, status VARCHAR(20), "
+                + "full_name VARCHAR(100), email VARCHAR(100), phone VARCHAR(20))");
+
+        jdbc.batchUpdate("INSERT INTO collection_requests VALUES (?, ?, ?, ?, ?, ?, ?)",
+                new org.springframework.jdbc.core.BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(java.sql.PreparedStatement ps, int i) throws java.sql.SQLException {
+                        long id = i + 1L;
+                        ps.setLong(1, id);
+                        ps.setString(2, STATUSES[(int) (id * 7 % STATUSES.length)]);
+                        ps.setString(3, DEVICES[(int) (id * 13 % DEVICES.length)]);
+                        ps.setString(4, BRANDS[(int) (id * 31 % BRANDS.length)]);
+                        ps.setString(5, "M" + id * 97 % MODELS);
+                        ps.setString(6, id % 500 + " " + BRANDS[(int) (id * 3 % BRANDS.length)] + " Road, "
+                                + CITIES[(int) (id * 17 % CITIES.length)] + " " + (400000 + id * 11 % 9000));
+                        ps.setString(7, REMARKS[(int) (id * 19 % REMARKS.length)]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return requests;
+                    }
+                });
+
+        int users = Math.max(1, requests / 20);
+        jdbc.batchUpdate("INSERT INTO user_accounts VALUES (?, ?, ?, ?, ?)",
+                new org.springframework.jdbc.core.BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(java.sql.PreparedStatement ps, int i) throws java.sql.SQLException {
+                        long id = i + 1L;
+                        ps.setLong(1, id);
+                        ps.setString(2, id % 5 == 0 ? "PENDING" : "VERIFIED");
+                        ps.setString(3, "User" + id + " " + CITIES[(int) (id % CITIES.length)]);
+                        ps.setString(4, "user" + id + "@mail.example");
+                        ps.setString(5, String.format("98%08d", id));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users;
+                    }
+                });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        search.close();
+        dataSource.destroy();
+        try (Stream<Path> files = Files.walk(indexDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public SearchResultDto mixed() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String status = random.nextInt(4) == 0 ? "PENDING" : null;
+        return search.search(randomQuery(random), null, status, null, 0, 20);
+    }
+
+    @Benchmark
+    public SearchResultDto browse() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return search.search(null, null, STATUSES[random.nextInt(STATUSES.length)],
+                DEVICES[random.nextInt(DEVICES.length)], 0, 20);
+    }
+
+    private String randomQuery(ThreadLocalRandom random) {
+        String brand = pick(random, BRANDS).toLowerCase();
+        String device = pick(random, DEVICES).toLowerCase();
+        String city = pick(random, CITIES).toLowerCase();
+        int users = Math.max(1, requests / 20);
+        switch (random.nextInt(10)) {
+            case 0:
+                return brand;
+            case 1:
+                return brand + " " + device;
+            case 2:
+                return device + " " + city;
+            case 3:
+                return pick(random, TYPOS);
+            case 4:
+                return "m" + random.nextInt(MODELS);
+            case 5:
+                return "user" + (1 + random.nextInt(users));
+            case 6:
+                return String.format("98%08d", 1 + random.nextInt(users));
+            case 7:
+                return brand + " m" + random.nextInt(50);
+            case 8:
+                return city.substring(0, 3);
+            default:
+                return brand + " " + device + " " + city;
+        }
+    }
+
+    private static String pick(ThreadLocalRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
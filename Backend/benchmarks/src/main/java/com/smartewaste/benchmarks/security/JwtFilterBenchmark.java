@@ -0,0 +1,157 @@
+package com.smartewaste.benchmarks.security;
+
+import com.smartewaste.backend.security.JwtAuthenticationFilter;
+import com.smartewaste.backend.security.JwtUtil;
+import com.smartewaste.backend.security.VerifiedToken;
+import com.smartewaste.backend.security.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in the servlet filter.
+ *
+ * <ul>
+ *   <li>{@code legacy} – the previous filter: validate, extract subject and read claims, three full parses</li>
+ *   <li>{@code singleParse} – current filter with the cache bypassed, one parse per request</li>
+ *   <li>{@code cached} – current filter, same token repeated (the common case for a logged-in client)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private String token;
+
+    private OncePerRequestFilter legacyFilter;
+    private JwtAuthenticationFilter singleParseFilter;
+    private JwtAuthenticationFilter cachedFilter;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken("bench.user@smartewaste.local", "ROLE_USER");
+
+        legacyFilter = new LegacyJwtFilter(jwtUtil);
+        // Token timers are recorded as in production
+        singleParseFilter = new JwtAuthenticationFilter(new UncachedTokens(jwtUtil), new SimpleMeterRegistry());
+        cachedFilter = new JwtAuthenticationFilter(new VerifiedTokenCache(jwtUtil, 10_000, 300), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Authentication legacy() throws Exception {
+        return authenticate(legacyFilter);
+    }
+
+    @Benchmark
+    public Authentication singleParse() throws Exception {
+        return authenticate(singleParseFilter);
+    }
+
+    @Benchmark
+    public Authentication cached() throws Exception {
+        return authenticate(cachedFilter);
+    }
+
+    private Authentication authenticate(OncePerRequestFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/collection/my-requests");
+        request.setServletPath("/api/collection/my-requests");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Verifies on every call. A maximumSize(0) Caffeine cache evicts asynchronously and can still hit.
+    static final class UncachedTokens extends VerifiedTokenCache {
+
+        private final JwtUtil jwtUtil;
+
+        UncachedTokens(JwtUtil jwtUtil) {
+            super(jwtUtil, 0, 300);
+            this.jwtUtil = jwtUtil;
+        }
+
+        @Override
+        public VerifiedToken resolve(String token) {
+            try {
+                VerifiedToken verified = VerifiedToken.fromClaims(jwtUtil.parseVerified(token));
+                return verified.getUsername() == null || verified.isExpired(Instant.now()) ? null : verified;
+            } catch (JwtException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    // Filter body as it was before the single-parse change, kept as the baseline
+    static final class LegacyJwtFilter extends OncePerRequestFilter {
+
+        private final JwtUtil jwtUtil;
+
+        LegacyJwtFilter(JwtUtil jwtUtil) {
+            this.jwtUtil = jwtUtil;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                FilterChain filterChain) throws ServletException, IOException {
+            String authHeader = request.getHeader("Authorization");
+
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                String token = authHeader.substring(7);
+
+                if (jwtUtil.validateToken(token)) {
+                    String username = jwtUtil.extractUsername(token);
+                    String role = jwtUtil.getClaims(token).get("role", String.class);
+
+                    if (!role.startsWith("ROLE_")) {
+                        role = "ROLE_" + role;
+                    }
+
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    username, null, List.of(new SimpleGrantedAuthority(role)));
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            }
+
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.smartewaste.benchmarks.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.smartewaste.backend.dto.CollectionRequestDto;
+import com.smartewaste.backend.dto.UserSummaryDto;
+import com.smartewaste.backend.entity.CollectionRequest;
+import com.smartewaste.backend.entity.Personnel;
+import com.smartewaste.backend.entity.UserAccount;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.enums.UserStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response-body cost of the list endpoints: mapping {@code CollectionRequest}
+ * entities to {@code CollectionRequestDto} and writing the list as JSON, plus
+ * the admin user list ({@code UserSummaryDto.fromEntity}). The ObjectMapper is
+ * configured like Spring Boot's (java.time module, ISO dates, empty beans
+ * allowed).
+ *
+ * <ul>
+ *   <li>{@code mapRequests} – {@code CollectionRequestDto.fromEntity} only</li>
+ *   <li>{@code writeRequests} – JSON for an already-mapped list (the JPQL constructor-expression paths)</li>
+ *   <li>{@code mapAndWriteRequests} – both, as for entity-loaded lists</li>
+ *   <li>{@code mapAndWriteUsers} – {@code UserSummaryDto.fromEntity} + JSON (GET /api/admin/users)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestListSerializationBenchmark {
+
+    private static final String[] DEVICES = {"Laptop", "Phone", "Monitor", "Printer", "Tablet", "Television"};
+    private static final String[] BRANDS = {"Dell", "HP", "Lenovo", "Samsung", "Apple", "Sony", "LG", "Asus"};
+    private static final String[] CITIES = {"Pune", "Mumbai", "Nashik", "Nagpur", "Thane"};
+    private static final RequestStatus[] STATUSES = RequestStatus.values();
+
+    @Param({"20", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<CollectionRequest> requests;
+    private List<CollectionRequestDto> dtos;
+    private List<UserAccount> users;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .build();
+
+        Random random = new Random(42);
+        Personnel crew = new Personnel();
+        crew.setId(7L);
+        crew.setName("Ravi Patil");
+
+        users = new ArrayList<>(size);
+        requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String city = CITIES[random.nextInt(CITIES.length)];
+            UserAccount user = new UserAccount();
+            user.setId(1000L + i);
+            user.setFullName("User " + i + " Kulkarni");
+            user.setEmail("user" + i + "@mail.example");
+            user.setPhone(String.format("98%08d", i));
+            user.setCity(city);
+            user.setAddress(i % 300 + " MG Road, " + city);
+            user.setStatus(i % 5 == 0 ? UserStatus.PENDING : UserStatus.VERIFIED);
+            users.add(user);
+
+            CollectionRequest request = new CollectionRequest();
+            request.setId(50_000L + i);
+            request.setUser(user);
+            request.setDeviceType(DEVICES[random.nextInt(DEVICES.length)]);
+            request.setBrand(BRANDS[random.nextInt(BRANDS.length)]);
+            request.setModel("M" + random.nextInt(5000));
+            request.setCondition(i % 3 == 0 ? "Damaged" : "Working");
+            request.setQuantity(1 + random.nextInt(3));
+            request.setImagePath("uploads/requests/" + (50_000L + i) + ".jpg");
+            request.setAddress(user.getAddress() + " " + (411000 + random.nextInt(60)));
+            request.setLatitude(18.5 + random.nextDouble() / 10);
+            request.setLongitude(73.8 + random.nextDouble() / 10);
+            request.setRemarks(i % 4 == 0 ? "Please call before pickup" : null);
+            request.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            request.setCreatedAt(LocalDateTime.of(2026, 3, 1, 9, 0).plusMinutes(37L * i));
+            if (request.getStatus() != RequestStatus.PENDING) {
+                request.setPersonnel(crew);
+                request.setPickupPersonnel(crew.getName());
+                request.setPickupDate(LocalDate.of(2026, 3, 10).plusDays(i % 14));
+                request.setPickupTime(LocalTime.of(9 + i % 8, 0));
+            }
+            requests.add(request);
+        }
+        dtos = mapRequests();
+    }
+
+    @Benchmark
+    public List<CollectionRequestDto> mapRequests() {
+        List<CollectionRequestDto> mapped = new ArrayList<>(requests.size());
+        for (CollectionRequest request : requests) {
+            mapped.add(CollectionRequestDto.fromEntity(request));
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public byte[] writeRequests() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] mapAndWriteRequests() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapRequests());
+    }
+
+    @Benchmark
+    public byte[] mapAndWriteUsers() throws JsonProcessingException {
+        List<UserSummaryDto> summaries = new ArrayList<>(users.size());
+        for (UserAccount user : users) {
+            summaries.add(UserSummaryDto.fromEntity(user));
+        }
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
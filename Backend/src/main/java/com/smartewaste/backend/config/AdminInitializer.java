@@ -3,6 +3,8 @@ package com.smartewaste.backend.config;
 import com.smartewaste.backend.entity.UserAccount;
 import com.smartewaste.backend.enums.UserStatus;
 import com.smartewaste.backend.repository.UserAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,6 +17,8 @@ import java.util.Set;
 @Configuration
 public class AdminInitializer {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminInitializer.class);
+
     @Bean
     CommandLineRunner initAdmin(
             UserAccountRepository repository,
@@ -52,9 +56,8 @@ public class AdminInitializer {
 
             repository.save(admin);
 
-            System.out.println(
-                    "✅ Default ADMIN created → email: admin@smartewaste.local | password: Admin@123"
-            );
+            log.warn("Default ADMIN created ({}) with the built-in password; change it after first login",
+                    ADMIN_EMAIL);
         };
     }
 }
@@ -0,0 +1,66 @@
+package com.smartewaste.backend.config;
+
+import com.smartewaste.backend.storage.DocumentStore;
+import com.smartewaste.backend.storage.StoredDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Moves legacy user_documents.data blobs into the DocumentStore, one row at a
+ * time, then clears the column. Safe to run on every start: it only touches
+ * rows that have no storage key yet, and does nothing once the column is gone.
+ */
+@Configuration
+public class DocumentBlobMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentBlobMigration.class);
+
+    @Bean
+    CommandLineRunner migrateDocumentBlobs(JdbcTemplate jdbcTemplate, DocumentStore documentStore) {
+        return args -> {
+            List<Long> ids;
+            try {
+                ids = jdbcTemplate.queryForList(
+                        "SELECT id FROM user_documents WHERE storage_key IS NULL AND data IS NOT NULL",
+                        Long.class);
+            } catch (DataAccessException e) {
+                return; // Fresh schema without the legacy column
+            }
+
+            for (Long id : ids) {
+                StoredDocument stored = jdbcTemplate.query(
+                        "SELECT data FROM user_documents WHERE id = ?",
+                        rs -> {
+                            if (!rs.next()) {
+                                return null;
+                            }
+                            try (InputStream in = rs.getBinaryStream(1)) {
+                                return documentStore.write(in);
+                            } catch (IOException e) {
+                                throw new IllegalStateException("Failed to migrate document " + id, e);
+                            }
+                        },
+                        id);
+
+                if (stored != null) {
+                    jdbcTemplate.update(
+                            "UPDATE user_documents SET storage_key = ?, size = ?, sha256 = ?, data = NULL WHERE id = ?",
+                            stored.getKey(), stored.getSize(), stored.getSha256(), id);
+                }
+            }
+
+            if (!ids.isEmpty()) {
+                log.info("Migrated {} user document blobs to the document store", ids.size());
+            }
+        };
+    }
+}
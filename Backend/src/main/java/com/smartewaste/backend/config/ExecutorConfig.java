@@ -0,0 +1,86 @@
+package com.smartewaste.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class ExecutorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutorConfig.class);
+
+    /*
+     * spring.threads.virtual.enabled=true (Java 21, mvn -Pjava21) moves Tomcat request handling and
+     * @Scheduled jobs onto virtual threads; uploads are streamed to disk on the request thread, so they
+     * follow. The pools below stay on platform threads: hashing, thumbnails and route solving are CPU-bound,
+     * and Jakarta Mail sends inside synchronized methods (SMTPTransport.sendMessage), which would pin a
+     * carrier thread for the whole SMTP exchange.
+     */
+    @Bean
+    CommandLineRunner threadingReport(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        return args -> {
+            if (virtualThreads && Runtime.version().feature() < 21) {
+                // Boot silently falls back to platform threads here
+                log.warn("spring.threads.virtual.enabled needs Java 21, running on {}: using platform threads",
+                        Runtime.version());
+            } else {
+                log.info("Request handling on {} threads", virtualThreads ? "virtual" : "platform");
+            }
+        };
+    }
+
+    // ✅ Bounded pool for outbound SMTP; each worker sends one batch over one connection
+    @Bean(name = "emailDispatchExecutor")
+    public ThreadPoolTaskExecutor emailDispatchExecutor(
+            @Value("${email.outbox.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("email-dispatch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // ✅ Thumbnail / preview rendering; bounded queue so upload bursts can't pile up work
+    @Bean(name = "imageDerivativeExecutor")
+    public ThreadPoolTaskExecutor imageDerivativeExecutor(
+            @Value("${storage.images.derivatives.workers:2}") int workers,
+            @Value("${storage.images.derivatives.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-derivative-");
+        return executor;
+    }
+
+    // ✅ Password hashing (login, resets); CPU-bound, so capped near core count
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${security.password.hashing.concurrency:0}") int concurrency,
+            @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity) {
+        int threads = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity); // full queue -> TaskRejectedException -> 429
+        executor.setThreadNamePrefix("password-hash-");
+        return executor;
+    }
+
+    // ✅ Route optimisation: one CPU-bound solve per personnel, fanned out across cores
+    @Bean(name = "routeOptimizationPool", destroyMethod = "shutdown")
+    public ForkJoinPool routeOptimizationPool(
+            @Value("${routing.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads);
+    }
+}
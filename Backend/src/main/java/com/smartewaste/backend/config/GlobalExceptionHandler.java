@@ -1,5 +1,10 @@
 package com.smartewaste.backend.config;
 
+import com.smartewaste.backend.security.PasswordHashingBusyException;
+import com.smartewaste.backend.service.RequestStateConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -12,6 +17,8 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<?> handleBadCredentials(BadCredentialsException ex) {
         Map<String, String> error = new HashMap<>();
@@ -20,6 +27,45 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<?> handleHashingBusy(PasswordHashingBusyException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Too Many Requests");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler(RequestStateConflictException.class)
+    public ResponseEntity<?> handleStateConflict(RequestStateConflictException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Conflict");
+        error.put("message", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(org.springframework.web.bind.MethodArgumentNotValidException.class)
+    public ResponseEntity<?> handleInvalidBody(org.springframework.web.bind.MethodArgumentNotValidException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Bad Request");
+        error.put("message", ex.getBindingResult().getFieldErrors().stream()
+                .map(field -> field.getField() + " " + field.getDefaultMessage())
+                .findFirst()
+                .orElse("Invalid request body"));
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    // e.g. ?format=XML or ?status=DONE: an unknown enum constant is the caller's mistake, not a 500
+    @ExceptionHandler(org.springframework.web.method.annotation.MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<?> handleTypeMismatch(
+            org.springframework.web.method.annotation.MethodArgumentTypeMismatchException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Bad Request");
+        error.put("message", "Invalid value '" + ex.getValue() + "' for parameter " + ex.getName());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(org.springframework.web.multipart.MaxUploadSizeExceededException.class)
     public ResponseEntity<?> handleMaxSizeException(
             org.springframework.web.multipart.MaxUploadSizeExceededException exc) {
@@ -34,7 +80,7 @@ public class GlobalExceptionHandler {
         Map<String, String> error = new HashMap<>();
         error.put("error", "Server Error");
         error.put("message", ex.getMessage());
-        ex.printStackTrace(); // Print to console for us
+        log.error("Unhandled exception", ex);
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
@@ -0,0 +1,59 @@
+package com.smartewaste.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+/**
+ * Links requests scheduled before collection_requests.personnel_id existed to
+ * their Personnel row, by matching the legacy pickup_personnel name. Runs in
+ * id ranges so large tables are never locked by one statement; rows whose
+ * name matches no personnel stay unassigned (they still show the name).
+ * Only the id span of rows that can actually be linked is walked, so once
+ * everything linkable is linked a restart costs one read and no UPDATEs.
+ */
+@Configuration
+public class PersonnelAssignmentBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonnelAssignmentBackfill.class);
+
+    private static final long RANGE_SIZE = 5000;
+
+    @Bean
+    CommandLineRunner backfillPersonnelAssignments(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            // Unlinked rows whose name matches nobody are skipped: they are what would
+            // otherwise send every startup through the whole table again
+            Map<String, Object> span = jdbcTemplate.queryForMap(
+                    "SELECT MIN(r.id) AS min_id, MAX(r.id) AS max_id FROM collection_requests r "
+                            + "WHERE r.personnel_id IS NULL AND r.pickup_personnel IS NOT NULL "
+                            + "AND EXISTS (SELECT 1 FROM personnel p WHERE p.name = r.pickup_personnel)");
+            Number minId = (Number) span.get("min_id");
+            Number maxId = (Number) span.get("max_id");
+            if (minId == null || maxId == null) {
+                return;
+            }
+
+            int linked = 0;
+            for (long from = minId.longValue() - 1; from < maxId.longValue(); from += RANGE_SIZE) {
+                // Duplicate names resolve to the oldest active row, then the oldest row
+                linked += jdbcTemplate.update(
+                        "UPDATE collection_requests SET personnel_id = COALESCE("
+                                + "(SELECT MIN(p.id) FROM personnel p WHERE p.name = collection_requests.pickup_personnel AND p.active = TRUE), "
+                                + "(SELECT MIN(p.id) FROM personnel p WHERE p.name = collection_requests.pickup_personnel)) "
+                                + "WHERE personnel_id IS NULL AND pickup_personnel IS NOT NULL AND id > ? AND id <= ? "
+                                + "AND EXISTS (SELECT 1 FROM personnel p WHERE p.name = collection_requests.pickup_personnel)",
+                        from, from + RANGE_SIZE);
+            }
+
+            if (linked > 0) {
+                log.info("Linked {} collection requests to personnel by name", linked);
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.smartewaste.backend.config;
+
+import com.smartewaste.backend.service.RequestEventRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Keeps request_events RANGE-partitioned by event_month on MySQL: one
+ * partition per month, created a few months ahead, plus a catch-all.
+ * Old months can then be archived or dropped per partition, and month-bounded
+ * scans (export, SLA rollups) only touch their own partitions.
+ *
+ * Other databases (H2 in development) keep the plain table; the
+ * (event_month, id) index serves the same queries there.
+ */
+@Component
+public class RequestEventPartitioning {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestEventPartitioning.class);
+
+    private static final int MONTHS_AHEAD = 3;
+    private static final String CATCH_ALL = "pmax";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RequestEventPartitioning(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 3 * * *")
+    public void ensurePartitions() {
+        try {
+            if (!isMySql()) {
+                return;
+            }
+
+            YearMonth current = YearMonth.now();
+            List<String> existing = jdbcTemplate.queryForList(
+                    "SELECT partition_name FROM information_schema.partitions "
+                            + "WHERE table_schema = DATABASE() AND table_name = 'request_events' "
+                            + "AND partition_name IS NOT NULL",
+                    String.class);
+
+            if (existing.isEmpty()) {
+                partition(current);
+            } else {
+                addMonths(current, new HashSet<>(existing));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not maintain request_events partitions: {}", e.getMessage());
+        }
+    }
+
+    // First run: the partition key must be part of every unique key, so it joins the primary key
+    private void partition(YearMonth current) {
+        StringBuilder ddl = new StringBuilder("ALTER TABLE request_events PARTITION BY RANGE (event_month) (")
+                .append("PARTITION p_before VALUES LESS THAN (").append(RequestEventRecorder.monthKey(current)).append("), ");
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            ddl.append(partitionFor(current.plusMonths(i))).append(", ");
+        }
+        ddl.append("PARTITION ").append(CATCH_ALL).append(" VALUES LESS THAN MAXVALUE)");
+
+        jdbcTemplate.execute("ALTER TABLE request_events DROP PRIMARY KEY, ADD PRIMARY KEY (id, event_month)");
+        jdbcTemplate.execute(ddl.toString());
+        log.info("Partitioned request_events by month ({} months ahead)", MONTHS_AHEAD);
+    }
+
+    // Later runs: split the catch-all for each upcoming month that has no partition yet
+    private void addMonths(YearMonth current, Set<String> existing) {
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (existing.contains(partitionName(month))) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE request_events REORGANIZE PARTITION " + CATCH_ALL + " INTO ("
+                    + partitionFor(month) + ", PARTITION " + CATCH_ALL + " VALUES LESS THAN MAXVALUE)");
+            log.info("Added request_events partition {}", partitionName(month));
+        }
+    }
+
+    private static String partitionFor(YearMonth month) {
+        return "PARTITION " + partitionName(month)
+                + " VALUES LESS THAN (" + RequestEventRecorder.monthKey(month.plusMonths(1)) + ")";
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "p" + RequestEventRecorder.monthKey(month);
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+}
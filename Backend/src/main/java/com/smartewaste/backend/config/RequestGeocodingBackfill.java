@@ -0,0 +1,66 @@
+package com.smartewaste.backend.config;
+
+import com.smartewaste.backend.geo.GeoPoint;
+import com.smartewaste.backend.geo.Geocoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills latitude/longitude for open requests created before geocoding
+ * existed. Walks the table in id order, 1000 rows at a time. Addresses the
+ * geocoder can't place stay NULL and are looked at again on the next start,
+ * which matters once a larger gazetteer is configured.
+ */
+@Configuration
+public class RequestGeocodingBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestGeocodingBackfill.class);
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Bean
+    CommandLineRunner backfillRequestCoordinates(JdbcTemplate jdbcTemplate, Geocoder geocoder) {
+        return args -> {
+            long lastId = 0;
+            int located = 0;
+
+            while (true) {
+                List<Object[]> rows = jdbcTemplate.query(
+                        "SELECT id, address FROM collection_requests "
+                                + "WHERE latitude IS NULL AND address IS NOT NULL "
+                                + "AND status IN ('PENDING', 'IN_PROGRESS') AND id > ? ORDER BY id LIMIT ?",
+                        (rs, i) -> new Object[] {rs.getLong(1), rs.getString(2)},
+                        lastId, CHUNK_SIZE);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+
+                List<Object[]> updates = new ArrayList<>();
+                for (Object[] row : rows) {
+                    GeoPoint point = geocoder.locate((String) row[1]);
+                    if (point != null) {
+                        updates.add(new Object[] {point.getLatitude(), point.getLongitude(), row[0]});
+                    }
+                }
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate(
+                            "UPDATE collection_requests SET latitude = ?, longitude = ? WHERE id = ? AND latitude IS NULL",
+                            updates);
+                    located += updates.size();
+                }
+            }
+
+            if (located > 0) {
+                log.info("Geocoded {} existing collection requests", located);
+            }
+        };
+    }
+}
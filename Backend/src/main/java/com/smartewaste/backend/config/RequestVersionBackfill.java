@@ -0,0 +1,32 @@
+package com.smartewaste.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Gives rows created before optimistic locking a starting version. The
+ * guarded UPDATEs compare and increment the column, which never matches
+ * NULL, so this runs before anything else that writes requests.
+ */
+@Configuration
+public class RequestVersionBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestVersionBackfill.class);
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    CommandLineRunner backfillRequestVersions(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            int updated = jdbcTemplate.update("UPDATE collection_requests SET version = 0 WHERE version IS NULL");
+            if (updated > 0) {
+                log.info("Initialised version on {} collection requests", updated);
+            }
+        };
+    }
+}
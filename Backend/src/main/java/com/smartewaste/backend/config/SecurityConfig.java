@@ -2,6 +2,9 @@ package com.smartewaste.backend.config;
 
 import com.smartewaste.backend.security.JwtAuthenticationFilter;
 import com.smartewaste.backend.security.UserAccountDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,7 +14,9 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -19,15 +24,68 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
+        private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
+        // Highest cost calibration will pick; 2^14 rounds is already ~1s on commodity CPUs
+        private static final int MAX_CALIBRATED_STRENGTH = 14;
+
+        /**
+         * Hashes are stored with an {id} prefix ({bcrypt}, {argon2}) so the
+         * algorithm and cost can change without invalidating existing passwords.
+         * Legacy un-prefixed BCrypt hashes still match and are re-hashed on login.
+         */
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+        public PasswordEncoder passwordEncoder(
+                        @Value("${security.password.algorithm:bcrypt}") String algorithm,
+                        @Value("${security.password.bcrypt.strength:10}") int strength,
+                        @Value("${security.password.bcrypt.target-ms:0}") long targetMs) {
+
+                if (targetMs > 0) {
+                        strength = calibrateBcryptStrength(targetMs);
+                }
+
+                BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+                Map<String, PasswordEncoder> encoders = new HashMap<>();
+                encoders.put("bcrypt", bcrypt);
+                encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+                if (!encoders.containsKey(algorithm)) {
+                        throw new IllegalStateException("Unsupported security.password.algorithm: " + algorithm);
+                }
+
+                DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+                encoder.setDefaultPasswordEncoderForMatches(bcrypt); // hashes written before the {id} prefix
+                log.info("Password hashing: algorithm={}, bcrypt strength={}", algorithm, strength);
+                return encoder;
+        }
+
+        // ✅ Cost tuning mode: pick the highest BCrypt cost that still hashes within the target
+        static int calibrateBcryptStrength(long targetMs) {
+                int strength = 4;
+                for (int candidate = 4; candidate <= MAX_CALIBRATED_STRENGTH; candidate++) {
+                        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(candidate);
+                        probe.encode("calibration"); // warm-up
+
+                        long start = System.nanoTime();
+                        probe.encode("calibration");
+                        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+                        if (elapsedMs > targetMs) {
+                                break;
+                        }
+                        strength = candidate;
+                }
+                log.info("Calibrated BCrypt strength {} for a {} ms target", strength, targetMs);
+                return strength;
         }
 
         @Bean
@@ -44,7 +102,8 @@ public class SecurityConfig {
         @Bean
         public SecurityFilterChain filterChain(
                         HttpSecurity http,
-                        JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+                        JwtAuthenticationFilter jwtAuthenticationFilter,
+                        @Value("${management.server.port:-1}") int managementPort) throws Exception {
 
                 http
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -57,6 +116,17 @@ public class SecurityConfig {
                                                 .requestMatchers("/api/public/**", "/h2-console/**", "/uploads/**")
                                                 .permitAll()
 
+                                                // ✅ METRICS: health is public; Prometheus scrapes as an ADMIN (HTTP basic), or
+                                                // anonymously on management.server.port, which is never exposed publicly
+                                                .requestMatchers("/actuator/health/**")
+                                                .permitAll()
+                                                .requestMatchers(request -> managementPort > 0
+                                                                && request.getLocalPort() == managementPort
+                                                                && "/actuator/prometheus".equals(request.getRequestURI()))
+                                                .permitAll()
+                                                .requestMatchers("/actuator/**")
+                                                .hasRole("ADMIN")
+
                                                 // ✅ ADMIN APIs
                                                 .requestMatchers("/api/admin/**")
                                                 .hasRole("ADMIN")
@@ -0,0 +1,86 @@
+package com.smartewaste.backend.config;
+
+import com.smartewaste.backend.entity.UserAccount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills user_accounts.email_key / username_key for rows written before the
+ * columns existed. Works in id-ordered chunks and normalizes in Java so the
+ * keys match UserAccount.normalizeKey exactly. Rows whose key would collide
+ * with another account (e.g. "Foo@x.com" and "foo@x.com") are left null and
+ * logged, since they need a manual merge.
+ */
+@Configuration
+public class UserLookupKeyBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(UserLookupKeyBackfill.class);
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String UPDATE_SQL =
+            "UPDATE user_accounts SET email_key = ?, username_key = ? WHERE id = ?";
+
+    // Runs before AdminInitializer and anything else that looks users up by email
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    CommandLineRunner backfillUserLookupKeys(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            long lastId = 0;
+            int updated = 0;
+            int conflicts = 0;
+
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                        "SELECT id, email, username FROM user_accounts "
+                                + "WHERE id > ? AND ((email_key IS NULL AND email IS NOT NULL) "
+                                + "OR (username_key IS NULL AND username IS NOT NULL)) "
+                                + "ORDER BY id LIMIT " + CHUNK_SIZE,
+                        lastId);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                List<Object[]> batch = rows.stream()
+                        .map(row -> new Object[] {
+                                UserAccount.normalizeKey((String) row.get("email")),
+                                UserAccount.normalizeKey((String) row.get("username")),
+                                row.get("id") })
+                        .toList();
+
+                try {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+                    updated += batch.size();
+                } catch (DataIntegrityViolationException e) {
+                    // Fall back to row-by-row so one duplicate doesn't block the chunk
+                    for (Object[] params : batch) {
+                        try {
+                            jdbcTemplate.update(UPDATE_SQL, params);
+                            updated++;
+                        } catch (DataIntegrityViolationException duplicate) {
+                            conflicts++;
+                            log.warn("User {} has an email/username that differs only by case from another account",
+                                    params[2]);
+                        }
+                    }
+                }
+
+                lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+            }
+
+            if (updated > 0 || conflicts > 0) {
+                log.info("Backfilled lookup keys for {} user accounts ({} conflicts)", updated, conflicts);
+            }
+        };
+    }
+}
@@ -2,17 +2,37 @@ package com.smartewaste.backend.controller;
 
 import com.smartewaste.backend.dto.AdminProfileDto;
 import com.smartewaste.backend.dto.ApproveUserRequest;
+import com.smartewaste.backend.dto.CollectionRequestDto;
+import com.smartewaste.backend.dto.RequestFeedFilter;
+import com.smartewaste.backend.dto.RequestFeedPage;
+import com.smartewaste.backend.dto.SchedulePickupRequest;
 import com.smartewaste.backend.dto.UserSummaryDto;
 import com.smartewaste.backend.entity.UserAccount;
+import com.smartewaste.backend.entity.UserDocument;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.enums.VolumeDimension;
+import com.smartewaste.backend.enums.VolumeGranularity;
+import com.smartewaste.backend.export.ExportFormat;
+import com.smartewaste.backend.service.AutoSchedulingInProgressException;
+import com.smartewaste.backend.service.CollectionService;
+import com.smartewaste.backend.service.ExportService;
+import com.smartewaste.backend.service.RequestStateConflictException;
 import com.smartewaste.backend.service.UserService;
 
 import jakarta.validation.Valid;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.core.context.SecurityContextHolder;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -79,9 +99,18 @@ public class AdminController {
         return ResponseEntity.ok("User deleted successfully");
     }
 
-    // ============================
-    // ADMIN PROFILE
-    // ============================
+    // ✅ NEW: User Documents (metadata list + streamed download)
+    @GetMapping("/users/{userId}/documents")
+    public ResponseEntity<?> listUserDocuments(@PathVariable Long userId) {
+        return ResponseEntity.ok(userService.getDocuments(userId));
+    }
+
+    @GetMapping("/documents/{documentId}")
+    public ResponseEntity<Resource> downloadDocument(@PathVariable Long documentId) {
+        UserDocument document = userService.getDocument(documentId);
+        return DocumentDownloads.of(document, userService.openDocument(document));
+    }
+
     // ============================
     // ADMIN PROFILE
     // ============================
@@ -135,54 +164,262 @@ public class AdminController {
     // ============================
 
     @org.springframework.beans.factory.annotation.Autowired
-    private com.smartewaste.backend.repository.CollectionRequestRepository requestRepository;
+    private CollectionService collectionService;
+
+    @org.springframework.beans.factory.annotation.Autowired
+    private com.smartewaste.backend.service.EmailDispatcher emailDispatcher;
 
     @org.springframework.beans.factory.annotation.Autowired
-    private com.smartewaste.backend.service.EmailService emailService;
+    private com.smartewaste.backend.service.AutoSchedulingService autoSchedulingService;
 
-    // 1. GET ALL REQUESTS
+    @org.springframework.beans.factory.annotation.Autowired
+    private com.smartewaste.backend.service.RequestEventService requestEventService;
+
+    @org.springframework.beans.factory.annotation.Autowired
+    private com.smartewaste.backend.service.DashboardStatsService dashboardStatsService;
+
+    @org.springframework.beans.factory.annotation.Autowired
+    private com.smartewaste.backend.service.VolumeAnalyticsService volumeAnalyticsService;
+
+    @org.springframework.beans.factory.annotation.Autowired
+    private com.smartewaste.backend.service.SearchIndexService searchIndexService;
+
+    @org.springframework.beans.factory.annotation.Autowired
+    private ExportService exportService;
+
+    // 1. GET REQUESTS (keyset paginated feed, newest first)
     @GetMapping("/requests")
-    public ResponseEntity<List<com.smartewaste.backend.entity.CollectionRequest>> getAllRequests() {
-        return ResponseEntity.ok(requestRepository.findAll(org.springframework.data.domain.Sort
-                .by(org.springframework.data.domain.Sort.Direction.DESC, "createdAt")));
+    public ResponseEntity<?> getAllRequests(
+            @RequestParam(required = false) RequestStatus status,
+            @RequestParam(required = false) String deviceType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate pickupFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate pickupTo,
+            @RequestParam(required = false) String personnel,
+            @RequestParam(required = false) Long personnelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        RequestFeedFilter filter = new RequestFeedFilter();
+        filter.setStatus(status);
+        filter.setDeviceType(deviceType);
+        filter.setPickupFrom(pickupFrom);
+        filter.setPickupTo(pickupTo);
+        filter.setPersonnel(personnel);
+        filter.setPersonnelId(personnelId);
+
+        try {
+            RequestFeedPage<CollectionRequestDto> page = collectionService.getRequestFeed(filter, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
-    // 2. REJECT REQUEST
+    // 2. REJECT REQUEST (optional "version" guards against overwriting a concurrent change)
     @PutMapping("/requests/{id}/reject")
     public ResponseEntity<String> rejectRequest(@PathVariable Long id,
             @RequestBody java.util.Map<String, String> payload) {
-        return requestRepository.findById(id).map(req -> {
-            req.setStatus(com.smartewaste.backend.enums.RequestStatus.REJECTED);
-            requestRepository.save(req);
-
-            String reason = payload.getOrDefault("reason", "No reason provided.");
-            emailService.sendRequestRejectedEmail(req.getUser().getEmail(), req.getUser().getFullName(), reason);
+        String reason = payload.getOrDefault("reason", "No reason provided.");
+        String version = payload.get("version");
 
-            return ResponseEntity.ok("Request rejected successfully.");
-        }).orElse(ResponseEntity.notFound().build());
+        try {
+            return collectionService.rejectRequest(id, reason, version == null ? null : Long.valueOf(version))
+                    .map(req -> ResponseEntity.ok("Request rejected successfully."))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (RequestStateConflictException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body("Invalid version");
+        }
     }
 
     // 3. SCHEDULE PICKUP (ACCEPT)
     @PutMapping("/requests/{id}/schedule")
     public ResponseEntity<String> schedulePickup(@PathVariable Long id,
-            @RequestBody com.smartewaste.backend.entity.CollectionRequest scheduleData) {
-        return requestRepository.findById(id).map(req -> {
-            req.setStatus(com.smartewaste.backend.enums.RequestStatus.IN_PROGRESS);
-            req.setPickupDate(scheduleData.getPickupDate());
-            req.setPickupTime(scheduleData.getPickupTime());
-            req.setPickupPersonnel(scheduleData.getPickupPersonnel());
+            @RequestBody SchedulePickupRequest scheduleData) {
+        try {
+            return collectionService.schedulePickup(
+                            id,
+                            scheduleData.getPickupDate(),
+                            scheduleData.getPickupTime(),
+                            scheduleData.getPersonnelId(),
+                            scheduleData.getPickupPersonnel(),
+                            scheduleData.getVersion())
+                    .map(req -> ResponseEntity.ok("Pickup scheduled successfully."))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (RequestStateConflictException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 4. AUTO-SCHEDULE every PENDING request (dryRun=true only returns the plan summary)
+    @PostMapping("/requests/auto-schedule")
+    public ResponseEntity<?> autoSchedule(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(defaultValue = "true") boolean notify) {
+        try {
+            LocalDate start = from != null ? from : LocalDate.now().plusDays(1);
+            return ResponseEntity.ok(autoSchedulingService.run(start, dryRun, notify));
+        } catch (AutoSchedulingInProgressException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        }
+    }
+
+    // 5. ROUTES: every personnel's stops for a day, in optimised driving order
+    @GetMapping("/routes")
+    public ResponseEntity<?> getRoutes(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(collectionService.getRoutes(date != null ? date : LocalDate.now()));
+    }
+
+    // 6. STATUS TIMELINE of one request (append-only event log, oldest first)
+    @GetMapping("/requests/{id}/events")
+    public ResponseEntity<?> getRequestTimeline(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(requestEventService.getTimeline(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // 7. EVENT EXPORT: NDJSON stream for a month range (defaults to the current month)
+    @GetMapping(value = "/events/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportRequestEvents(
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) YearMonth to) {
+        YearMonth start = from != null ? from : YearMonth.now();
+        YearMonth end = to != null ? to : start;
+        if (end.isBefore(start)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> requestEventService.exportNdjson(start, end, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"request-events-" + start + "-" + end + ".ndjson\"")
+                .body(body);
+    }
+
+    // ============================
+    // EXPORTS (streamed, constant memory)
+    // ============================
 
-            requestRepository.save(req);
+    // Requests, oldest first, with the feed filters
+    @GetMapping("/export/requests")
+    public ResponseEntity<StreamingResponseBody> exportRequests(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) RequestStatus status,
+            @RequestParam(required = false) String deviceType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate pickupFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate pickupTo,
+            @RequestParam(required = false) String personnel,
+            @RequestParam(required = false) Long personnelId) {
+
+        RequestFeedFilter filter = new RequestFeedFilter();
+        filter.setStatus(status);
+        filter.setDeviceType(deviceType);
+        filter.setPickupFrom(pickupFrom);
+        filter.setPickupTo(pickupTo);
+        filter.setPersonnel(personnel);
+        filter.setPersonnelId(personnelId);
+
+        return export(ExportService.fileName("requests", format, gzip), format, gzip,
+                out -> exportService.exportRequests(filter, format, gzip, out));
+    }
 
-            emailService.sendPickupScheduledEmail(
-                    req.getUser().getEmail(),
-                    req.getUser().getFullName(),
-                    req.getPickupDate(),
-                    req.getPickupTime(),
-                    req.getPickupPersonnel());
+    // Users, oldest first (never credentials or tokens)
+    @GetMapping("/export/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) com.smartewaste.backend.enums.UserStatus status) {
+        return export(ExportService.fileName("users", format, gzip), format, gzip,
+                out -> exportService.exportUsers(status, format, gzip, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> export(
+            String fileName, ExportFormat format, boolean gzip, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
 
-            return ResponseEntity.ok("Pickup scheduled successfully.");
-        }).orElse(ResponseEntity.notFound().build());
+    // ============================
+    // DASHBOARD
+    // ============================
+
+    // Pre-aggregated counters: cost does not grow with the number of users or requests
+    @GetMapping("/stats")
+    public ResponseEntity<?> getDashboardStats(@RequestParam(defaultValue = "7") int days) {
+        if (days < 1 || days > 366) {
+            return ResponseEntity.badRequest().body("days must be between 1 and 366");
+        }
+        return ResponseEntity.ok(dashboardStatsService.getStats(days));
     }
 
+    // Completed volumes (requests + items) per DAY / WEEK / MONTH, optionally broken down and filtered
+    @GetMapping("/analytics/volumes")
+    public ResponseEntity<?> getVolumes(
+            @RequestParam(defaultValue = "MONTH") VolumeGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) VolumeDimension groupBy,
+            @RequestParam(required = false) String deviceType,
+            @RequestParam(required = false) String condition,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) String city) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1).plusDays(1);
+
+        java.util.Map<VolumeDimension, String> filters = new java.util.EnumMap<>(VolumeDimension.class);
+        filters.put(VolumeDimension.DEVICE_TYPE, deviceType);
+        filters.put(VolumeDimension.CONDITION, condition);
+        filters.put(VolumeDimension.BRAND, brand);
+        filters.put(VolumeDimension.CITY, city);
+
+        try {
+            return ResponseEntity.ok(volumeAnalyticsService.getVolumes(granularity, start, end, groupBy, filters));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ============================
+    // SEARCH
+    // ============================
+
+    // Full-text over requests and users (prefix and typo tolerant), with facet counts
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) com.smartewaste.backend.enums.SearchDocumentType type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String deviceType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) throws java.io.IOException {
+        if (page < 0 || size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body("page must be >= 0 and size between 1 and 100");
+        }
+        try {
+            return ResponseEntity.ok(searchIndexService.search(q, type, status, deviceType, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ============================
+    // EMAIL OUTBOX
+    // ============================
+
+    // Queue depth / backlog age of the outbound email pipeline
+    @GetMapping("/email/outbox")
+    public ResponseEntity<java.util.Map<String, Object>> getEmailOutboxStats() {
+        return ResponseEntity.ok(emailDispatcher.getQueueStats());
+    }
 }
@@ -1,8 +1,18 @@
 package com.smartewaste.backend.controller;
 
+import com.smartewaste.backend.dto.BulkStatusUpdateRequest;
 import com.smartewaste.backend.entity.CollectionRequest;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.security.AuthenticatedUser;
+import com.smartewaste.backend.service.BulkStatusUpdateService;
 import com.smartewaste.backend.service.CollectionService;
+import com.smartewaste.backend.service.RequestStateConflictException;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -10,16 +20,23 @@ import org.springframework.web.multipart.MultipartFile;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/collection")
 @CrossOrigin(origins = "*")
 public class CollectionController {
 
+    private static final Logger log = LoggerFactory.getLogger(CollectionController.class);
+
     private final CollectionService collectionService;
+    private final BulkStatusUpdateService bulkStatusUpdateService;
 
-    public CollectionController(CollectionService collectionService) {
+    public CollectionController(
+            CollectionService collectionService,
+            BulkStatusUpdateService bulkStatusUpdateService) {
         this.collectionService = collectionService;
+        this.bulkStatusUpdateService = bulkStatusUpdateService;
     }
 
     @PostMapping("/request")
@@ -30,22 +47,24 @@ public class CollectionController {
             @RequestParam("condition") String condition,
             @RequestParam("quantity") Integer quantity,
             @RequestParam("address") String address,
+            @RequestParam(value = "latitude", required = false) Double latitude,
+            @RequestParam(value = "longitude", required = false) Double longitude,
             @RequestParam("pickupDate") LocalDate pickupDate,
             @RequestParam("pickupTime") LocalTime pickupTime,
             @RequestParam(value = "remarks", required = false) String remarks,
             @RequestParam(value = "image", required = false) MultipartFile image) {
         try {
-            String username = SecurityContextHolder.getContext().getAuthentication().getName();
+            AuthenticatedUser principal = AuthenticatedUser.of(SecurityContextHolder.getContext().getAuthentication());
             CollectionRequest request = collectionService.createRequest(
-                    username, deviceType, brand, model, condition, quantity, address, remarks, pickupDate, pickupTime,
-                    image);
-            return ResponseEntity.ok(request);
+                    principal, deviceType, brand, model, condition, quantity, address, latitude, longitude, remarks,
+                    pickupDate, pickupTime, image);
+            return ResponseEntity.ok(collectionService.toDto(request));
         } catch (IOException e) {
             return ResponseEntity.internalServerError().body("Failed to upload image.");
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
-            e.printStackTrace(); // Log error to console
+            log.error("Failed to create collection request", e);
             return ResponseEntity.internalServerError().body("Critical Error: " + e.getMessage());
         }
     }
@@ -53,12 +72,12 @@ public class CollectionController {
     @GetMapping("/my-requests")
     public ResponseEntity<?> getMyRequests() {
         try {
-            String username = SecurityContextHolder.getContext().getAuthentication().getName();
-            return ResponseEntity.ok(collectionService.getMyRequests(username));
+            AuthenticatedUser principal = AuthenticatedUser.of(SecurityContextHolder.getContext().getAuthentication());
+            return ResponseEntity.ok(collectionService.getMyRequests(principal));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
-            e.printStackTrace(); // Log error to console
+            log.error("Failed to list own requests", e);
             return ResponseEntity.internalServerError().body("Critical Error: " + e.getMessage());
         }
     }
@@ -67,22 +86,72 @@ public class CollectionController {
     @GetMapping("/assigned")
     public ResponseEntity<?> getAssignedRequests() {
         try {
-            String username = SecurityContextHolder.getContext().getAuthentication().getName();
-            return ResponseEntity.ok(collectionService.getAssignedRequests(username));
+            AuthenticatedUser principal = AuthenticatedUser.of(SecurityContextHolder.getContext().getAuthentication());
+            return ResponseEntity.ok(collectionService.getAssignedRequests(principal));
         } catch (RuntimeException e) {
-            e.printStackTrace();
+            log.warn("Assigned requests lookup rejected: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Client Error: " + e.getMessage());
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to list assigned requests", e);
             return ResponseEntity.internalServerError().body("Server Error: " + e.toString());
         }
     }
 
+    // ✅ ROUTE FOR A DAY (FOR PERSONNEL) — defaults to today
+    @GetMapping("/route")
+    public ResponseEntity<?> getRoute(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            AuthenticatedUser principal = AuthenticatedUser.of(SecurityContextHolder.getContext().getAuthentication());
+            return ResponseEntity.ok(collectionService.getRoute(principal, date != null ? date : LocalDate.now()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ✅ NEARBY OPEN REQUESTS (radius around lat/lon, or a bounding box)
+    @GetMapping("/nearby")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PERSONNEL')")
+    public ResponseEntity<?> getNearby(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLon,
+            @RequestParam(required = false) List<RequestStatus> status,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(collectionService.getNearby(
+                    lat, lon, radiusKm, minLat, minLon, maxLat, maxLon, status, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ✅ BULK STATUS UPDATE (end-of-shift sync); per-item outcomes, one transaction
+    @PutMapping("/status")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PERSONNEL')")
+    public ResponseEntity<?> updateRequestStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        try {
+            AuthenticatedUser principal = AuthenticatedUser.of(SecurityContextHolder.getContext().getAuthentication());
+            return ResponseEntity.ok(bulkStatusUpdateService.apply(principal, request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // ✅ UPDATE REQUEST STATUS (FOR PERSONNEL)
     @PutMapping("/{id}/status")
-    public ResponseEntity<?> updateRequestStatus(@PathVariable Long id, @RequestParam String status) {
+    public ResponseEntity<?> updateRequestStatus(
+            @PathVariable Long id,
+            @RequestParam String status,
+            @RequestParam(required = false) Long version) {
         try {
-            return ResponseEntity.ok(collectionService.updateRequestStatus(id, status));
+            return ResponseEntity.ok(collectionService.updateRequestStatus(id, status, version));
+        } catch (RequestStateConflictException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -0,0 +1,41 @@
+package com.smartewaste.backend.controller;
+
+import com.smartewaste.backend.entity.UserDocument;
+import com.smartewaste.backend.storage.DocumentResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+// Shared response shape for document downloads; Spring MVC adds Range/206 handling for Resource bodies
+final class DocumentDownloads {
+
+    private DocumentDownloads() {
+    }
+
+    static ResponseEntity<Resource> of(UserDocument document, DocumentResource resource) {
+        MediaType contentType = document.getContentType() != null
+                ? MediaType.parseMediaType(document.getContentType())
+                : MediaType.APPLICATION_OCTET_STREAM;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                        .filename(document.getFileName() != null ? document.getFileName() : "document",
+                                StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .cacheControl(CacheControl.noCache().cachePrivate());
+
+        if (document.getSha256() != null) {
+            response.eTag(document.getSha256());
+        }
+
+        return response.body(resource);
+    }
+}
@@ -10,6 +10,8 @@ import com.smartewaste.backend.service.UserService;
 
 import jakarta.validation.Valid;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +23,8 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class PublicAuthController {
 
+        private static final Logger log = LoggerFactory.getLogger(PublicAuthController.class);
+
         private final UserService userService;
         private final AuthService authService;
         private final com.smartewaste.backend.service.OtpService otpService;
@@ -56,12 +60,11 @@ public class PublicAuthController {
         @PostMapping("/reset-password")
         public ResponseEntity<?> resetPassword(
                         @Valid @RequestBody ResetPasswordRequest request) {
-                System.out.println("🔍 RESET PASSWORD REQUEST RECEIVED: " + request.getUsername());
                 try {
                         authService.resetPassword(request);
                         return ResponseEntity.ok("Password updated.");
                 } catch (Exception e) {
-                        System.err.println("❌ RESET PASSWORD FAILED: " + e.getMessage());
+                        log.info("Password reset failed for {}: {}", request.getUsername(), e.getMessage());
                         return ResponseEntity
                                         .status(401)
                                         .body(Map.of("message", "Reset Failed: " + e.getMessage()));
@@ -1,9 +1,13 @@
 package com.smartewaste.backend.controller;
 
 import com.smartewaste.backend.dto.UpdateProfileRequest;
+import com.smartewaste.backend.entity.UserDocument;
+import com.smartewaste.backend.security.AuthenticatedUser;
 import com.smartewaste.backend.service.UserService;
 
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -16,14 +20,13 @@ public class UserController {
     // ================== GET PROFILE ==================
     // ================== GET PROFILE ==================
     @GetMapping("/profile")
-    public ResponseEntity<?> getProfile(java.security.Principal principal) {
+    public ResponseEntity<?> getProfile(Authentication principal) {
 
         if (principal == null) {
             return ResponseEntity.status(401).body("Unauthorized");
         }
 
-        String email = principal.getName();
-        return ResponseEntity.ok(userService.getUserSummary(email));
+        return ResponseEntity.ok(userService.getUserSummary(AuthenticatedUser.of(principal)));
     }
 
     public UserController(UserService userService) {
@@ -32,7 +35,7 @@ public class UserController {
 
     @PutMapping(value = "/profile", consumes = "multipart/form-data")
     public ResponseEntity<?> updateProfile(
-            java.security.Principal principal,
+            Authentication principal,
             @RequestPart("data") UpdateProfileRequest request,
             @RequestPart(value = "idProof", required = false) MultipartFile idProof,
             @RequestPart(value = "addressProof", required = false) MultipartFile addressProof) throws Exception {
@@ -42,11 +45,36 @@ public class UserController {
         }
 
         userService.updateProfile(
-                principal.getName(), // ✅ EMAIL from JWT
+                AuthenticatedUser.of(principal), // ✅ id from JWT
                 request,
                 idProof,
                 addressProof);
 
         return ResponseEntity.ok("Profile updated successfully");
     }
+
+    // ================== MY DOCUMENTS ==================
+    @GetMapping("/documents")
+    public ResponseEntity<?> getMyDocuments(Authentication principal) {
+
+        if (principal == null) {
+            return ResponseEntity.status(401).body("Unauthorized");
+        }
+
+        return ResponseEntity.ok(userService.getMyDocuments(AuthenticatedUser.of(principal)));
+    }
+
+    // Streams the file; honours Range requests (206 Partial Content)
+    @GetMapping("/documents/{id}")
+    public ResponseEntity<Resource> downloadMyDocument(
+            Authentication principal,
+            @PathVariable Long id) {
+
+        if (principal == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        UserDocument document = userService.getMyDocument(AuthenticatedUser.of(principal), id);
+        return DocumentDownloads.of(document, userService.openDocument(document));
+    }
 }
@@ -0,0 +1,81 @@
+package com.smartewaste.backend.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class AutoScheduleResult {
+
+    private final boolean dryRun;
+    private final LocalDate fromDate;
+    private final int pending;
+    private final int planned;
+    private final int committed;          // rows actually updated (0 on dry runs)
+    private final int noPersonnelInArea;
+    private final int noCapacity;
+    private final Map<Long, Integer> stopsByPersonnel;
+    private final long planningMillis;
+    private final long commitMillis;
+
+    public AutoScheduleResult(
+            boolean dryRun,
+            LocalDate fromDate,
+            int pending,
+            int planned,
+            int committed,
+            int noPersonnelInArea,
+            int noCapacity,
+            Map<Long, Integer> stopsByPersonnel,
+            long planningMillis,
+            long commitMillis) {
+        this.dryRun = dryRun;
+        this.fromDate = fromDate;
+        this.pending = pending;
+        this.planned = planned;
+        this.committed = committed;
+        this.noPersonnelInArea = noPersonnelInArea;
+        this.noCapacity = noCapacity;
+        this.stopsByPersonnel = stopsByPersonnel;
+        this.planningMillis = planningMillis;
+        this.commitMillis = commitMillis;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public int getPlanned() {
+        return planned;
+    }
+
+    public int getCommitted() {
+        return committed;
+    }
+
+    public int getNoPersonnelInArea() {
+        return noPersonnelInArea;
+    }
+
+    public int getNoCapacity() {
+        return noCapacity;
+    }
+
+    public Map<Long, Integer> getStopsByPersonnel() {
+        return stopsByPersonnel;
+    }
+
+    public long getPlanningMillis() {
+        return planningMillis;
+    }
+
+    public long getCommitMillis() {
+        return commitMillis;
+    }
+}
@@ -0,0 +1,58 @@
+package com.smartewaste.backend.dto;
+
+import com.smartewaste.backend.enums.RequestStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class BulkStatusUpdateRequest {
+
+    @NotEmpty
+    @Valid
+    private List<Item> updates;
+
+    private String reason; // Used in the email for any REJECTED items
+
+    public List<Item> getUpdates() {
+        return updates;
+    }
+
+    public void setUpdates(List<Item> updates) { this.updates = updates; }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) { this.reason = reason; }
+
+    public static class Item {
+
+        @NotNull
+        private Long id;
+
+        @NotNull
+        private RequestStatus status;
+
+        private Long version; // Optional: only apply on top of this version
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) { this.id = id; }
+
+        public RequestStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(RequestStatus status) { this.status = status; }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) { this.version = version; }
+    }
+}
@@ -0,0 +1,80 @@
+package com.smartewaste.backend.dto;
+
+import com.smartewaste.backend.enums.RequestStatus;
+
+import java.util.List;
+
+public class BulkStatusUpdateResult {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,          // already in the requested status
+        NOT_FOUND,
+        FORBIDDEN,          // personnel updating a request not assigned to them
+        INVALID_TRANSITION,
+        CONFLICT,           // status changed by someone else during the update
+        DUPLICATE           // same id earlier in the batch
+    }
+
+    private final int updated;
+    private final int failed;
+    private final List<ItemResult> results;
+
+    public BulkStatusUpdateResult(List<ItemResult> results) {
+        int ok = 0;
+        int bad = 0;
+        for (ItemResult result : results) {
+            if (result.getOutcome() == Outcome.UPDATED) {
+                ok++;
+            } else if (result.getOutcome() != Outcome.UNCHANGED) {
+                bad++;
+            }
+        }
+        this.updated = ok;
+        this.failed = bad;
+        this.results = results;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<ItemResult> getResults() {
+        return results;
+    }
+
+    public static class ItemResult {
+
+        private final Long id;
+        private final RequestStatus previousStatus;
+        private final RequestStatus status;
+        private final Outcome outcome;
+
+        public ItemResult(Long id, RequestStatus previousStatus, RequestStatus status, Outcome outcome) {
+            this.id = id;
+            this.previousStatus = previousStatus;
+            this.status = status;
+            this.outcome = outcome;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public RequestStatus getPreviousStatus() {
+            return previousStatus;
+        }
+
+        public RequestStatus getStatus() {
+            return status;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.smartewaste.backend.dto;
+
+import com.smartewaste.backend.entity.CollectionRequest;
+import com.smartewaste.backend.entity.UserAccount;
+import com.smartewaste.backend.enums.RequestStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Read-side view of a collection request. Built directly by JPQL constructor
+ * expressions so list endpoints never hydrate the full UserAccount graph.
+ */
+public class CollectionRequestDto {
+
+    private Long id;
+    private String deviceType;
+    private String brand;
+    private String model;
+    private String condition;
+    private Integer quantity;
+    private String imagePath;
+    private String address;
+    private Double latitude;
+    private Double longitude;
+    private String remarks;
+    private LocalDate pickupDate;
+    private LocalTime pickupTime;
+    private Long personnelId;
+    private String pickupPersonnel;
+    private RequestStatus status;
+    private LocalDateTime createdAt;
+    private Long version; // ✅ send back on status changes to apply only on top of this version
+
+    private Owner user; // ✅ only the public bits of the requesting user
+
+    // Resized derivatives (fall back to the original until they are rendered)
+    private String thumbnailUrl;
+    private String previewUrl;
+
+    // ===================== JPQL CONSTRUCTOR =====================
+    public CollectionRequestDto(
+            Long id,
+            String deviceType,
+            String brand,
+            String model,
+            String condition,
+            Integer quantity,
+            String imagePath,
+            String address,
+            Double latitude,
+            Double longitude,
+            String remarks,
+            LocalDate pickupDate,
+            LocalTime pickupTime,
+            Long personnelId,
+            String pickupPersonnel,
+            RequestStatus status,
+            LocalDateTime createdAt,
+            Long version,
+            Long userId,
+            String userFullName,
+            String userEmail,
+            String userPhone) {
+        this.id = id;
+        this.deviceType = deviceType;
+        this.brand = brand;
+        this.model = model;
+        this.condition = condition;
+        this.quantity = quantity;
+        this.imagePath = imagePath;
+        this.address = address;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.remarks = remarks;
+        this.pickupDate = pickupDate;
+        this.pickupTime = pickupTime;
+        this.personnelId = personnelId;
+        this.pickupPersonnel = pickupPersonnel;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.version = version;
+        this.user = new Owner(userId, userFullName, userEmail, userPhone);
+    }
+
+    // ===================== GETTERS =====================
+    public Long getId() {
+        return id;
+    }
+
+    public String getDeviceType() {
+        return deviceType;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getRemarks() {
+        return remarks;
+    }
+
+    public LocalDate getPickupDate() {
+        return pickupDate;
+    }
+
+    public LocalTime getPickupTime() {
+        return pickupTime;
+    }
+
+    public Long getPersonnelId() {
+        return personnelId;
+    }
+
+    public String getPickupPersonnel() {
+        return pickupPersonnel;
+    }
+
+    public RequestStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Owner getUser() {
+        return user;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public String getPreviewUrl() {
+        return previewUrl;
+    }
+
+    // ===================== SETTERS =====================
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public void setPreviewUrl(String previewUrl) {
+        this.previewUrl = previewUrl;
+    }
+
+    // ===================== MAPPER =====================
+    public static CollectionRequestDto fromEntity(CollectionRequest request) {
+        UserAccount owner = request.getUser();
+
+        return new CollectionRequestDto(
+                request.getId(),
+                request.getDeviceType(),
+                request.getBrand(),
+                request.getModel(),
+                request.getCondition(),
+                request.getQuantity(),
+                request.getImagePath(),
+                request.getAddress(),
+                request.getLatitude(),
+                request.getLongitude(),
+                request.getRemarks(),
+                request.getPickupDate(),
+                request.getPickupTime(),
+                request.getPersonnel() != null ? request.getPersonnel().getId() : null,
+                request.getPickupPersonnel(),
+                request.getStatus(),
+                request.getCreatedAt(),
+                request.getVersion(),
+                owner != null ? owner.getId() : null,
+                owner != null ? owner.getFullName() : null,
+                owner != null ? owner.getEmail() : null,
+                owner != null ? owner.getPhone() : null);
+    }
+
+    // Same, with the owner taken from an already-loaded summary
+    public static CollectionRequestDto fromEntity(CollectionRequest request, UserSummaryDto owner) {
+        return new CollectionRequestDto(
+                request.getId(),
+                request.getDeviceType(),
+                request.getBrand(),
+                request.getModel(),
+                request.getCondition(),
+                request.getQuantity(),
+                request.getImagePath(),
+                request.getAddress(),
+                request.getLatitude(),
+                request.getLongitude(),
+                request.getRemarks(),
+                request.getPickupDate(),
+                request.getPickupTime(),
+                request.getPersonnel() != null ? request.getPersonnel().getId() : null,
+                request.getPickupPersonnel(),
+                request.getStatus(),
+                request.getCreatedAt(),
+                request.getVersion(),
+                owner.getId(),
+                owner.getFullName(),
+                owner.getEmail(),
+                owner.getPhone());
+    }
+
+    // ===================== NESTED =====================
+    public static class Owner {
+
+        private final Long id;
+        private final String fullName;
+        private final String email;
+        private final String phone;
+
+        public Owner(Long id, String fullName, String email, String phone) {
+            this.id = id;
+            this.fullName = fullName;
+            this.email = email;
+            this.phone = phone;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getFullName() {
+            return fullName;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getPhone() {
+            return phone;
+        }
+    }
+}
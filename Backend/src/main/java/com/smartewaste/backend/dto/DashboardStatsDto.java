@@ -0,0 +1,79 @@
+package com.smartewaste.backend.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Admin dashboard numbers, read straight from the in-memory counters of
+ * DashboardStatsService. Maps keep their display order: statuses in enum
+ * order, device types / cities largest first, days oldest first.
+ */
+public class DashboardStatsDto {
+
+    private final long totalUsers;
+    private final Map<String, Long> usersByStatus;
+    private final long totalRequests;
+    private final Map<String, Long> requestsByStatus;
+    private final Map<String, Long> requestsByDeviceType;
+    private final Map<String, Long> requestsByCity;
+    private final Map<String, Long> requestsPerDay;
+    private final long completedQuantity;
+    private final Instant rebuiltAt; // last full recount; null until the first one finishes
+
+    public DashboardStatsDto(
+            long totalUsers,
+            Map<String, Long> usersByStatus,
+            long totalRequests,
+            Map<String, Long> requestsByStatus,
+            Map<String, Long> requestsByDeviceType,
+            Map<String, Long> requestsByCity,
+            Map<String, Long> requestsPerDay,
+            long completedQuantity,
+            Instant rebuiltAt) {
+        this.totalUsers = totalUsers;
+        this.usersByStatus = usersByStatus;
+        this.totalRequests = totalRequests;
+        this.requestsByStatus = requestsByStatus;
+        this.requestsByDeviceType = requestsByDeviceType;
+        this.requestsByCity = requestsByCity;
+        this.requestsPerDay = requestsPerDay;
+        this.completedQuantity = completedQuantity;
+        this.rebuiltAt = rebuiltAt;
+    }
+
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+
+    public Map<String, Long> getUsersByStatus() {
+        return usersByStatus;
+    }
+
+    public long getTotalRequests() {
+        return totalRequests;
+    }
+
+    public Map<String, Long> getRequestsByStatus() {
+        return requestsByStatus;
+    }
+
+    public Map<String, Long> getRequestsByDeviceType() {
+        return requestsByDeviceType;
+    }
+
+    public Map<String, Long> getRequestsByCity() {
+        return requestsByCity;
+    }
+
+    public Map<String, Long> getRequestsPerDay() {
+        return requestsPerDay;
+    }
+
+    public long getCompletedQuantity() {
+        return completedQuantity;
+    }
+
+    public Instant getRebuiltAt() {
+        return rebuiltAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.smartewaste.backend.dto;
+
+import com.smartewaste.backend.enums.RequestStatus;
+
+public class NearbyRequestDto {
+
+    private final Long id;
+    private final double latitude;
+    private final double longitude;
+    private final RequestStatus status;
+    private final Double distanceKm; // null for bounding-box queries
+
+    public NearbyRequestDto(Long id, double latitude, double longitude, RequestStatus status, Double distanceKm) {
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.status = status;
+        this.distanceKm = distanceKm;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public RequestStatus getStatus() {
+        return status;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+}
@@ -0,0 +1,64 @@
+package com.smartewaste.backend.dto;
+
+import com.smartewaste.backend.enums.RequestStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a request's status timeline.
+ */
+public class RequestEventDto {
+
+    private final Long id;
+    private final Long requestId;
+    private final LocalDateTime occurredAt;
+    private final RequestStatus fromStatus;
+    private final RequestStatus toStatus;
+    private final String actor;
+    private final String detail;
+
+    public RequestEventDto(
+            Long id,
+            Long requestId,
+            LocalDateTime occurredAt,
+            RequestStatus fromStatus,
+            RequestStatus toStatus,
+            String actor,
+            String detail) {
+        this.id = id;
+        this.requestId = requestId;
+        this.occurredAt = occurredAt;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.actor = actor;
+        this.detail = detail;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public RequestStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public RequestStatus getToStatus() {
+        return toStatus;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
@@ -0,0 +1,66 @@
+package com.smartewaste.backend.dto;
+
+import com.smartewaste.backend.enums.RequestStatus;
+
+import java.time.LocalDate;
+
+public class RequestFeedFilter {
+
+    // All filters are optional; null means "don't filter on this column"
+    private RequestStatus status;
+    private String deviceType;
+    private LocalDate pickupFrom;
+    private LocalDate pickupTo;
+    private String personnel;
+    private Long personnelId;
+
+    // ========= getters & setters =========
+
+    public RequestStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RequestStatus status) {
+        this.status = status;
+    }
+
+    public String getDeviceType() {
+        return deviceType;
+    }
+
+    public void setDeviceType(String deviceType) {
+        this.deviceType = deviceType;
+    }
+
+    public LocalDate getPickupFrom() {
+        return pickupFrom;
+    }
+
+    public void setPickupFrom(LocalDate pickupFrom) {
+        this.pickupFrom = pickupFrom;
+    }
+
+    public LocalDate getPickupTo() {
+        return pickupTo;
+    }
+
+    public void setPickupTo(LocalDate pickupTo) {
+        this.pickupTo = pickupTo;
+    }
+
+    public String getPersonnel() {
+        return personnel;
+    }
+
+    public void setPersonnel(String personnel) {
+        this.personnel = personnel;
+    }
+
+    public Long getPersonnelId() {
+        return personnelId;
+    }
+
+    public void setPersonnelId(Long personnelId) {
+        this.personnelId = personnelId;
+    }
+}
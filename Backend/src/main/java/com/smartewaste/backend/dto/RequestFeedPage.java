@@ -0,0 +1,28 @@
+package com.smartewaste.backend.dto;
+
+import java.util.List;
+
+public class RequestFeedPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor; // null when this is the last page
+    private final boolean hasMore;
+
+    public RequestFeedPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,87 @@
+package com.smartewaste.backend.dto;
+
+import com.smartewaste.backend.enums.RequestStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * What a status change needs to know about a request (and its owner, for the
+ * notification), loaded for many ids in one query.
+ */
+public class RequestStatusSnapshot {
+
+    private final Long id;
+    private final RequestStatus status;
+    private final Long version;
+    private final Long personnelId;
+    private final String deviceType;
+    private final Integer quantity;
+    private final LocalDate pickupDate;
+    private final LocalTime pickupTime;
+    private final String userEmail;
+    private final String userFullName;
+
+    public RequestStatusSnapshot(
+            Long id,
+            RequestStatus status,
+            Long version,
+            Long personnelId,
+            String deviceType,
+            Integer quantity,
+            LocalDate pickupDate,
+            LocalTime pickupTime,
+            String userEmail,
+            String userFullName) {
+        this.id = id;
+        this.status = status;
+        this.version = version;
+        this.personnelId = personnelId;
+        this.deviceType = deviceType;
+        this.quantity = quantity;
+        this.pickupDate = pickupDate;
+        this.pickupTime = pickupTime;
+        this.userEmail = userEmail;
+        this.userFullName = userFullName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public RequestStatus getStatus() {
+        return status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getPersonnelId() {
+        return personnelId;
+    }
+
+    public String getDeviceType() {
+        return deviceType;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public LocalDate getPickupDate() {
+        return pickupDate;
+    }
+
+    public LocalTime getPickupTime() {
+        return pickupTime;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public String getUserFullName() {
+        return userFullName;
+    }
+}
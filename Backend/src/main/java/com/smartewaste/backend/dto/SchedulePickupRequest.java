@@ -0,0 +1,55 @@
+package com.smartewaste.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class SchedulePickupRequest {
+
+    private LocalDate pickupDate;
+    private LocalTime pickupTime;
+    private Long personnelId;       // ✅ preferred
+    private String pickupPersonnel; // legacy: personnel name
+    private Long version;           // optional optimistic-lock guard
+
+    // ========= getters & setters =========
+
+    public LocalDate getPickupDate() {
+        return pickupDate;
+    }
+
+    public void setPickupDate(LocalDate pickupDate) {
+        this.pickupDate = pickupDate;
+    }
+
+    public LocalTime getPickupTime() {
+        return pickupTime;
+    }
+
+    public void setPickupTime(LocalTime pickupTime) {
+        this.pickupTime = pickupTime;
+    }
+
+    public Long getPersonnelId() {
+        return personnelId;
+    }
+
+    public void setPersonnelId(Long personnelId) {
+        this.personnelId = personnelId;
+    }
+
+    public String getPickupPersonnel() {
+        return pickupPersonnel;
+    }
+
+    public void setPickupPersonnel(String pickupPersonnel) {
+        this.pickupPersonnel = pickupPersonnel;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,93 @@
+package com.smartewaste.backend.dto;
+
+import com.smartewaste.backend.enums.SearchDocumentType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of admin full-text search. Hits carry just enough to render a
+ * result line and link to the request / user; facets count every match
+ * (not only this page) by type, status and device type, largest first.
+ */
+public class SearchResultDto {
+
+    private final long total;
+    private final List<Hit> hits;
+    private final Map<String, Map<String, Long>> facets;
+    private final long tookMs;
+
+    public SearchResultDto(long total, List<Hit> hits, Map<String, Map<String, Long>> facets, long tookMs) {
+        this.total = total;
+        this.hits = hits;
+        this.facets = facets;
+        this.tookMs = tookMs;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public List<Hit> getHits() {
+        return hits;
+    }
+
+    public Map<String, Map<String, Long>> getFacets() {
+        return facets;
+    }
+
+    public long getTookMs() {
+        return tookMs;
+    }
+
+    // ===================== NESTED =====================
+    public static class Hit {
+
+        private final SearchDocumentType type;
+        private final long id;
+        private final String title;     // request: brand + model (or device type); user: full name
+        private final String subtitle;  // request: address; user: email and phone
+        private final String status;
+        private final String deviceType; // requests only
+        private final float score;
+
+        public Hit(SearchDocumentType type, long id, String title, String subtitle,
+                   String status, String deviceType, float score) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.subtitle = subtitle;
+            this.status = status;
+            this.deviceType = deviceType;
+            this.score = score;
+        }
+
+        public SearchDocumentType getType() {
+            return type;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getSubtitle() {
+            return subtitle;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getDeviceType() {
+            return deviceType;
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.smartewaste.backend.dto;
+
+import com.smartewaste.backend.entity.UserDocument;
+
+import java.time.Instant;
+
+public class UserDocumentDto {
+
+    private Long id;
+    private String type;
+    private String fileName;
+    private String contentType;
+    private Long size;
+    private String sha256;
+    private Instant createdAt;
+
+    // ===================== GETTERS =====================
+    public Long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    // ===================== MAPPER =====================
+    public static UserDocumentDto fromEntity(UserDocument document) {
+        UserDocumentDto dto = new UserDocumentDto();
+
+        dto.id = document.getId();
+        dto.type = document.getType();
+        dto.fileName = document.getFileName();
+        dto.contentType = document.getContentType();
+        dto.size = document.getSize();
+        dto.sha256 = document.getSha256();
+        dto.createdAt = document.getCreatedAt();
+
+        return dto;
+    }
+}
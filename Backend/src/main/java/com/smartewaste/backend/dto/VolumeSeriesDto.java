@@ -0,0 +1,104 @@
+package com.smartewaste.backend.dto;
+
+import com.smartewaste.backend.enums.VolumeDimension;
+import com.smartewaste.backend.enums.VolumeGranularity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Completed e-waste volumes over a date range: one point per period (and
+ * per group when a breakdown was asked for), oldest period first.
+ */
+public class VolumeSeriesDto {
+
+    private final VolumeGranularity granularity;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final VolumeDimension groupBy; // null: one total per period
+    private final List<Point> points;
+    private final long totalRequests;
+    private final long totalQuantity;
+
+    public VolumeSeriesDto(
+            VolumeGranularity granularity,
+            LocalDate from,
+            LocalDate to,
+            VolumeDimension groupBy,
+            List<Point> points) {
+        this.granularity = granularity;
+        this.from = from;
+        this.to = to;
+        this.groupBy = groupBy;
+        this.points = points;
+
+        long requests = 0;
+        long quantity = 0;
+        for (Point point : points) {
+            requests += point.getRequests();
+            quantity += point.getQuantity();
+        }
+        this.totalRequests = requests;
+        this.totalQuantity = quantity;
+    }
+
+    public VolumeGranularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public VolumeDimension getGroupBy() {
+        return groupBy;
+    }
+
+    public List<Point> getPoints() {
+        return points;
+    }
+
+    public long getTotalRequests() {
+        return totalRequests;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    // ===================== NESTED =====================
+    public static class Point {
+
+        private final LocalDate period; // first day of the period
+        private final String group;
+        private final long requests;
+        private final long quantity;
+
+        public Point(LocalDate period, String group, long requests, long quantity) {
+            this.period = period;
+            this.group = group;
+            this.requests = requests;
+            this.quantity = quantity;
+        }
+
+        public LocalDate getPeriod() {
+            return period;
+        }
+
+        public String getGroup() {
+            return group;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+    }
+}
@@ -1,14 +1,31 @@
 package com.smartewaste.backend.entity;
 
 import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.service.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "collection_requests")
+@Table(name = "collection_requests", indexes = {
+        // Keyset feed: ORDER BY created_at DESC, id DESC with optional leading filter
+        @Index(name = "idx_cr_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_cr_status_created_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_cr_device_created_id", columnList = "device_type, created_at, id"),
+        @Index(name = "idx_cr_personnel_created_id", columnList = "pickup_personnel, created_at, id"),
+        @Index(name = "idx_cr_pickup_date", columnList = "pickup_date"),
+        // Pickup-date range feed: walk the keyset order and test the range inside the index entry,
+        // so the page needs no filesort and stops at LIMIT
+        @Index(name = "idx_cr_created_id_pickup_date", columnList = "created_at, id, pickup_date"),
+        @Index(name = "idx_cr_personnel_id_created_id", columnList = "personnel_id, created_at, id"),
+        // Personnel route / assigned lists: personnel_id = ? AND status = ? AND pickup_date = ?
+        @Index(name = "idx_cr_personnel_status_date", columnList = "personnel_id, status, pickup_date")
+})
+@EntityListeners(SearchIndexListener.class)
 @Data
 public class CollectionRequest {
 
@@ -16,8 +33,10 @@ public class CollectionRequest {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private UserAccount user;
 
     private String deviceType;
@@ -33,14 +52,28 @@ public class CollectionRequest {
     private String address;
     private String remarks;
 
+    // ✅ Pickup location (WGS84); null until supplied by the client or geocoded
+    private Double latitude;
+    private Double longitude;
+
     private LocalDate pickupDate;
     private LocalTime pickupTime;
 
-    // ✅ NEW: Assigned Pickup Personnel
+    // ✅ Assigned pickup personnel (FK); pickupPersonnel keeps the name for display / emails
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "personnel_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Personnel personnel;
+
     private String pickupPersonnel;
 
     @Enumerated(EnumType.STRING)
     private RequestStatus status = RequestStatus.PENDING;
 
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    // ✅ Optimistic lock: bumped by entity saves and by every guarded UPDATE
+    @Version
+    private Long version;
 }
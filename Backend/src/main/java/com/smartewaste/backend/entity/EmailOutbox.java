@@ -0,0 +1,47 @@
+package com.smartewaste.backend.entity;
+
+import com.smartewaste.backend.enums.EmailStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "email_outbox", indexes = {
+        // Dispatcher poll: WHERE status = 'PENDING' AND next_attempt_at <= now ORDER BY id
+        @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at, id")
+})
+@Data
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Lob
+    @Column(nullable = false)
+    private String body; // Rendered HTML
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailStatus status = EmailStatus.PENDING;
+
+    private int attempts = 0;
+
+    private Instant nextAttemptAt = Instant.now();
+
+    private Instant claimedAt;
+
+    private Instant sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private Instant createdAt = Instant.now();
+}
@@ -0,0 +1,54 @@
+package com.smartewaste.backend.entity;
+
+import com.smartewaste.backend.enums.RequestStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One status change of a collection request. Append-only: rows are inserted
+ * in batches by RequestEventRecorder and never updated or deleted.
+ *
+ * No foreign key to collection_requests, so the log outlives deleted users
+ * and the table can be range-partitioned by {@code event_month} on MySQL.
+ */
+@Entity
+@Table(name = "request_events", indexes = {
+        // Timeline of one request
+        @Index(name = "idx_re_request_id", columnList = "request_id, id"),
+        // Export / SLA scans by month (also the partition key)
+        @Index(name = "idx_re_month_id", columnList = "event_month, id")
+})
+@Data
+public class RequestEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    // yyyyMM of occurredAt
+    @Column(name = "event_month", nullable = false)
+    private Integer eventMonth;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Null for creation, and when the writer only knew the set of allowed sources
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private RequestStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RequestStatus toStatus;
+
+    @Column(length = 100)
+    private String actor; // username, or "system"
+
+    @Column(length = 500)
+    private String detail; // reason, assigned personnel / slot
+}
@@ -0,0 +1,26 @@
+package com.smartewaste.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * How far a rollup has consumed the request_events log: every event with
+ * an id up to {@code lastEventId} is already counted. Advanced in the same
+ * transaction as the rollup rows, so each event is counted exactly once.
+ */
+@Entity
+@Table(name = "rollup_watermarks")
+@Data
+public class RollupWatermark {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private long lastEventId;
+
+    private Instant updatedAt;
+}
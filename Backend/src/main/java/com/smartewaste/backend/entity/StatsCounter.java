@@ -0,0 +1,36 @@
+package com.smartewaste.backend.entity;
+
+import com.smartewaste.backend.enums.StatsDimension;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Persisted dashboard counter. Written by DashboardStatsService (periodic
+ * flush of changed counters, full rewrite after a rebuild) and read back on
+ * startup, so /api/admin/stats has numbers before the first rebuild finishes.
+ */
+@Entity
+@Table(name = "stats_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stats_dimension_bucket", columnNames = {"dimension", "bucket"})
+})
+@Data
+public class StatsCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private StatsDimension dimension;
+
+    @Column(nullable = false, length = 100)
+    private String bucket; // status name, device type, city, yyyy-MM-dd, or "all"
+
+    @Column(name = "counter_value", nullable = false)
+    private long value;
+
+    private Instant updatedAt;
+}
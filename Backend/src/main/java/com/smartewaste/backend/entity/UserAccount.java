@@ -1,13 +1,17 @@
 package com.smartewaste.backend.entity;
 
 import com.smartewaste.backend.enums.UserStatus;
+import com.smartewaste.backend.service.SearchIndexListener;
+import com.smartewaste.backend.service.UserStatsListener;
 import jakarta.persistence.*;
 import java.time.Instant;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 @Entity
 @Table(name = "user_accounts")
+@EntityListeners({UserStatsListener.class, SearchIndexListener.class})
 public class UserAccount {
 
     @Id
@@ -56,6 +60,37 @@ public class UserAccount {
 
     private Instant createdAt;
 
+    // ✅ Lower-cased copies of email / username; unique-indexed so lookups are index seeks
+    @Column(name = "email_key", unique = true)
+    private String emailKey;
+
+    @Column(name = "username_key", unique = true)
+    private String usernameKey;
+
+    // ✅ Status as last read from / written to the database (for dashboard counters)
+    @Transient
+    private UserStatus persistedStatus;
+
+    @PrePersist
+    @PreUpdate
+    void syncLookupKeys() {
+        this.emailKey = normalizeKey(email);
+        this.usernameKey = normalizeKey(username);
+    }
+
+    // Entity listeners run before this, so UserStatsListener still sees the previous status
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedStatus() {
+        this.persistedStatus = status;
+    }
+
+    // Single definition of the lookup key, shared by queries and the backfill
+    public static String normalizeKey(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
     // ========= getters & setters =========
 
     public Long getId() {
@@ -186,4 +221,16 @@ public class UserAccount {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public String getEmailKey() {
+        return emailKey;
+    }
+
+    public String getUsernameKey() {
+        return usernameKey;
+    }
+
+    public UserStatus getPersistedStatus() {
+        return persistedStatus;
+    }
 }
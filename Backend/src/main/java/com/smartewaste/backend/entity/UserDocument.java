@@ -2,6 +2,8 @@ package com.smartewaste.backend.entity;
 
 import jakarta.persistence.*;
 
+import java.time.Instant;
+
 @Entity
 @Table(name = "user_documents")
 public class UserDocument {
@@ -16,9 +18,16 @@ public class UserDocument {
 
     private String contentType;
 
-    @Lob
-    @Basic(fetch = FetchType.LAZY)
-    private byte[] data;
+    // ✅ Bytes live in the DocumentStore; only metadata is kept here
+    @Column(length = 64)
+    private String storageKey;
+
+    private Long size;
+
+    @Column(length = 64)
+    private String sha256;
+
+    private Instant createdAt;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
@@ -48,11 +57,29 @@ public class UserDocument {
 
     public void setContentType(String contentType) { this.contentType = contentType; }
 
-    public byte[] getData() {
-        return data;
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) { this.storageKey = storageKey; }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) { this.size = size; }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+
+    public Instant getCreatedAt() {
+        return createdAt;
     }
 
-    public void setData(byte[] data) { this.data = data; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
 
     public UserAccount getUser() {
         return user;
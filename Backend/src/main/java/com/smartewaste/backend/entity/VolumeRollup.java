@@ -0,0 +1,54 @@
+package com.smartewaste.backend.entity;
+
+import com.smartewaste.backend.enums.VolumeGranularity;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Completed collections per period and (device type, condition, brand, city).
+ * Each completion lands in one DAY, one WEEK and one MONTH row, so a range
+ * query reads at most one row per period and combination, whatever the
+ * number of underlying requests. Maintained by VolumeAnalyticsService.
+ */
+@Entity
+@Table(name = "volume_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_vr_period_key", columnNames = {
+                "granularity", "period_start", "device_type", "item_condition", "brand", "city"})
+}, indexes = {
+        @Index(name = "idx_vr_granularity_period", columnList = "granularity, period_start")
+})
+@Data
+public class VolumeRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private VolumeGranularity granularity;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    // Never null (blank values are stored as "Other" / "Unknown") so the unique key holds
+    @Column(name = "device_type", nullable = false, length = 100)
+    private String deviceType;
+
+    @Column(name = "item_condition", nullable = false, length = 50)
+    private String condition;
+
+    @Column(nullable = false, length = 100)
+    private String brand;
+
+    @Column(nullable = false, length = 100)
+    private String city;
+
+    @Column(nullable = false)
+    private long requests;
+
+    @Column(nullable = false)
+    private long quantity;
+}
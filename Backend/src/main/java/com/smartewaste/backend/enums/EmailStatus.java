@@ -0,0 +1,8 @@
+package com.smartewaste.backend.enums;
+
+public enum EmailStatus {
+    PENDING, // Waiting in the outbox (new or scheduled for retry)
+    SENDING, // Claimed by the dispatcher
+    SENT, // Accepted by the SMTP server
+    FAILED // Gave up after max attempts
+}
@@ -1,9 +1,44 @@
 package com.smartewaste.backend.enums;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum RequestStatus {
     PENDING,
     IN_PROGRESS,
     COMPLETED,
     CANCELLED,
-    REJECTED
+    REJECTED;
+
+    // ✅ Allowed lifecycle moves; COMPLETED / CANCELLED / REJECTED are final
+    private static final Map<RequestStatus, Set<RequestStatus>> TRANSITIONS = new EnumMap<>(RequestStatus.class);
+    private static final Map<RequestStatus, Set<RequestStatus>> SOURCES = new EnumMap<>(RequestStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(IN_PROGRESS, REJECTED, CANCELLED));
+        TRANSITIONS.put(IN_PROGRESS, EnumSet.of(COMPLETED, REJECTED, CANCELLED)); // personnel can refuse on site
+        TRANSITIONS.put(COMPLETED, EnumSet.noneOf(RequestStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(RequestStatus.class));
+        TRANSITIONS.put(REJECTED, EnumSet.noneOf(RequestStatus.class));
+
+        for (RequestStatus target : values()) {
+            SOURCES.put(target, EnumSet.noneOf(RequestStatus.class));
+        }
+        TRANSITIONS.forEach((source, targets) -> targets.forEach(target -> SOURCES.get(target).add(source)));
+    }
+
+    public boolean canTransitionTo(RequestStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
+    // Statuses a request may be in to move to `target` (the guard of a conditional UPDATE)
+    public static Set<RequestStatus> sourcesOf(RequestStatus target) {
+        return SOURCES.get(target);
+    }
+
+    public boolean isFinal() {
+        return TRANSITIONS.get(this).isEmpty();
+    }
 }
@@ -0,0 +1,7 @@
+package com.smartewaste.backend.enums;
+
+// What a full-text search hit points at
+public enum SearchDocumentType {
+    REQUEST,
+    USER
+}
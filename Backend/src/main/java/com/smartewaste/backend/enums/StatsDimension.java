@@ -0,0 +1,13 @@
+package com.smartewaste.backend.enums;
+
+// Dashboard counter families; each has one row per bucket in stats_counters
+public enum StatsDimension {
+    REQUEST_TOTAL,
+    REQUEST_STATUS,
+    REQUEST_DEVICE_TYPE,
+    REQUEST_CITY,
+    REQUEST_DAY,
+    COMPLETED_QUANTITY,
+    USER_TOTAL,
+    USER_STATUS
+}
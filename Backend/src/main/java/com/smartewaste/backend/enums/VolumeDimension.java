@@ -0,0 +1,19 @@
+package com.smartewaste.backend.enums;
+
+// Breakdowns of the volume analytics, mapped to their volume_rollups column
+public enum VolumeDimension {
+    DEVICE_TYPE("device_type"),
+    CONDITION("item_condition"),
+    BRAND("brand"),
+    CITY("city");
+
+    private final String column;
+
+    VolumeDimension(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+}
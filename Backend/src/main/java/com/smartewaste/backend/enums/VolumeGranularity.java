@@ -0,0 +1,23 @@
+package com.smartewaste.backend.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// Period sizes kept in volume_rollups; weeks start on Monday (ISO)
+public enum VolumeGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    public LocalDate periodStart(LocalDate day) {
+        switch (this) {
+            case WEEK:
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return day.withDayOfMonth(1);
+            default:
+                return day;
+        }
+    }
+}
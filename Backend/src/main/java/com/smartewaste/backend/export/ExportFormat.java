@@ -0,0 +1,39 @@
+package com.smartewaste.backend.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Tabular export formats. Both write row by row to the given stream and
+ * keep nothing but the current row in memory.
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public RowWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+        return this == CSV
+                ? new CsvRowWriter(out, columns)
+                : new NdjsonRowWriter(out, columns, objectMapper);
+    }
+}
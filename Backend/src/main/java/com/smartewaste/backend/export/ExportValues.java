@@ -0,0 +1,22 @@
+package com.smartewaste.backend.export;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+// Text form of a cell, shared by both formats; dates and times as ISO-8601 like the JSON API
+final class ExportValues {
+
+    private ExportValues() {
+    }
+
+    static String text(Object value) {
+        if (value instanceof LocalDateTime) {
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format((LocalDateTime) value);
+        }
+        if (value instanceof LocalTime) {
+            return DateTimeFormatter.ISO_LOCAL_TIME.format((LocalTime) value);
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.smartewaste.backend.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * One flat JSON object per line, keyed by column name. Numbers and booleans
+ * stay JSON numbers / booleans; everything else is written as a string.
+ */
+class NdjsonRowWriter implements RowWriter {
+
+    private final JsonGenerator generator;
+    private final String[] columns;
+
+    NdjsonRowWriter(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null); // newline is written explicitly after each row
+        this.columns = columns.toArray(new String[0]);
+    }
+
+    @Override
+    public void write(Object... values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            generator.writeFieldName(columns[i]);
+            writeValue(values[i]);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    // Scalars written directly: a per-cell ObjectMapper round trip costs more than the whole query
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Long || value instanceof Integer) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else {
+            generator.writeString(ExportValues.text(value));
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+}
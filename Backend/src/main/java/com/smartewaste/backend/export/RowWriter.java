@@ -0,0 +1,15 @@
+package com.smartewaste.backend.export;
+
+import java.io.IOException;
+
+/**
+ * Writes rows whose values line up with the column list given to
+ * {@link ExportFormat#open}. {@link #flush()} pushes buffered rows to the
+ * client; it does not close the underlying stream.
+ */
+public interface RowWriter {
+
+    void write(Object... values) throws IOException;
+
+    void flush() throws IOException;
+}
@@ -0,0 +1,29 @@
+package com.smartewaste.backend.geo;
+
+/**
+ * Spherical-earth helpers. Accurate to well under 1% at city scale, which is
+ * all route ordering and radius queries need.
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoMath() {
+    }
+
+    public static boolean isValid(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
+
+    // Great-circle (haversine) distance in kilometres
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,11 @@
+package com.smartewaste.backend.geo;
+
+/**
+ * Resolves a free-text pickup address to coordinates. Implementations must
+ * be offline and fast: this is called on the request-creation path.
+ */
+public interface Geocoder {
+
+    // null when the address can't be placed
+    GeoPoint locate(String address);
+}
@@ -0,0 +1,289 @@
+package com.smartewaste.backend.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory point index over a fixed lat/lon grid. This is the same idea as
+ * a geohash prefix at one precision, but cell keys are plain longs. Each cell
+ * keeps its points in parallel primitive arrays, so a query only touches the
+ * few cells that overlap the search box and allocates nothing per point it
+ * rejects.
+ *
+ * Every point carries an int tag (the request status ordinal), and queries
+ * filter on a tag bitmask. Reads share a lock and writes are exclusive.
+ */
+public class GridIndex {
+
+    private static final double KM_PER_DEGREE_LAT = Math.PI * GeoMath.EARTH_RADIUS_KM / 180;
+
+    private final double cellDegrees;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Long> cellOf = new HashMap<>(); // id -> cell key
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public GridIndex(double cellDegrees) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("cellDegrees must be positive");
+        }
+        this.cellDegrees = cellDegrees;
+    }
+
+    // ================= WRITES =================
+
+    public void put(long id, double latitude, double longitude, int tag) {
+        long key = key(row(latitude), column(longitude));
+        lock.writeLock().lock();
+        try {
+            Long previous = cellOf.put(id, key);
+            if (previous != null) {
+                removeFromCell(previous, id);
+            }
+            cells.computeIfAbsent(key, k -> new Cell()).add(id, latitude, longitude, tag);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Re-tags a point in place; false if the id isn't indexed
+    public boolean retag(long id, int tag) {
+        lock.writeLock().lock();
+        try {
+            Long key = cellOf.get(id);
+            if (key == null) {
+                return false;
+            }
+            Cell cell = cells.get(key);
+            cell.tags[cell.indexOf(id)] = tag;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Long key = cellOf.remove(id);
+            if (key != null) {
+                removeFromCell(key, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cellOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ================= QUERIES =================
+
+    // Points within radiusKm of the centre, nearest first
+    public List<Hit> withinRadius(double latitude, double longitude, double radiusKm, int tagMask, int limit) {
+        double dLat = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        double dLon = radiusKm / (KM_PER_DEGREE_LAT * cosLat);
+
+        // Rank by equirectangular distance (no trig per point), keep only the nearest `limit`
+        // in a max-heap, and compute the exact great-circle distance for those alone
+        double radiusSquared = radiusKm * radiusKm * 1.0001;
+        PriorityQueue<double[]> nearest = new PriorityQueue<>(Comparator.comparingDouble((double[] c) -> -c[0]));
+        scan(latitude - dLat, longitude - dLon, latitude + dLat, longitude + dLon, tagMask, (id, lat, lon, tag) -> {
+            double y = (lat - latitude) * KM_PER_DEGREE_LAT;
+            double x = (lon - longitude) * KM_PER_DEGREE_LAT * cosLat;
+            double squared = x * x + y * y;
+            if (squared > radiusSquared || (nearest.size() == limit && squared >= nearest.peek()[0])) {
+                return;
+            }
+            if (nearest.size() == limit) {
+                nearest.poll();
+            }
+            nearest.add(new double[] {squared, id, lat, lon, tag}); // ids < 2^53 round-trip exactly
+        });
+
+        List<Hit> hits = new ArrayList<>(nearest.size());
+        for (double[] c : nearest) {
+            double distance = GeoMath.distanceKm(latitude, longitude, c[2], c[3]);
+            if (distance <= radiusKm) {
+                hits.add(new Hit((long) c[1], c[2], c[3], (int) c[4], distance));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm));
+        return hits;
+    }
+
+    // Points inside the box, in no particular order
+    public List<Hit> withinBox(double minLat, double minLon, double maxLat, double maxLon, int tagMask, int limit) {
+        List<Hit> hits = new ArrayList<>();
+        scan(minLat, minLon, maxLat, maxLon, tagMask, (id, lat, lon, tag) -> {
+            if (hits.size() < limit) {
+                hits.add(new Hit(id, lat, lon, tag, Double.NaN));
+            }
+        });
+        return hits;
+    }
+
+    private void scan(double minLat, double minLon, double maxLat, double maxLon, int tagMask, PointVisitor visitor) {
+        long firstRow = row(minLat);
+        long lastRow = row(maxLat);
+        long firstColumn = column(minLon);
+        long lastColumn = column(maxLon);
+
+        lock.readLock().lock();
+        try {
+            // Huge boxes: walking the occupied cells is cheaper than probing empty ones
+            long probes = (lastRow - firstRow + 1) * (lastColumn - firstColumn + 1);
+            if (probes > cells.size()) {
+                for (Cell cell : cells.values()) {
+                    cell.scan(minLat, minLon, maxLat, maxLon, tagMask, visitor);
+                }
+                return;
+            }
+
+            for (long row = firstRow; row <= lastRow; row++) {
+                for (long column = firstColumn; column <= lastColumn; column++) {
+                    Cell cell = cells.get(key(row, column));
+                    if (cell != null) {
+                        cell.scan(minLat, minLon, maxLat, maxLon, tagMask, visitor);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ================= GRID =================
+
+    private long row(double latitude) {
+        return (long) Math.floor(latitude / cellDegrees);
+    }
+
+    private long column(double longitude) {
+        return (long) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long key(long row, long column) {
+        return (row << 32) ^ (column & 0xffffffffL);
+    }
+
+    private void removeFromCell(long key, long id) {
+        Cell cell = cells.get(key);
+        if (cell != null && cell.remove(id) && cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PointVisitor {
+        void visit(long id, double latitude, double longitude, int tag);
+    }
+
+    private static final class Cell {
+
+        private long[] ids = new long[4];
+        private double[] lats = new double[4];
+        private double[] lons = new double[4];
+        private int[] tags = new int[4];
+        private int size;
+
+        void add(long id, double latitude, double longitude, int tag) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                lons = Arrays.copyOf(lons, capacity);
+                tags = Arrays.copyOf(tags, capacity);
+            }
+            ids[size] = id;
+            lats[size] = latitude;
+            lons[size] = longitude;
+            tags[size] = tag;
+            size++;
+        }
+
+        int indexOf(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Swap-remove: order inside a cell doesn't matter
+        boolean remove(long id) {
+            int i = indexOf(id);
+            if (i < 0) {
+                return false;
+            }
+            size--;
+            ids[i] = ids[size];
+            lats[i] = lats[size];
+            lons[i] = lons[size];
+            tags[i] = tags[size];
+            return true;
+        }
+
+        void scan(double minLat, double minLon, double maxLat, double maxLon, int tagMask, PointVisitor visitor) {
+            for (int i = 0; i < size; i++) {
+                if ((tagMask & (1 << tags[i])) != 0
+                        && lats[i] >= minLat && lats[i] <= maxLat
+                        && lons[i] >= minLon && lons[i] <= maxLon) {
+                    visitor.visit(ids[i], lats[i], lons[i], tags[i]);
+                }
+            }
+        }
+    }
+
+    public static final class Hit {
+
+        private final long id;
+        private final double latitude;
+        private final double longitude;
+        private final int tag;
+        private final double distanceKm;
+
+        private Hit(long id, double latitude, double longitude, int tag, double distanceKm) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.tag = tag;
+            this.distanceKm = distanceKm;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public int getTag() {
+            return tag;
+        }
+
+        // NaN for box queries
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
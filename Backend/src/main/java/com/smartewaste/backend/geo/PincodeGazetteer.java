@@ -0,0 +1,90 @@
+package com.smartewaste.backend.geo;
+
+import com.smartewaste.backend.scheduling.Pincodes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Geocodes by PIN code against a local table of post-office centroids
+ * ({@code pincode,latitude,longitude[,place]} CSV). A PIN that is not in the
+ * table falls back to the average of its 3-digit sorting district. Precision
+ * is PIN-level (a few km in cities), which is enough for "what's near this
+ * truck" and for ordering a route.
+ *
+ * The bundled table only covers the larger cities. Point
+ * {@code geo.gazetteer.location} at a full directory export for national
+ * coverage.
+ */
+@Component
+@ConditionalOnProperty(name = "geo.geocoder.type", havingValue = "gazetteer", matchIfMissing = true)
+public class PincodeGazetteer implements Geocoder {
+
+    private static final Logger log = LoggerFactory.getLogger(PincodeGazetteer.class);
+
+    private final Map<String, GeoPoint> byPincode = new HashMap<>();
+    private final Map<String, GeoPoint> byDistrict = new HashMap<>();
+
+    public PincodeGazetteer(@Value("${geo.gazetteer.location:classpath:geo/pincodes.csv}") Resource table)
+            throws IOException {
+        Map<String, double[]> districtSums = new HashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(table.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length < 3) {
+                    continue;
+                }
+
+                String pincode = Pincodes.normalize(fields[0].trim());
+                double latitude;
+                double longitude;
+                try {
+                    latitude = Double.parseDouble(fields[1].trim());
+                    longitude = Double.parseDouble(fields[2].trim());
+                } catch (NumberFormatException e) {
+                    continue; // Header row or bad data
+                }
+                if (pincode == null || !GeoMath.isValid(latitude, longitude)) {
+                    continue;
+                }
+
+                byPincode.put(pincode, new GeoPoint(latitude, longitude));
+                double[] sum = districtSums.computeIfAbsent(Pincodes.district(pincode), k -> new double[3]);
+                sum[0] += latitude;
+                sum[1] += longitude;
+                sum[2]++;
+            }
+        }
+
+        districtSums.forEach((district, sum) ->
+                byDistrict.put(district, new GeoPoint(sum[0] / sum[2], sum[1] / sum[2])));
+
+        log.info("Loaded {} PIN codes ({} districts) from {}", byPincode.size(), byDistrict.size(), table);
+    }
+
+    @Override
+    public GeoPoint locate(String address) {
+        String pincode = Pincodes.extract(address);
+        if (pincode == null) {
+            return null;
+        }
+        GeoPoint exact = byPincode.get(pincode);
+        return exact != null ? exact : byDistrict.get(Pincodes.district(pincode));
+    }
+}
@@ -0,0 +1,13 @@
+package com.smartewaste.backend.repository;
+
+import com.smartewaste.backend.dto.CollectionRequestDto;
+import com.smartewaste.backend.dto.RequestFeedCursor;
+import com.smartewaste.backend.dto.RequestFeedFilter;
+
+import java.util.List;
+
+public interface CollectionRequestFeedRepository {
+
+    // Keyset page ordered by (createdAt DESC, id DESC), starting strictly after the cursor
+    List<CollectionRequestDto> findFeedPage(RequestFeedFilter filter, RequestFeedCursor after, int limit);
+}
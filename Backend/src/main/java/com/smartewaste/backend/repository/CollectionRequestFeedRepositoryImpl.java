@@ -0,0 +1,97 @@
+package com.smartewaste.backend.repository;
+
+import com.smartewaste.backend.dto.CollectionRequestDto;
+import com.smartewaste.backend.dto.RequestFeedCursor;
+import com.smartewaste.backend.dto.RequestFeedFilter;
+import com.smartewaste.backend.entity.CollectionRequest;
+import com.smartewaste.backend.entity.UserAccount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CollectionRequestFeedRepositoryImpl implements CollectionRequestFeedRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CollectionRequestDto> findFeedPage(RequestFeedFilter filter, RequestFeedCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CollectionRequestDto> query = cb.createQuery(CollectionRequestDto.class);
+        Root<CollectionRequest> root = query.from(CollectionRequest.class);
+        Join<CollectionRequest, UserAccount> user = root.join("user");
+
+        Path<LocalDateTime> createdAt = root.get("createdAt");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+
+        if (filter.getStatus() != null) {
+            where.add(cb.equal(root.get("status"), filter.getStatus()));
+        }
+        if (filter.getDeviceType() != null && !filter.getDeviceType().isBlank()) {
+            where.add(cb.equal(root.get("deviceType"), filter.getDeviceType()));
+        }
+        if (filter.getPickupFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(root.get("pickupDate"), filter.getPickupFrom()));
+        }
+        if (filter.getPickupTo() != null) {
+            where.add(cb.lessThanOrEqualTo(root.get("pickupDate"), filter.getPickupTo()));
+        }
+        if (filter.getPersonnel() != null && !filter.getPersonnel().isBlank()) {
+            where.add(cb.equal(root.get("pickupPersonnel"), filter.getPersonnel()));
+        }
+        if (filter.getPersonnelId() != null) {
+            where.add(cb.equal(root.get("personnel").get("id"), filter.getPersonnelId()));
+        }
+
+        // Seek past the last row of the previous page instead of using OFFSET
+        if (after != null) {
+            where.add(cb.or(
+                    cb.lessThan(createdAt, after.getCreatedAt()),
+                    cb.and(
+                            cb.equal(createdAt, after.getCreatedAt()),
+                            cb.lessThan(id, after.getId()))));
+        }
+
+        // Same column list as CollectionRequestRepository.DTO_SELECT
+        query.select(cb.construct(CollectionRequestDto.class,
+                        id,
+                        root.get("deviceType"),
+                        root.get("brand"),
+                        root.get("model"),
+                        root.get("condition"),
+                        root.get("quantity"),
+                        root.get("imagePath"),
+                        root.get("address"),
+                        root.get("latitude"),
+                        root.get("longitude"),
+                        root.get("remarks"),
+                        root.get("pickupDate"),
+                        root.get("pickupTime"),
+                        root.get("personnel").get("id"),
+                        root.get("pickupPersonnel"),
+                        root.get("status"),
+                        createdAt,
+                        root.get("version"),
+                        user.get("id"),
+                        user.get("fullName"),
+                        user.get("email"),
+                        user.get("phone")))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,15 +1,110 @@
 package com.smartewaste.backend.repository;
 
+import com.smartewaste.backend.dto.CollectionRequestDto;
+import com.smartewaste.backend.dto.RequestStatusSnapshot;
 import com.smartewaste.backend.entity.CollectionRequest;
+import com.smartewaste.backend.entity.Personnel;
 import com.smartewaste.backend.entity.UserAccount;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.scheduling.PendingPickup;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+public interface CollectionRequestRepository extends JpaRepository<CollectionRequest, Long>,
+        CollectionRequestFeedRepository {
+
+    // Constructor expression shared by every list view: one query, no entity hydration
+    String DTO_SELECT = "select new com.smartewaste.backend.dto.CollectionRequestDto("
+            + "r.id, r.deviceType, r.brand, r.model, r.condition, r.quantity, r.imagePath, "
+            + "r.address, r.latitude, r.longitude, r.remarks, r.pickupDate, r.pickupTime, "
+            + "r.personnel.id, r.pickupPersonnel, r.status, r.createdAt, r.version, "
+            + "u.id, u.fullName, u.email, u.phone) "
+            + "from CollectionRequest r join r.user u ";
 
-public interface CollectionRequestRepository extends JpaRepository<CollectionRequest, Long> {
     List<CollectionRequest> findByUser(UserAccount user);
 
     List<CollectionRequest> findByUserOrderByCreatedAtDesc(UserAccount user);
 
-    // ✅ Find requests assigned to specific personnel
-    List<CollectionRequest> findByPickupPersonnel(String pickupPersonnel);
+    // ✅ User list view
+    @Query(DTO_SELECT + "where u.id = :userId order by r.createdAt desc, r.id desc")
+    List<CollectionRequestDto> findDtosByUserId(@Param("userId") Long userId);
+
+    // ✅ Personnel list view (idx_cr_personnel_id_created_id)
+    @Query(DTO_SELECT + "where r.personnel.id = :personnelId order by r.createdAt desc, r.id desc")
+    List<CollectionRequestDto> findDtosByPersonnelId(@Param("personnelId") Long personnelId);
+
+    // ✅ Auto-scheduling input: every PENDING request, oldest first (idx_cr_status_created_id)
+    @Query("select new com.smartewaste.backend.scheduling.PendingPickup("
+            + "r.id, r.address, u.city, r.pickupDate, r.pickupTime, r.createdAt, u.email, u.fullName) "
+            + "from CollectionRequest r join r.user u "
+            + "where r.status = com.smartewaste.backend.enums.RequestStatus.PENDING "
+            + "order by r.createdAt asc, r.id asc")
+    List<PendingPickup> findPendingPickups();
+
+    // ✅ Every personnel's stops for one day (admin route board), grouped by personnel
+    @Query(DTO_SELECT + "where r.personnel is not null and r.status = :status and r.pickupDate = :date "
+            + "order by r.personnel.id asc, r.pickupTime asc, r.id asc")
+    List<CollectionRequestDto> findDayStops(
+            @Param("status") RequestStatus status,
+            @Param("date") LocalDate date);
+
+    // Bulk status updates: current state + notification details for a batch of ids
+    @Query("select new com.smartewaste.backend.dto.RequestStatusSnapshot("
+            + "r.id, r.status, r.version, r.personnel.id, r.deviceType, r.quantity, r.pickupDate, r.pickupTime, u.email, u.fullName) "
+            + "from CollectionRequest r join r.user u where r.id in :ids")
+    List<RequestStatusSnapshot> findStatusSnapshots(@Param("ids") Collection<Long> ids);
+
+    // ✅ Guarded status change (no prior select): applies only if the row is in a status allowed
+    // to move to :to, and at :version when the client sent one. 0 rows = missing, stale or invalid.
+    @Modifying
+    @Transactional
+    @Query("update CollectionRequest r set r.status = :to, r.version = r.version + 1 "
+            + "where r.id = :id and r.status in :from and (:version is null or r.version = :version)")
+    int transition(
+            @Param("id") Long id,
+            @Param("from") Collection<RequestStatus> from,
+            @Param("to") RequestStatus to,
+            @Param("version") Long version);
+
+    // ✅ Guarded schedule / reschedule, same contract as transition()
+    @Modifying
+    @Transactional
+    @Query("update CollectionRequest r set r.status = com.smartewaste.backend.enums.RequestStatus.IN_PROGRESS, "
+            + "r.pickupDate = :date, r.pickupTime = :time, r.personnel = :personnel, r.pickupPersonnel = :personnelName, "
+            + "r.version = r.version + 1 "
+            + "where r.id = :id and r.status in :from and (:version is null or r.version = :version)")
+    int schedule(
+            @Param("id") Long id,
+            @Param("from") Collection<RequestStatus> from,
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("personnel") Personnel personnel,
+            @Param("personnelName") String personnelName,
+            @Param("version") Long version);
+
+    @Query(DTO_SELECT + "where r.id = :id")
+    Optional<CollectionRequestDto> findDtoById(@Param("id") Long id);
+
+    // Slots already taken in the planning window: [personnelId, pickupDate, pickupTime]
+    @Query("select r.personnel.id, r.pickupDate, r.pickupTime from CollectionRequest r "
+            + "where r.status = com.smartewaste.backend.enums.RequestStatus.IN_PROGRESS "
+            + "and r.personnel is not null and r.pickupDate between :from and :to")
+    List<Object[]> findBookedSlots(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // ✅ Personnel route for one day: a single seek on idx_cr_personnel_status_date
+    @Query(DTO_SELECT + "where r.personnel.id = :personnelId and r.status = :status and r.pickupDate = :date "
+            + "order by r.pickupTime asc, r.id asc")
+    List<CollectionRequestDto> findRouteStops(
+            @Param("personnelId") Long personnelId,
+            @Param("status") RequestStatus status,
+            @Param("date") LocalDate date);
 }
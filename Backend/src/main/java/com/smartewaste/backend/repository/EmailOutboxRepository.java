@@ -0,0 +1,57 @@
+package com.smartewaste.backend.repository;
+
+import com.smartewaste.backend.entity.EmailOutbox;
+import com.smartewaste.backend.enums.EmailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("select e.id from EmailOutbox e where e.status = :status and e.nextAttemptAt <= :now order by e.id")
+    List<Long> findDueIds(@Param("status") EmailStatus status, @Param("now") Instant now, Pageable page);
+
+    // Claim rows for this dispatcher; rows already claimed elsewhere are skipped by the status guard
+    @Modifying
+    @Transactional
+    @Query("update EmailOutbox e set e.status = com.smartewaste.backend.enums.EmailStatus.SENDING, e.claimedAt = :now "
+            + "where e.id in :ids and e.status = com.smartewaste.backend.enums.EmailStatus.PENDING")
+    int claim(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    List<EmailOutbox> findByIdInAndStatusAndClaimedAt(Collection<Long> ids, EmailStatus status, Instant claimedAt);
+
+    // Rows left in SENDING by a crashed dispatcher go back to the queue
+    @Modifying
+    @Transactional
+    @Query("update EmailOutbox e set e.status = com.smartewaste.backend.enums.EmailStatus.PENDING "
+            + "where e.status = com.smartewaste.backend.enums.EmailStatus.SENDING and e.claimedAt < :cutoff")
+    int releaseStale(@Param("cutoff") Instant cutoff);
+
+    long countByStatus(EmailStatus status);
+
+    @Query("select min(e.createdAt) from EmailOutbox e where e.status = :status")
+    Instant findOldestCreatedAt(@Param("status") EmailStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("update EmailOutbox e set e.status = com.smartewaste.backend.enums.EmailStatus.SENT, "
+            + "e.sentAt = :now, e.attempts = e.attempts + 1, e.lastError = null where e.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("update EmailOutbox e set e.status = :status, e.attempts = :attempts, "
+            + "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError where e.id = :id")
+    int markAttemptFailed(@Param("id") Long id,
+                          @Param("status") EmailStatus status,
+                          @Param("attempts") int attempts,
+                          @Param("nextAttemptAt") Instant nextAttemptAt,
+                          @Param("lastError") String lastError);
+}
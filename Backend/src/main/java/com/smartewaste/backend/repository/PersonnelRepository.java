@@ -2,11 +2,24 @@ package com.smartewaste.backend.repository;
 
 import com.smartewaste.backend.entity.Personnel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PersonnelRepository extends JpaRepository<Personnel, Long> {
     List<Personnel> findByActiveTrue();
+
+    // Assignment by id: deactivated personnel can't take new pickups
+    Optional<Personnel> findByIdAndActiveTrue(Long id);
+
+    // Legacy schedule payloads only carry the name
+    Optional<Personnel> findFirstByNameAndActiveTrueOrderByIdAsc(String name);
+
+    // Personnel login accounts share the email of their Personnel row
+    @Query("select p.id from Personnel p where p.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
 }
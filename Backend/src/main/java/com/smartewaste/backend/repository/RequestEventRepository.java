@@ -0,0 +1,18 @@
+package com.smartewaste.backend.repository;
+
+import com.smartewaste.backend.dto.RequestEventDto;
+import com.smartewaste.backend.entity.RequestEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface RequestEventRepository extends JpaRepository<RequestEvent, Long> {
+
+    // ✅ Timeline: one seek on idx_re_request_id, already in append order
+    @Query("select new com.smartewaste.backend.dto.RequestEventDto("
+            + "e.id, e.requestId, e.occurredAt, e.fromStatus, e.toStatus, e.actor, e.detail) "
+            + "from RequestEvent e where e.requestId = :requestId order by e.id")
+    List<RequestEventDto> findTimeline(@Param("requestId") Long requestId);
+}
@@ -2,12 +2,47 @@ package com.smartewaste.backend.repository;
 
 import com.smartewaste.backend.entity.UserAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserAccountRepository extends JpaRepository<UserAccount, Long> {
 
-    Optional<UserAccount> findByEmailIgnoreCase(String email);
+    Optional<UserAccount> findByEmailKey(String emailKey);
 
-    Optional<UserAccount> findByUsernameIgnoreCase(String username);
+    Optional<UserAccount> findByUsernameKey(String usernameKey);
+
+    // Case-insensitive lookups via the normalized, unique-indexed key columns
+    // (never upper(email) = upper(?), which can't use an index)
+    default Optional<UserAccount> findByEmailIgnoreCase(String email) {
+        return findByEmailKey(UserAccount.normalizeKey(email));
+    }
+
+    default Optional<UserAccount> findByUsernameIgnoreCase(String username) {
+        return findByUsernameKey(UserAccount.normalizeKey(username));
+    }
+
+    @Query("select u from UserAccount u where u.usernameKey = :key or u.emailKey = :key")
+    List<UserAccount> findAllByLoginKey(@Param("key") String key);
+
+    // Login identifier (username or email) in one query; a username match wins over
+    // another account's email should the two ever collide
+    default Optional<UserAccount> findByUsernameOrEmailIgnoreCase(String login) {
+        String key = UserAccount.normalizeKey(login);
+        List<UserAccount> matches = findAllByLoginKey(key);
+        return matches.stream()
+                .filter(user -> key.equals(user.getUsernameKey()))
+                .findFirst()
+                .or(() -> matches.stream().findFirst());
+    }
+
+    // Rehash-on-login: touch only the password column
+    @Modifying
+    @Transactional
+    @Query("update UserAccount u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
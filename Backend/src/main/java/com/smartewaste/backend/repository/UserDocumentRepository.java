@@ -4,8 +4,11 @@ import com.smartewaste.backend.entity.UserDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface UserDocumentRepository extends JpaRepository<UserDocument, Long> {
 
     List<UserDocument> findByUserId(Long userId);
+
+    Optional<UserDocument> findByIdAndUserId(Long id, Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.smartewaste.backend.routing;
+
+import java.time.Duration;
+
+/**
+ * Travel and time-window model for {@link RouteSolver}.
+ */
+public class RouteOptions {
+
+    private final double speedKmh;
+    private final Duration serviceTime;
+    private final Duration windowLength;
+    private final double latePenaltyKmPerMinute;
+    private final Duration timeBudget;
+
+    public RouteOptions(
+            double speedKmh,
+            Duration serviceTime,
+            Duration windowLength,
+            double latePenaltyKmPerMinute,
+            Duration timeBudget) {
+        if (speedKmh <= 0) {
+            throw new IllegalArgumentException("speedKmh must be positive");
+        }
+        this.speedKmh = speedKmh;
+        this.serviceTime = serviceTime;
+        this.windowLength = windowLength;
+        this.latePenaltyKmPerMinute = latePenaltyKmPerMinute;
+        this.timeBudget = timeBudget;
+    }
+
+    public double getSpeedKmh() {
+        return speedKmh;
+    }
+
+    public Duration getServiceTime() {
+        return serviceTime;
+    }
+
+    public Duration getWindowLength() {
+        return windowLength;
+    }
+
+    // Cost of arriving one minute after a window closes, in km of extra driving
+    public double getLatePenaltyKmPerMinute() {
+        return latePenaltyKmPerMinute;
+    }
+
+    public Duration getTimeBudget() {
+        return timeBudget;
+    }
+}
@@ -0,0 +1,34 @@
+package com.smartewaste.backend.routing;
+
+import java.util.List;
+
+public class RoutePlan {
+
+    private final List<RouteStop> stops;
+    private final double distanceKm;
+    private final double lateMinutes;
+    private final boolean converged; // false when the time budget ran out first
+
+    public RoutePlan(List<RouteStop> stops, double distanceKm, double lateMinutes, boolean converged) {
+        this.stops = stops;
+        this.distanceKm = distanceKm;
+        this.lateMinutes = lateMinutes;
+        this.converged = converged;
+    }
+
+    public List<RouteStop> getStops() {
+        return stops;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public double getLateMinutes() {
+        return lateMinutes;
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+}
@@ -0,0 +1,257 @@
+package com.smartewaste.backend.routing;
+
+import com.smartewaste.backend.geo.GeoMath;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Orders one personnel's stops for a day. The seed is the cheaper of the
+ * booked-time order and a nearest-neighbour tour. 2-opt and Or-opt moves
+ * (segments of 1-3 stops) then improve it until no move helps or the time
+ * budget runs out.
+ *
+ * Cost is driving distance plus a per-minute penalty for arriving after a
+ * stop's window (pickupTime + window length). Arriving early means waiting,
+ * not a penalty. Moves are scored by re-simulating the whole route, because
+ * one move shifts every later arrival time. That is fine for the tens of
+ * stops a crew serves in a day; longer lists are cut off by the budget.
+ *
+ * Stops without coordinates cannot be routed. They are appended in
+ * booked-time order.
+ *
+ * Stateless and thread-safe.
+ */
+public class RouteSolver {
+
+    private static final int MAX_OR_OPT_SEGMENT = 3;
+    private static final double EPSILON = 1e-9;
+
+    private static final Comparator<RouteStop> BY_WINDOW = Comparator
+            .comparing(RouteStop::getWindowStart, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(RouteStop::getRequestId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final RouteOptions options;
+
+    public RouteSolver(RouteOptions options) {
+        this.options = options;
+    }
+
+    public RoutePlan solve(List<RouteStop> stops) {
+        long deadline = System.nanoTime() + options.getTimeBudget().toNanos();
+
+        List<RouteStop> located = new ArrayList<>();
+        List<RouteStop> unlocated = new ArrayList<>();
+        for (RouteStop stop : stops) {
+            (GeoMath.isValid(stop.getLatitude(), stop.getLongitude()) ? located : unlocated).add(stop);
+        }
+        located.sort(BY_WINDOW); // index order == booked-time order
+        unlocated.sort(BY_WINDOW);
+
+        Route route = new Route(located, options);
+        int[] order = route.identity();
+        boolean converged = true;
+
+        if (order.length > 2) {
+            int[] nearest = route.nearestNeighbour();
+            if (route.cost(nearest) < route.cost(order) - EPSILON) {
+                order = nearest;
+            }
+            converged = route.improve(order, deadline);
+        }
+
+        List<RouteStop> ordered = new ArrayList<>(stops.size());
+        for (int index : order) {
+            ordered.add(located.get(index));
+        }
+        ordered.addAll(unlocated);
+
+        return new RoutePlan(ordered, route.distance(order), route.lateness(order), converged);
+    }
+
+    // Distance matrix + windows for the located stops, in minutes since midnight
+    private static final class Route {
+
+        private final int size;
+        private final double[][] distanceKm;
+        private final double[] windowOpen;   // NaN = no window
+        private final double minutesPerKm;
+        private final double serviceMinutes;
+        private final double windowMinutes;
+        private final double latePenalty;
+        private final double startClock;
+
+        private Route(List<RouteStop> stops, RouteOptions options) {
+            size = stops.size();
+            distanceKm = new double[size][size];
+            windowOpen = new double[size];
+
+            double earliest = Double.NaN;
+            for (int i = 0; i < size; i++) {
+                RouteStop a = stops.get(i);
+                windowOpen[i] = a.getWindowStart() == null ? Double.NaN : a.getWindowStart().toSecondOfDay() / 60.0;
+                if (!Double.isNaN(windowOpen[i]) && (Double.isNaN(earliest) || windowOpen[i] < earliest)) {
+                    earliest = windowOpen[i];
+                }
+                for (int j = i + 1; j < size; j++) {
+                    RouteStop b = stops.get(j);
+                    double d = GeoMath.distanceKm(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude());
+                    distanceKm[i][j] = d;
+                    distanceKm[j][i] = d;
+                }
+            }
+
+            minutesPerKm = 60.0 / options.getSpeedKmh();
+            serviceMinutes = options.getServiceTime().toSeconds() / 60.0;
+            windowMinutes = options.getWindowLength().toSeconds() / 60.0;
+            latePenalty = options.getLatePenaltyKmPerMinute();
+            startClock = Double.isNaN(earliest) ? 0 : earliest;
+        }
+
+        int[] identity() {
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            return order;
+        }
+
+        // Greedy tour from the earliest-booked stop, always driving to the closest unvisited one
+        int[] nearestNeighbour() {
+            int[] order = new int[size];
+            boolean[] visited = new boolean[size];
+            int current = 0;
+            visited[0] = true;
+            for (int k = 1; k < size; k++) {
+                int next = -1;
+                for (int j = 0; j < size; j++) {
+                    if (!visited[j] && (next < 0 || distanceKm[current][j] < distanceKm[current][next])) {
+                        next = j;
+                    }
+                }
+                order[k] = next;
+                visited[next] = true;
+                current = next;
+            }
+            return order;
+        }
+
+        double cost(int[] order) {
+            return distance(order) + latePenalty * lateness(order);
+        }
+
+        double distance(int[] order) {
+            double total = 0;
+            for (int k = 1; k < order.length; k++) {
+                total += distanceKm[order[k - 1]][order[k]];
+            }
+            return total;
+        }
+
+        // Total minutes past window close, simulating the day from the earliest window
+        double lateness(int[] order) {
+            double clock = startClock;
+            double late = 0;
+            for (int k = 0; k < order.length; k++) {
+                int stop = order[k];
+                if (k > 0) {
+                    clock += distanceKm[order[k - 1]][stop] * minutesPerKm;
+                }
+                double open = windowOpen[stop];
+                if (!Double.isNaN(open)) {
+                    if (clock < open) {
+                        clock = open;
+                    } else if (clock > open + windowMinutes) {
+                        late += clock - open - windowMinutes;
+                    }
+                }
+                clock += serviceMinutes;
+            }
+            return late;
+        }
+
+        // First-improvement local search; returns false if the deadline cut it short
+        boolean improve(int[] order, long deadline) {
+            int[] candidate = new int[size];
+            double best = cost(order);
+
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+
+                // 2-opt: reverse order[i..j]
+                for (int i = 0; i < size - 1 && !improved; i++) {
+                    if (System.nanoTime() > deadline) {
+                        return false;
+                    }
+                    for (int j = i + 1; j < size; j++) {
+                        System.arraycopy(order, 0, candidate, 0, size);
+                        reverse(candidate, i, j);
+                        double cost = cost(candidate);
+                        if (cost < best - EPSILON) {
+                            System.arraycopy(candidate, 0, order, 0, size);
+                            best = cost;
+                            improved = true;
+                            break;
+                        }
+                    }
+                }
+                if (improved) {
+                    continue;
+                }
+
+                // Or-opt: move a run of 1-3 stops elsewhere in the route
+                for (int length = 1; length <= MAX_OR_OPT_SEGMENT && !improved; length++) {
+                    for (int from = 0; from + length <= size && !improved; from++) {
+                        if (System.nanoTime() > deadline) {
+                            return false;
+                        }
+                        for (int to = 0; to <= size - length; to++) {
+                            if (to == from) {
+                                continue;
+                            }
+                            moveSegment(order, from, length, to, candidate);
+                            double cost = cost(candidate);
+                            if (cost < best - EPSILON) {
+                                System.arraycopy(candidate, 0, order, 0, size);
+                                best = cost;
+                                improved = true;
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static void reverse(int[] order, int i, int j) {
+            while (i < j) {
+                int tmp = order[i];
+                order[i++] = order[j];
+                order[j--] = tmp;
+            }
+        }
+
+        // dst = src with src[from, from+length) removed and re-inserted before position `to` of the remainder
+        private static void moveSegment(int[] src, int from, int length, int to, int[] dst) {
+            int written = 0;
+            int remaining = 0;
+            for (int s = 0; s < src.length; s++) {
+                if (s >= from && s < from + length) {
+                    continue;
+                }
+                if (remaining == to) {
+                    System.arraycopy(src, from, dst, written, length);
+                    written += length;
+                }
+                dst[written++] = src[s];
+                remaining++;
+            }
+            if (remaining == to) {
+                System.arraycopy(src, from, dst, written, length);
+            }
+        }
+    }
+}
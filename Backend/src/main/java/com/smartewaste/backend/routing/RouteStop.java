@@ -0,0 +1,38 @@
+package com.smartewaste.backend.routing;
+
+import java.time.LocalTime;
+
+/**
+ * One pickup on a personnel's day: where it is (may be unknown) and when the
+ * user expects the crew (start of its time window, may be unset).
+ */
+public class RouteStop {
+
+    private final Long requestId;
+    private final Double latitude;
+    private final Double longitude;
+    private final LocalTime windowStart;
+
+    public RouteStop(Long requestId, Double latitude, Double longitude, LocalTime windowStart) {
+        this.requestId = requestId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.windowStart = windowStart;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public LocalTime getWindowStart() {
+        return windowStart;
+    }
+}
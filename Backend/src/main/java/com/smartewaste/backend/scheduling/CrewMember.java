@@ -0,0 +1,37 @@
+package com.smartewaste.backend.scheduling;
+
+import java.util.Locale;
+
+/**
+ * Snapshot of an active Personnel row for one planning run.
+ */
+public class CrewMember {
+
+    private final Long personnelId;
+    private final String name;
+    private final String pincode;
+    private final String address; // lower-cased, for city matching
+
+    public CrewMember(Long personnelId, String name, String pincode, String address) {
+        this.personnelId = personnelId;
+        this.name = name;
+        this.pincode = Pincodes.normalize(pincode);
+        this.address = address == null ? "" : address.toLowerCase(Locale.ROOT);
+    }
+
+    public boolean servesCity(String city) {
+        return city != null && !city.isBlank() && address.contains(city.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public Long getPersonnelId() {
+        return personnelId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPincode() {
+        return pincode;
+    }
+}
@@ -0,0 +1,79 @@
+package com.smartewaste.backend.scheduling;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A PENDING collection request, reduced to what the planner and the
+ * confirmation email need. Built by a JPQL constructor expression.
+ */
+public class PendingPickup {
+
+    private final Long requestId;
+    private final String address;
+    private final String city;
+    private final LocalDate requestedDate;
+    private final LocalTime requestedTime;
+    private final LocalDateTime createdAt;
+    private final String userEmail;
+    private final String userName;
+
+    private final String pincode; // parsed from the address, null if none
+
+    public PendingPickup(
+            Long requestId,
+            String address,
+            String city,
+            LocalDate requestedDate,
+            LocalTime requestedTime,
+            LocalDateTime createdAt,
+            String userEmail,
+            String userName) {
+        this.requestId = requestId;
+        this.address = address;
+        this.city = city;
+        this.requestedDate = requestedDate;
+        this.requestedTime = requestedTime;
+        this.createdAt = createdAt;
+        this.userEmail = userEmail;
+        this.userName = userName;
+        this.pincode = Pincodes.extract(address);
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public LocalDate getRequestedDate() {
+        return requestedDate;
+    }
+
+    public LocalTime getRequestedTime() {
+        return requestedTime;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getPincode() {
+        return pincode;
+    }
+}
@@ -0,0 +1,200 @@
+package com.smartewaste.backend.scheduling;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Greedy pickup planner. Requests are taken oldest-first (by requested date,
+ * then creation time) and each goes to the least-loaded crew member in its
+ * area on the earliest day with room, in the free slot closest to the time
+ * the user asked for. "Area" is, in order of preference: same pincode, same
+ * 3-digit PIN district, crew address mentioning the user's city.
+ *
+ * Pure in-memory and single-threaded: one instance per planning run.
+ * Cost is O(n log n + n * areaCrew * slots) once each area's full days are
+ * skipped, which keeps tens of thousands of requests well under a second.
+ */
+public class PickupPlanner {
+
+    private static final Comparator<PendingPickup> FIFO = Comparator
+            .comparing(PendingPickup::getRequestedDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(PendingPickup::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(PendingPickup::getRequestId);
+
+    private final SchedulingOptions options;
+    private final List<CrewMember> crew;
+
+    private final Map<String, List<CrewMember>> byPincode = new HashMap<>();
+    private final Map<String, List<CrewMember>> byDistrict = new HashMap<>();
+    private final Map<String, List<CrewMember>> byCity = new HashMap<>(); // filled lazily
+    private final Map<Long, Day[]> calendars = new HashMap<>();
+
+    // Per candidate group: days before this index are full for every member.
+    // Days only ever fill up, so the cursor only moves forward.
+    private final Map<List<CrewMember>, int[]> firstOpenDay = new IdentityHashMap<>();
+
+    public PickupPlanner(SchedulingOptions options, List<CrewMember> crew) {
+        this.options = options;
+        this.crew = crew;
+
+        for (CrewMember member : crew) {
+            calendars.put(member.getPersonnelId(), newCalendar());
+            if (member.getPincode() != null) {
+                byPincode.computeIfAbsent(member.getPincode(), k -> new ArrayList<>()).add(member);
+                byDistrict.computeIfAbsent(Pincodes.district(member.getPincode()), k -> new ArrayList<>()).add(member);
+            }
+        }
+    }
+
+    /**
+     * Marks a slot as already taken (pickups scheduled before this run).
+     */
+    public void reserve(Long personnelId, LocalDate date, LocalTime time) {
+        Day[] calendar = calendars.get(personnelId);
+        int dayIndex = dayIndex(date);
+        if (calendar == null || dayIndex < 0 || dayIndex >= calendar.length) {
+            return;
+        }
+        calendar[dayIndex].take(options.slotOf(time));
+    }
+
+    public SchedulingPlan plan(List<PendingPickup> pending) {
+        List<PendingPickup> ordered = new ArrayList<>(pending);
+        ordered.sort(FIFO);
+
+        List<PlannedStop> stops = new ArrayList<>(ordered.size());
+        Map<Long, SchedulingPlan.Unplanned> unplanned = new LinkedHashMap<>();
+
+        for (PendingPickup pickup : ordered) {
+            List<CrewMember> candidates = candidatesFor(pickup);
+            if (candidates.isEmpty()) {
+                unplanned.put(pickup.getRequestId(), SchedulingPlan.Unplanned.NO_PERSONNEL_IN_AREA);
+                continue;
+            }
+
+            PlannedStop stop = place(pickup, candidates);
+            if (stop == null) {
+                unplanned.put(pickup.getRequestId(), SchedulingPlan.Unplanned.NO_CAPACITY);
+            } else {
+                stops.add(stop);
+            }
+        }
+
+        return new SchedulingPlan(stops, unplanned);
+    }
+
+    private PlannedStop place(PendingPickup pickup, List<CrewMember> candidates) {
+        int[] openFrom = firstOpenDay.computeIfAbsent(candidates, k -> new int[1]);
+        int firstDay = Math.max(openFrom[0], dayIndex(pickup.getRequestedDate()));
+        int preferredSlot = options.slotOf(pickup.getRequestedTime());
+
+        for (int d = firstDay; d < options.getHorizonDays(); d++) {
+            CrewMember best = null;
+            Day bestDay = null;
+
+            for (CrewMember member : candidates) {
+                Day day = calendars.get(member.getPersonnelId())[d];
+                if (day.hasRoom() && (bestDay == null || day.booked < bestDay.booked)) {
+                    best = member;
+                    bestDay = day;
+                }
+            }
+
+            if (best != null) {
+                int slot = bestDay.nearestFree(preferredSlot);
+                bestDay.take(slot);
+                return new PlannedStop(
+                        pickup,
+                        best,
+                        options.getStartDate().plusDays(d),
+                        options.slotTime(slot));
+            }
+            if (d == openFrom[0]) {
+                openFrom[0]++;
+            }
+        }
+        return null;
+    }
+
+    private List<CrewMember> candidatesFor(PendingPickup pickup) {
+        String pincode = pickup.getPincode();
+        if (pincode != null) {
+            List<CrewMember> local = byPincode.get(pincode);
+            if (local != null) {
+                return local;
+            }
+            List<CrewMember> district = byDistrict.get(Pincodes.district(pincode));
+            if (district != null) {
+                return district;
+            }
+        }
+
+        String city = pickup.getCity();
+        if (city == null || city.isBlank()) {
+            return List.of();
+        }
+        return byCity.computeIfAbsent(city.trim().toLowerCase(Locale.ROOT), key -> crew.stream()
+                .filter(member -> member.servesCity(key))
+                .toList());
+    }
+
+    private int dayIndex(LocalDate date) {
+        return date == null ? 0 : (int) ChronoUnit.DAYS.between(options.getStartDate(), date);
+    }
+
+    private Day[] newCalendar() {
+        Day[] days = new Day[options.getHorizonDays()];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = new Day(options.getSlotsPerDay(), options.getDailyCapacity());
+        }
+        return days;
+    }
+
+    // One crew member's day: which slots are taken, and how many stops in total
+    private static final class Day {
+
+        private final boolean[] taken;
+        private final int capacity;
+        private int booked;
+
+        private Day(int slots, int capacity) {
+            this.taken = new boolean[slots];
+            this.capacity = capacity;
+        }
+
+        boolean hasRoom() {
+            return booked < capacity && booked < taken.length;
+        }
+
+        void take(int slot) {
+            if (!taken[slot]) {
+                taken[slot] = true;
+            }
+            booked++;
+        }
+
+        // Closest free slot to the preferred one, earlier slot first on ties
+        int nearestFree(int preferred) {
+            for (int distance = 0; distance < taken.length; distance++) {
+                int before = preferred - distance;
+                if (before >= 0 && !taken[before]) {
+                    return before;
+                }
+                int after = preferred + distance;
+                if (after < taken.length && !taken[after]) {
+                    return after;
+                }
+            }
+            throw new IllegalStateException("No free slot");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.smartewaste.backend.scheduling;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Indian PIN codes: six digits, first digit 1-9. The first three digits
+ * identify the sorting district, which is used as the "nearby" fallback.
+ */
+public final class Pincodes {
+
+    private static final Pattern PINCODE = Pattern.compile("(?<!\\d)([1-9]\\d{2})\\s?(\\d{3})(?!\\d)");
+
+    private Pincodes() {
+    }
+
+    // Last PIN-like token wins: addresses usually end with "City - 411001"
+    public static String extract(String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = PINCODE.matcher(text);
+        String found = null;
+        while (matcher.find()) {
+            found = matcher.group(1) + matcher.group(2);
+        }
+        return found;
+    }
+
+    public static String normalize(String pincode) {
+        return extract(pincode);
+    }
+
+    public static String district(String pincode) {
+        return pincode == null ? null : pincode.substring(0, 3);
+    }
+}
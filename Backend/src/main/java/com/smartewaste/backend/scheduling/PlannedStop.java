@@ -0,0 +1,35 @@
+package com.smartewaste.backend.scheduling;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class PlannedStop {
+
+    private final PendingPickup pickup;
+    private final CrewMember crew;
+    private final LocalDate date;
+    private final LocalTime time;
+
+    public PlannedStop(PendingPickup pickup, CrewMember crew, LocalDate date, LocalTime time) {
+        this.pickup = pickup;
+        this.crew = crew;
+        this.date = date;
+        this.time = time;
+    }
+
+    public PendingPickup getPickup() {
+        return pickup;
+    }
+
+    public CrewMember getCrew() {
+        return crew;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+}
@@ -0,0 +1,66 @@
+package com.smartewaste.backend.scheduling;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class SchedulingOptions {
+
+    private final LocalDate startDate;
+    private final int horizonDays;
+    private final int dailyCapacity;
+    private final int slotsPerDay;
+    private final LocalTime dayStart;
+    private final Duration slotLength;
+
+    public SchedulingOptions(
+            LocalDate startDate,
+            int horizonDays,
+            int dailyCapacity,
+            LocalTime dayStart,
+            LocalTime dayEnd,
+            Duration slotLength) {
+        if (horizonDays < 1 || dailyCapacity < 1 || slotLength.isZero() || slotLength.isNegative()) {
+            throw new IllegalArgumentException("Invalid scheduling options");
+        }
+        int slotsInDay = (int) (Duration.between(dayStart, dayEnd).toMinutes() / slotLength.toMinutes());
+        if (slotsInDay < 1) {
+            throw new IllegalArgumentException("Working day is shorter than one slot");
+        }
+        this.startDate = startDate;
+        this.horizonDays = horizonDays;
+        this.slotsPerDay = slotsInDay;
+        this.dailyCapacity = Math.min(dailyCapacity, slotsInDay); // can't visit more stops than slots
+        this.dayStart = dayStart;
+        this.slotLength = slotLength;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    public int getDailyCapacity() {
+        return dailyCapacity;
+    }
+
+    public int getSlotsPerDay() {
+        return slotsPerDay;
+    }
+
+    public LocalTime slotTime(int slot) {
+        return dayStart.plus(slotLength.multipliedBy(slot));
+    }
+
+    // Slot whose start is closest to the given time (0 when no preference)
+    public int slotOf(LocalTime time) {
+        if (time == null || time.isBefore(dayStart)) {
+            return 0;
+        }
+        long minutes = Duration.between(dayStart, time).toMinutes();
+        return (int) Math.min(slotsPerDay - 1, Math.round((double) minutes / slotLength.toMinutes()));
+    }
+}
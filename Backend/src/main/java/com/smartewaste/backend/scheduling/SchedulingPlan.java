@@ -0,0 +1,28 @@
+package com.smartewaste.backend.scheduling;
+
+import java.util.List;
+import java.util.Map;
+
+public class SchedulingPlan {
+
+    public enum Unplanned {
+        NO_PERSONNEL_IN_AREA, // nobody with the same pincode, district or city
+        NO_CAPACITY           // area is covered but every slot in the horizon is taken
+    }
+
+    private final List<PlannedStop> stops;
+    private final Map<Long, Unplanned> unplanned; // request id -> reason
+
+    public SchedulingPlan(List<PlannedStop> stops, Map<Long, Unplanned> unplanned) {
+        this.stops = stops;
+        this.unplanned = unplanned;
+    }
+
+    public List<PlannedStop> getStops() {
+        return stops;
+    }
+
+    public Map<Long, Unplanned> getUnplanned() {
+        return unplanned;
+    }
+}
@@ -0,0 +1,177 @@
+package com.smartewaste.backend.search;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.Scorable;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts every matching document by a few low-cardinality keyword
+ * dimensions (type, status, device type).
+ *
+ * All dimensions of a document are packed into one SortedDocValues field
+ * (see {@link #pack}), so counting costs one doc-values lookup and one int
+ * increment per hit whatever the number of dimensions; a field per
+ * dimension made counting several times slower than the query itself.
+ * Packed values are split into per-dimension counts once, at reduce time,
+ * over the few hundred distinct combinations.
+ */
+public class FacetCounter implements CollectorManager<FacetCounter.Counting, FacetCounter.Result> {
+
+    private static final char SEPARATOR = '\u001f';
+
+    private final String field;
+    private final List<String> dimensions;
+
+    public FacetCounter(String field, List<String> dimensions) {
+        this.field = field;
+        this.dimensions = dimensions;
+    }
+
+    // Doc-values value for one document; null for a dimension it does not have
+    public static BytesRef pack(String... values) {
+        StringBuilder packed = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                packed.append(SEPARATOR);
+            }
+            if (values[i] != null) {
+                packed.append(values[i].replace(SEPARATOR, ' '));
+            }
+        }
+        return new BytesRef(packed.toString());
+    }
+
+    @Override
+    public Counting newCollector() {
+        return new Counting(field);
+    }
+
+    @Override
+    public Result reduce(Collection<Counting> collectors) throws IOException {
+        long total = 0;
+        Map<String, Long> combinations = new HashMap<>();
+        for (Counting collector : collectors) {
+            total += collector.total;
+            for (Segment segment : collector.segments) {
+                for (int ord = 0; ord < segment.counts.length; ord++) {
+                    if (segment.counts[ord] > 0) {
+                        combinations.merge(segment.values.lookupOrd(ord).utf8ToString(),
+                                (long) segment.counts[ord], Long::sum);
+                    }
+                }
+            }
+        }
+
+        List<Map<String, Long>> counts = new ArrayList<>();
+        for (int d = 0; d < dimensions.size(); d++) {
+            counts.add(new HashMap<>());
+        }
+        combinations.forEach((packed, count) -> {
+            String[] values = packed.split(String.valueOf(SEPARATOR), -1);
+            for (int d = 0; d < dimensions.size() && d < values.length; d++) {
+                if (!values[d].isEmpty()) {
+                    counts.get(d).merge(values[d], count, Long::sum);
+                }
+            }
+        });
+
+        // Largest first, ties by name, so the response is stable
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (int d = 0; d < dimensions.size(); d++) {
+            Map<String, Long> sorted = new LinkedHashMap<>();
+            counts.get(d).entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+            facets.put(dimensions.get(d), sorted);
+        }
+        return new Result(total, facets);
+    }
+
+    // ================= COLLECTOR =================
+
+    public static class Counting implements Collector {
+
+        private final String field;
+        private final List<Segment> segments = new ArrayList<>();
+        private long total;
+
+        Counting(String field) {
+            this.field = field;
+        }
+
+        @Override
+        public LeafCollector getLeafCollector(LeafReaderContext context) throws IOException {
+            SortedDocValues values = DocValues.getSorted(context.reader(), field);
+            Segment segment = new Segment(values);
+            segments.add(segment);
+            int[] counts = segment.counts;
+
+            return new LeafCollector() {
+                @Override
+                public void setScorer(Scorable scorer) {
+                }
+
+                @Override
+                public void collect(int doc) throws IOException {
+                    total++;
+                    if (values.advanceExact(doc)) {
+                        counts[values.ordValue()]++;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+    }
+
+    private static final class Segment {
+
+        final SortedDocValues values;
+        final int[] counts;
+
+        Segment(SortedDocValues values) {
+            this.values = values;
+            this.counts = new int[values.getValueCount()];
+        }
+    }
+
+    // ================= RESULT =================
+
+    public static class Result {
+
+        private final long total;
+        private final Map<String, Map<String, Long>> facets;
+
+        Result(long total, Map<String, Map<String, Long>> facets) {
+            this.total = total;
+            this.facets = facets;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public Map<String, Map<String, Long>> getFacets() {
+            return facets;
+        }
+    }
+}
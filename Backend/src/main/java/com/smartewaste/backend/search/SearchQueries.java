@@ -0,0 +1,143 @@
+package com.smartewaste.backend.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Turns the search box text into a Lucene query. Every word must match,
+ * either exactly or within one or two typos ("samsnug"); the last word may
+ * also be the start of an indexed word (typing "sams" finds "Samsung"). Hits
+ * rank by how many words they match exactly; equal hits keep index order.
+ * Words with digits (phone numbers, model codes, PIN codes) are never
+ * fuzzy: "M4243" is a different model, not a typo, and expanding them was
+ * the slowest part of a query. Keyword filters are added as non-scoring
+ * clauses.
+ *
+ * Prefixes of up to {@link #MAX_INDEXED_PREFIX} characters are indexed as
+ * terms of their own (see {@link #prefixes}), so the word being typed is one
+ * term lookup: expanding "m1" over the model codes meant thousands of terms.
+ */
+public final class SearchQueries {
+
+    private static final float EXACT_BOOST = 4f;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    public static final int MAX_INDEXED_PREFIX = 10;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int TWO_EDITS_LENGTH = 8;
+    private static final int FUZZY_PREFIX_LENGTH = 1; // first letter must be right; keeps the automaton small
+    private static final int FUZZY_MAX_EXPANSIONS = 50;
+
+    private SearchQueries() {
+    }
+
+    // Blank text matches everything (browse by filters / facets only). Every typo clause goes through
+    // typos, which may return it rewritten (expanded to the index's terms) from a cache.
+    public static Query build(Analyzer analyzer, String field, String prefixField, String text, int maxTerms,
+                              Map<String, String> filters, UnaryOperator<Query> typos) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+
+        List<String> words = text == null ? List.of() : analyze(analyzer, field, text, maxTerms);
+        if (words.isEmpty()) {
+            query.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        for (int i = 0; i < words.size(); i++) {
+            Term term = new Term(field, words.get(i));
+            // Every hit matches every word, so matching contributes nothing to the ranking: a
+            // non-scoring clause. Scoring it anyway doubled the cost of multi-word queries.
+            query.add(matchQuery(term, prefixField, i == words.size() - 1, typos), BooleanClause.Occur.FILTER);
+            // Optional: ranks exact words above prefix / typo matches. Constant rather than BM25:
+            // once a page is full of hits matching every word exactly nothing can beat them, so
+            // ranking stops there instead of scoring every match (most of a common query's cost).
+            query.add(new BoostQuery(new ConstantScoreQuery(new TermQuery(term)), EXACT_BOOST),
+                    BooleanClause.Occur.SHOULD);
+        }
+
+        filters.forEach((name, value) -> {
+            if (value != null) {
+                query.add(new TermQuery(new Term(name, value)), BooleanClause.Occur.FILTER);
+            }
+        });
+        return query.build();
+    }
+
+    // Which documents the word matches. Only the last word, the one still being typed, is a prefix;
+    // a short prefix like "m2" expands to thousands of terms.
+    private static Query matchQuery(Term term, String prefixField, boolean last, UnaryOperator<Query> typos) {
+        int length = term.text().length();
+        boolean prefix = last && length >= MIN_PREFIX_LENGTH;
+        boolean fuzzy = length >= MIN_FUZZY_LENGTH && !hasDigit(term.text());
+        if (!prefix && !fuzzy) {
+            return new TermQuery(term);
+        }
+
+        BooleanQuery.Builder alternatives = new BooleanQuery.Builder();
+        if (prefix) {
+            alternatives.add(length <= MAX_INDEXED_PREFIX
+                    ? new TermQuery(new Term(prefixField, term.text()))
+                    : new PrefixQuery(term), BooleanClause.Occur.SHOULD);
+        }
+        if (fuzzy) { // also matches the exact word
+            int maxEdits = length >= TWO_EDITS_LENGTH ? 2 : 1;
+            alternatives.add(typos.apply(new FuzzyQuery(term, maxEdits, FUZZY_PREFIX_LENGTH, FUZZY_MAX_EXPANSIONS, true)),
+                    BooleanClause.Occur.SHOULD);
+        }
+        return alternatives.build();
+    }
+
+    private static boolean hasDigit(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.isDigit(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Index side of the prefix lookup: the leading 2..MAX_INDEXED_PREFIX characters of every word
+    public static Set<String> prefixes(Analyzer analyzer, String field, String text) {
+        Set<String> prefixes = new HashSet<>();
+        for (String word : analyze(analyzer, field, text, Integer.MAX_VALUE)) {
+            for (int length = MIN_PREFIX_LENGTH; length <= Math.min(word.length(), MAX_INDEXED_PREFIX); length++) {
+                prefixes.add(word.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+
+    // Same analyzer as indexing, so "Dell-XPS" and "dell xps" both become [dell, xps]
+    private static List<String> analyze(Analyzer analyzer, String field, String text, int maxTerms) {
+        List<String> words = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(field, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (words.size() < maxTerms && tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // string input, cannot happen
+        }
+        return words;
+    }
+}
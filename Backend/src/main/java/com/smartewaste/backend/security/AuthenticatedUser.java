@@ -0,0 +1,58 @@
+package com.smartewaste.backend.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Principal placed in the security context by JwtAuthenticationFilter. Carries
+ * the account id from the token's "uid" claim so services can go straight to
+ * id-keyed queries instead of looking the caller up by email. {@link #getName()}
+ * is still the JWT subject, so Principal.getName() callers are unaffected.
+ */
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private final Long id; // null for tokens issued before the uid claim existed
+    private final String username;
+    private final List<String> roles;
+
+    public AuthenticatedUser(Long id, String username, List<String> roles) {
+        this.id = id;
+        this.username = username;
+        this.roles = List.copyOf(roles);
+    }
+
+    // Works for any authentication, e.g. HTTP Basic where the principal is a UserDetails
+    public static AuthenticatedUser of(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return new AuthenticatedUser(
+                null,
+                authentication.getName(),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
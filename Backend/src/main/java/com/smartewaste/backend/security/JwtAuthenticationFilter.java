@@ -1,27 +1,41 @@
 package com.smartewaste.backend.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    // Time spent resolving bearer tokens (cache lookup or signature check), by outcome
+    private final Timer validTokens;
+    private final Timer invalidTokens;
+
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache, MeterRegistry meterRegistry) {
+        this.tokenCache = tokenCache;
+        this.validTokens = tokenTimer(meterRegistry, "valid");
+        this.invalidTokens = tokenTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer tokenTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("security.jwt.authentication")
+                .description("Bearer token resolution in JwtAuthenticationFilter")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @Override
@@ -51,21 +65,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-
-                String username = jwtUtil.extractUsername(token);
-                String role = jwtUtil.getClaims(token).get("role", String.class);
+            // ✅ Single parse; repeat tokens are served from the verified-token cache
+            long start = System.nanoTime();
+            VerifiedToken verified = tokenCache.resolve(token);
+            (verified != null ? validTokens : invalidTokens).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-                // ✅ CRITICAL FIX: enforce ROLE_ prefix
-                if (!role.startsWith("ROLE_")) {
-                    role = "ROLE_" + role;
-                }
+            if (verified != null) {
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
-                                username,
+                                verified.getPrincipal(), // ✅ id + roles, no DB lookup downstream
                                 null,
-                                List.of(new SimpleGrantedAuthority(role))
+                                verified.getAuthorities()
                         );
 
                 authentication.setDetails(
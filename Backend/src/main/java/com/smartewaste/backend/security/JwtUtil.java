@@ -18,34 +18,52 @@ public class JwtUtil {
 
     private final long EXPIRATION_TIME = 24 * 60 * 60 * 1000;
 
+    // Account id, so the filter can build the principal without a DB lookup
+    public static final String USER_ID_CLAIM = "uid";
+
+    // ✅ Parsers are immutable and thread-safe: build once, not per call
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
     public String generateToken(String username, String role) {
+        return generateToken(username, role, null);
+    }
+
+    public String generateToken(String username, String role, Long userId) {
         return Jwts.builder()
                 .setSubject(username)
                 .claim("role", role) // ROLE_ADMIN or ROLE_USER
+                .claim(USER_ID_CLAIM, userId) // null values are not written
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Parses and verifies the token exactly once.
+     *
+     * @throws JwtException if the signature is invalid, the token is malformed or expired
+     */
+    public Claims parseVerified(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
     public boolean validateToken(String token) {
         try {
-            getClaims(token);
+            parseVerified(token);
             return true;
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
     public String extractUsername(String token) {
-        return getClaims(token).getSubject();
+        return parseVerified(token).getSubject();
     }
 
     public Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseVerified(token);
     }
 }
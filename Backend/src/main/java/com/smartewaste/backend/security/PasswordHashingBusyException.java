@@ -0,0 +1,11 @@
+package com.smartewaste.backend.security;
+
+/**
+ * Thrown when the password hashing pool is saturated; surfaces as HTTP 429.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many login attempts in progress. Please retry shortly.");
+    }
+}
@@ -0,0 +1,71 @@
+package com.smartewaste.backend.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What the filter needs from a JWT once its signature has been checked:
+ * the principal (name + account id), its authorities and when the token stops being valid.
+ */
+public class VerifiedToken {
+
+    private final AuthenticatedUser principal;
+    private final List<GrantedAuthority> authorities;
+    private final Instant expiresAt; // null when the token carries no exp claim
+
+    public VerifiedToken(AuthenticatedUser principal, List<GrantedAuthority> authorities, Instant expiresAt) {
+        this.principal = principal;
+        this.authorities = List.copyOf(authorities);
+        this.expiresAt = expiresAt;
+    }
+
+    public static VerifiedToken fromClaims(Claims claims) {
+        String role = claims.get("role", String.class);
+
+        List<GrantedAuthority> authorities;
+        if (role == null || role.isBlank()) {
+            authorities = List.of();
+        } else {
+            // ✅ CRITICAL FIX: enforce ROLE_ prefix
+            if (!role.startsWith("ROLE_")) {
+                role = "ROLE_" + role;
+            }
+            authorities = List.of(new SimpleGrantedAuthority(role));
+        }
+
+        Number uid = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+        AuthenticatedUser principal = new AuthenticatedUser(
+                uid != null ? uid.longValue() : null,
+                claims.getSubject(),
+                authorities.stream().map(GrantedAuthority::getAuthority).toList());
+
+        return new VerifiedToken(
+                principal,
+                authorities,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    public AuthenticatedUser getPrincipal() {
+        return principal;
+    }
+
+    public String getUsername() {
+        return principal.getName();
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,121 @@
+package com.smartewaste.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, so a
+ * client repeating the same bearer token skips HMAC verification and JSON
+ * parsing. Entries never outlive the token's own exp claim. Only successful
+ * verifications are cached; a bad token is rejected by the parser every time.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(
+            JwtUtil jwtUtil,
+            @Value("${security.jwt.cache.max-size:10000}") long maxSize,
+            @Value("${security.jwt.cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+        this.jwtUtil = jwtUtil;
+
+        Duration maxTtl = Duration.ofSeconds(maxTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtl))
+                .build();
+    }
+
+    /**
+     * Returns the verified token, or null if it is invalid or expired.
+     */
+    public VerifiedToken resolve(String token) {
+        String cacheKey = hash(token);
+        Instant now = Instant.now();
+
+        VerifiedToken cached = cache.getIfPresent(cacheKey);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            cache.invalidate(cacheKey);
+            return null;
+        }
+
+        VerifiedToken verified;
+        try {
+            verified = VerifiedToken.fromClaims(jwtUtil.parseVerified(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        if (verified.getUsername() == null || verified.isExpired(now)) {
+            return null;
+        }
+        cache.put(cacheKey, verified);
+        return verified;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // Keyed by digest so the cache never holds live bearer tokens
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        private final Duration maxTtl;
+
+        private TokenExpiry(Duration maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.getExpiresAt() == null) {
+                return maxTtl.toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), value.getExpiresAt());
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return Math.min(remaining.toNanos(), maxTtl.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -7,12 +7,13 @@ import com.smartewaste.backend.entity.UserAccount;
 import com.smartewaste.backend.enums.UserStatus;
 import com.smartewaste.backend.repository.UserAccountRepository;
 import com.smartewaste.backend.security.JwtUtil;
+import com.smartewaste.backend.security.PasswordHasher;
 
-import org.springframework.security.authentication.AuthenticationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -21,21 +22,23 @@ import java.util.UUID;
 @Service
 public class AuthService {
 
-        private final AuthenticationManager authenticationManager;
+        private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
         private final UserAccountRepository userRepository;
-        private final PasswordEncoder passwordEncoder;
+        private final PasswordHasher passwordHasher;
         private final JwtUtil jwtUtil;
         private final EmailService emailService;
 
+        // Hash checked when no account matches, so unknown logins take as long as wrong passwords
+        private volatile String dummyHash;
+
         public AuthService(
-                        AuthenticationManager authenticationManager,
                         UserAccountRepository userRepository,
-                        PasswordEncoder passwordEncoder,
+                        PasswordHasher passwordHasher,
                         JwtUtil jwtUtil,
                         EmailService emailService) {
-                this.authenticationManager = authenticationManager;
                 this.userRepository = userRepository;
-                this.passwordEncoder = passwordEncoder;
+                this.passwordHasher = passwordHasher;
                 this.jwtUtil = jwtUtil;
                 this.emailService = emailService;
         }
@@ -46,15 +49,24 @@ public class AuthService {
                 String loginInput = request.getUsername();
 
                 try {
-                        authenticationManager.authenticate(
-                                        new UsernamePasswordAuthenticationToken(
-                                                        loginInput,
-                                                        request.getPassword()));
-
+                        // ✅ Single lookup; the password check runs on the bounded hashing pool
                         UserAccount user = userRepository
-                                        .findByUsernameIgnoreCase(loginInput)
-                                        .or(() -> userRepository.findByEmailIgnoreCase(loginInput))
-                                        .orElseThrow(() -> new BadCredentialsException("User not found"));
+                                        .findByUsernameOrEmailIgnoreCase(loginInput)
+                                        .orElse(null);
+
+                        if (user == null) {
+                                passwordHasher.matches(nullToEmpty(request.getPassword()), dummyHash());
+                                throw new BadCredentialsException("User not found");
+                        }
+
+                        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
+                                throw new BadCredentialsException("Bad credentials");
+                        }
+
+                        // ✅ Transparent upgrade when the configured algorithm / cost changed
+                        if (passwordHasher.needsRehash(user.getPassword())) {
+                                userRepository.updatePassword(user.getId(), passwordHasher.encode(request.getPassword()));
+                        }
 
                         // ✅ CORRECT STATUS CHECK
                         if (user.getStatus() != UserStatus.VERIFIED) {
@@ -71,7 +83,7 @@ public class AuthService {
                                         .findFirst()
                                         .orElse(user.getRoles().stream().findFirst().orElse("ROLE_USER"));
 
-                        String token = jwtUtil.generateToken(user.getUsername(), role);
+                        String token = jwtUtil.generateToken(user.getUsername(), role, user.getId());
 
                         return new LoginResponse(
                                         true,
@@ -90,7 +102,22 @@ public class AuthService {
                 }
         }
 
+        private String dummyHash() {
+                String hash = dummyHash;
+                if (hash == null) {
+                        // Encoded with the configured algorithm and cost, so the check costs the same
+                        hash = passwordHasher.encode(UUID.randomUUID().toString());
+                        dummyHash = hash;
+                }
+                return hash;
+        }
+
+        private static String nullToEmpty(String value) {
+                return value == null ? "" : value;
+        }
+
         // ✅ TEMP PASSWORD RESET
+        @Transactional
         public void resetPassword(ResetPasswordRequest request) {
 
                 UserAccount user = userRepository
@@ -101,19 +128,15 @@ public class AuthService {
                         throw new IllegalStateException("Password reset not required");
                 }
 
-                System.out.println("\n--- DEBUG RESET PASSWORD ---");
-                System.out.println("User: " + user.getUsername());
-                System.out.println("Input Temp Pass: " + request.getTempPassword());
-                System.out.println("Stored Hash: " + user.getPassword());
-                boolean matches = passwordEncoder.matches(request.getTempPassword(), user.getPassword());
-                System.out.println("Matches: " + matches);
+                // ✅ Never log the submitted password or the stored hash
+                boolean matches = passwordHasher.matches(request.getTempPassword(), user.getPassword());
 
                 if (!matches) {
-                        System.err.println("❌ MATCH FAILED");
+                        log.debug("Temporary password mismatch for {}", user.getUsername());
                         throw new BadCredentialsException("Temporary password incorrect");
                 }
 
-                user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+                user.setPassword(passwordHasher.encode(request.getNewPassword()));
                 user.setMustResetPassword(false);
 
                 userRepository.save(user);
@@ -124,6 +147,7 @@ public class AuthService {
         }
 
         // ✅ FORGOT PASSWORD
+        @Transactional
         public void forgotPassword(String email, String frontendUrl) {
 
                 UserAccount user = userRepository
@@ -143,6 +167,7 @@ public class AuthService {
         }
 
         // ✅ RESET PASSWORD USING EMAIL TOKEN
+        @Transactional
         public void resetPasswordWithToken(String email, String token, String newPassword) {
 
                 UserAccount user = userRepository
@@ -155,7 +180,7 @@ public class AuthService {
                         throw new RuntimeException("Invalid or expired reset token");
                 }
 
-                user.setPassword(passwordEncoder.encode(newPassword));
+                user.setPassword(passwordHasher.encode(newPassword));
                 user.setResetToken(null);
                 user.setResetTokenExpiry(null);
                 user.setMustResetPassword(false);
@@ -0,0 +1,13 @@
+package com.smartewaste.backend.service;
+
+/**
+ * Thrown when an auto-scheduling run is requested while another one is still
+ * planning or committing. Surfaces as HTTP 409; the caller can retry once the
+ * running plan has finished.
+ */
+public class AutoSchedulingInProgressException extends RuntimeException {
+
+    public AutoSchedulingInProgressException() {
+        super("Auto-scheduling is already running");
+    }
+}
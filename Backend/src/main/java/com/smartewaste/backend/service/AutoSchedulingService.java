@@ -0,0 +1,213 @@
+package com.smartewaste.backend.service;
+
+import com.smartewaste.backend.dto.AutoScheduleResult;
+import com.smartewaste.backend.entity.EmailOutbox;
+import com.smartewaste.backend.entity.Personnel;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.repository.CollectionRequestRepository;
+import com.smartewaste.backend.repository.PersonnelRepository;
+import com.smartewaste.backend.scheduling.CrewMember;
+import com.smartewaste.backend.scheduling.PendingPickup;
+import com.smartewaste.backend.scheduling.PickupPlanner;
+import com.smartewaste.backend.scheduling.PlannedStop;
+import com.smartewaste.backend.scheduling.SchedulingOptions;
+import com.smartewaste.backend.scheduling.SchedulingPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Turns the PENDING backlog into scheduled pickups in one run: load the
+ * backlog and crew with two projection queries, plan in memory with
+ * {@link PickupPlanner}, then write every assignment and its notification with
+ * JDBC batches in one transaction. The UPDATE is guarded on status = 'PENDING',
+ * so requests changed by an admin mid-run are skipped rather than overwritten.
+ */
+@Service
+public class AutoSchedulingService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutoSchedulingService.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String ASSIGN_SQL =
+            "UPDATE collection_requests SET status = ?, personnel_id = ?, pickup_personnel = ?, "
+                    + "pickup_date = ?, pickup_time = ?, version = version + 1 WHERE id = ? AND status = ?";
+
+    private final CollectionRequestRepository requestRepository;
+    private final PersonnelRepository personnelRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailService emailService;
+    private final RequestLocationIndex locationIndex;
+    private final RequestEventRecorder eventRecorder;
+    private final DashboardStatsService dashboardStats;
+    private final SearchIndexService searchIndex;
+
+    private final int horizonDays;
+    private final int dailyCapacity;
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+    private final Duration slotLength;
+
+    // One run at a time; a second caller gets an error instead of a conflicting plan
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AutoSchedulingService(
+            CollectionRequestRepository requestRepository,
+            PersonnelRepository personnelRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EmailService emailService,
+            RequestLocationIndex locationIndex,
+            RequestEventRecorder eventRecorder,
+            DashboardStatsService dashboardStats,
+            SearchIndexService searchIndex,
+            @Value("${scheduling.horizon-days:14}") int horizonDays,
+            @Value("${scheduling.daily-capacity:12}") int dailyCapacity,
+            @Value("${scheduling.day-start:09:00}") LocalTime dayStart,
+            @Value("${scheduling.day-end:18:00}") LocalTime dayEnd,
+            @Value("${scheduling.slot-minutes:45}") int slotMinutes) {
+        this.requestRepository = requestRepository;
+        this.personnelRepository = personnelRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.emailService = emailService;
+        this.locationIndex = locationIndex;
+        this.eventRecorder = eventRecorder;
+        this.dashboardStats = dashboardStats;
+        this.searchIndex = searchIndex;
+        this.horizonDays = horizonDays;
+        this.dailyCapacity = dailyCapacity;
+        this.dayStart = dayStart;
+        this.dayEnd = dayEnd;
+        this.slotLength = Duration.ofMinutes(slotMinutes);
+    }
+
+    public AutoScheduleResult run(LocalDate fromDate, boolean dryRun, boolean notify) {
+        if (!running.compareAndSet(false, true)) {
+            throw new AutoSchedulingInProgressException();
+        }
+        try {
+            return doRun(fromDate, dryRun, notify);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private AutoScheduleResult doRun(LocalDate fromDate, boolean dryRun, boolean notify) {
+        long started = System.nanoTime();
+
+        SchedulingOptions options = new SchedulingOptions(
+                fromDate, horizonDays, dailyCapacity, dayStart, dayEnd, slotLength);
+
+        List<CrewMember> crew = new ArrayList<>();
+        for (Personnel p : personnelRepository.findByActiveTrue()) {
+            crew.add(new CrewMember(p.getId(), p.getName(), p.getPincode(), p.getAddress()));
+        }
+
+        PickupPlanner planner = new PickupPlanner(options, crew);
+        for (Object[] booked : requestRepository.findBookedSlots(fromDate, fromDate.plusDays(horizonDays - 1))) {
+            planner.reserve((Long) booked[0], (LocalDate) booked[1], (LocalTime) booked[2]);
+        }
+
+        List<PendingPickup> pending = requestRepository.findPendingPickups();
+        SchedulingPlan plan = planner.plan(pending);
+        long planned = System.nanoTime();
+
+        int committed = dryRun ? 0 : commit(plan.getStops(), notify);
+        long finished = System.nanoTime();
+
+        Map<Long, Integer> stopsByPersonnel = new TreeMap<>();
+        for (PlannedStop stop : plan.getStops()) {
+            stopsByPersonnel.merge(stop.getCrew().getPersonnelId(), 1, Integer::sum);
+        }
+
+        long noPersonnel = plan.getUnplanned().values().stream()
+                .filter(reason -> reason == SchedulingPlan.Unplanned.NO_PERSONNEL_IN_AREA)
+                .count();
+
+        AutoScheduleResult result = new AutoScheduleResult(
+                dryRun,
+                fromDate,
+                pending.size(),
+                plan.getStops().size(),
+                committed,
+                (int) noPersonnel,
+                plan.getUnplanned().size() - (int) noPersonnel,
+                stopsByPersonnel,
+                Duration.ofNanos(planned - started).toMillis(),
+                Duration.ofNanos(finished - planned).toMillis());
+
+        log.info("Auto-schedule from {}: {} pending, {} planned, {} committed{} ({} ms plan, {} ms commit)",
+                fromDate, result.getPending(), result.getPlanned(), result.getCommitted(),
+                dryRun ? " [dry run]" : "", result.getPlanningMillis(), result.getCommitMillis());
+        return result;
+    }
+
+    private int commit(List<PlannedStop> stops, boolean notify) {
+        if (stops.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> applied = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            int[][] counts = jdbcTemplate.batchUpdate(ASSIGN_SQL, stops, BATCH_SIZE, (ps, stop) -> {
+                ps.setString(1, RequestStatus.IN_PROGRESS.name());
+                ps.setLong(2, stop.getCrew().getPersonnelId());
+                ps.setString(3, stop.getCrew().getName());
+                ps.setDate(4, Date.valueOf(stop.getDate()));
+                ps.setTime(5, Time.valueOf(stop.getTime()));
+                ps.setLong(6, stop.getPickup().getRequestId());
+                ps.setString(7, RequestStatus.PENDING.name());
+            });
+
+            List<EmailOutbox> emails = new ArrayList<>();
+            int index = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    PlannedStop stop = stops.get(index++);
+                    // Drivers that rewrite batches report SUCCESS_NO_INFO instead of a row count
+                    if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                        applied.add(stop.getPickup().getRequestId());
+                        eventRecorder.record(stop.getPickup().getRequestId(), RequestStatus.PENDING,
+                                RequestStatus.IN_PROGRESS, "Auto-scheduled for " + stop.getDate() + " "
+                                        + stop.getTime() + " with " + stop.getCrew().getName());
+                        dashboardStats.requestTransitioned(RequestStatus.PENDING, RequestStatus.IN_PROGRESS, null);
+                        if (notify) {
+                            emails.add(emailService.pickupScheduledEmail(
+                                    stop.getPickup().getUserEmail(),
+                                    stop.getPickup().getUserName(),
+                                    stop.getDate(),
+                                    stop.getTime(),
+                                    stop.getCrew().getName()));
+                        }
+                    }
+                }
+            }
+
+            // Outbox rows, same transaction: no mail for a plan that rolls back
+            emailService.enqueueAll(emails);
+        });
+
+        // Index mirrors committed state only
+        applied.forEach(id -> locationIndex.updateStatus(id, RequestStatus.IN_PROGRESS));
+        searchIndex.requestsChanged(applied);
+        return applied.size();
+    }
+}
@@ -0,0 +1,244 @@
+package com.smartewaste.backend.service;
+
+import com.smartewaste.backend.dto.BulkStatusUpdateRequest;
+import com.smartewaste.backend.dto.BulkStatusUpdateResult;
+import com.smartewaste.backend.dto.BulkStatusUpdateResult.ItemResult;
+import com.smartewaste.backend.dto.BulkStatusUpdateResult.Outcome;
+import com.smartewaste.backend.dto.RequestStatusSnapshot;
+import com.smartewaste.backend.entity.EmailOutbox;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.repository.CollectionRequestRepository;
+import com.smartewaste.backend.repository.PersonnelRepository;
+import com.smartewaste.backend.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies many status changes in one call (end-of-shift sync). Everything
+ * runs in one transaction: one snapshot query per 1000 ids, one JDBC batch
+ * of guarded UPDATEs and one outbox write for the notifications. Every
+ * item gets its own outcome, and a bad item never fails the others.
+ *
+ * The UPDATE carries the status and version that were validated
+ * ({@code WHERE id = ? AND status = ? AND version = ?}). A row changed
+ * concurrently updates nothing and is reported as CONFLICT instead of being
+ * overwritten; so is an item whose optional version is already stale.
+ * When the driver reports no row counts, the affected rows are re-read once
+ * to tell the two apart.
+ */
+@Service
+public class BulkStatusUpdateService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String UPDATE_SQL =
+            "UPDATE collection_requests SET status = ?, version = version + 1 WHERE id = ? AND status = ? AND version = ?";
+
+    private static final String DEFAULT_REJECT_REASON = "No reason provided.";
+
+    private final CollectionRequestRepository requestRepository;
+    private final PersonnelRepository personnelRepository;
+    private final UserCache userCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailService emailService;
+    private final RequestLocationIndex locationIndex;
+    private final RequestEventRecorder eventRecorder;
+    private final DashboardStatsService dashboardStats;
+    private final SearchIndexService searchIndex;
+    private final int maxItems;
+
+    public BulkStatusUpdateService(
+            CollectionRequestRepository requestRepository,
+            PersonnelRepository personnelRepository,
+            UserCache userCache,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EmailService emailService,
+            RequestLocationIndex locationIndex,
+            RequestEventRecorder eventRecorder,
+            DashboardStatsService dashboardStats,
+            SearchIndexService searchIndex,
+            @Value("${collection.bulk-status.max-items:1000}") int maxItems) {
+        this.requestRepository = requestRepository;
+        this.personnelRepository = personnelRepository;
+        this.userCache = userCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.emailService = emailService;
+        this.locationIndex = locationIndex;
+        this.eventRecorder = eventRecorder;
+        this.dashboardStats = dashboardStats;
+        this.searchIndex = searchIndex;
+        this.maxItems = maxItems;
+    }
+
+    public BulkStatusUpdateResult apply(AuthenticatedUser principal, BulkStatusUpdateRequest request) {
+        List<BulkStatusUpdateRequest.Item> items = request.getUpdates();
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " updates per call");
+        }
+
+        // Personnel may only touch their own stops; admins anything
+        Long restrictTo = principal.getRoles().contains("ROLE_ADMIN") ? null : resolvePersonnelId(principal);
+        String reason = request.getReason() == null || request.getReason().isBlank()
+                ? DEFAULT_REJECT_REASON
+                : request.getReason();
+
+        Map<Long, RequestStatus> applied = new LinkedHashMap<>();
+        BulkStatusUpdateResult result = transactionTemplate.execute(tx ->
+                applyInTransaction(items, restrictTo, reason, applied));
+
+        // Index mirrors committed state only
+        applied.forEach(locationIndex::updateStatus);
+        searchIndex.requestsChanged(applied.keySet());
+        return result;
+    }
+
+    private BulkStatusUpdateResult applyInTransaction(
+            List<BulkStatusUpdateRequest.Item> items,
+            Long restrictTo,
+            String reason,
+            Map<Long, RequestStatus> applied) {
+        Map<Long, RequestStatusSnapshot> current =
+                loadSnapshots(items.stream().map(BulkStatusUpdateRequest.Item::getId).distinct().toList());
+
+        ItemResult[] results = new ItemResult[items.size()];
+        List<Integer> accepted = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkStatusUpdateRequest.Item item = items.get(i);
+            RequestStatusSnapshot snapshot = current.get(item.getId());
+            RequestStatus previous = snapshot == null ? null : snapshot.getStatus();
+
+            Outcome rejected = null;
+            if (!seen.add(item.getId())) {
+                rejected = Outcome.DUPLICATE;
+            } else if (snapshot == null) {
+                rejected = Outcome.NOT_FOUND;
+            } else if (restrictTo != null && !restrictTo.equals(snapshot.getPersonnelId())) {
+                rejected = Outcome.FORBIDDEN;
+            } else if (item.getVersion() != null && !item.getVersion().equals(snapshot.getVersion())) {
+                rejected = Outcome.CONFLICT;
+            } else if (previous == item.getStatus()) {
+                rejected = Outcome.UNCHANGED;
+            } else if (!previous.canTransitionTo(item.getStatus())
+                    || (item.getStatus() == RequestStatus.IN_PROGRESS && snapshot.getPickupDate() == null)) {
+                rejected = Outcome.INVALID_TRANSITION; // IN_PROGRESS needs a schedule: use the schedule endpoint
+            }
+
+            if (rejected != null) {
+                results[i] = new ItemResult(item.getId(), previous, item.getStatus(), rejected);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, accepted, CHUNK_SIZE, (ps, i) -> {
+            BulkStatusUpdateRequest.Item item = items.get(i);
+            ps.setString(1, item.getStatus().name());
+            ps.setLong(2, item.getId());
+            ps.setString(3, current.get(item.getId()).getStatus().name());
+            ps.setLong(4, current.get(item.getId()).getVersion());
+        });
+
+        boolean[] updated = new boolean[items.size()];
+        List<Integer> unknown = new ArrayList<>();
+        int next = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                int i = accepted.get(next++);
+                // Drivers that rewrite batches report SUCCESS_NO_INFO instead of a row count
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    unknown.add(i);
+                } else {
+                    updated[i] = count > 0;
+                }
+            }
+        }
+
+        // No count: re-read those rows. Our UPDATE holds the row lock until commit, so a row
+        // that now has the target status one version past the snapshot is one we changed.
+        if (!unknown.isEmpty()) {
+            Map<Long, RequestStatusSnapshot> after =
+                    loadSnapshots(unknown.stream().map(i -> items.get(i).getId()).toList());
+            for (int i : unknown) {
+                BulkStatusUpdateRequest.Item item = items.get(i);
+                RequestStatusSnapshot row = after.get(item.getId());
+                updated[i] = row != null
+                        && row.getStatus() == item.getStatus()
+                        && row.getVersion() == current.get(item.getId()).getVersion() + 1;
+            }
+        }
+
+        List<EmailOutbox> emails = new ArrayList<>();
+        for (int i : accepted) {
+            BulkStatusUpdateRequest.Item item = items.get(i);
+            RequestStatusSnapshot snapshot = current.get(item.getId());
+
+            if (updated[i]) {
+                results[i] = new ItemResult(item.getId(), snapshot.getStatus(), item.getStatus(), Outcome.UPDATED);
+                applied.put(item.getId(), item.getStatus());
+                eventRecorder.record(item.getId(), snapshot.getStatus(), item.getStatus(),
+                        item.getStatus() == RequestStatus.REJECTED ? reason : null);
+                dashboardStats.requestTransitioned(snapshot.getStatus(), item.getStatus(), snapshot.getQuantity());
+                EmailOutbox email = notificationFor(snapshot, item.getStatus(), reason);
+                if (email != null) {
+                    emails.add(email);
+                }
+            } else {
+                results[i] = new ItemResult(item.getId(), snapshot.getStatus(), item.getStatus(), Outcome.CONFLICT);
+            }
+        }
+
+        emailService.enqueueAll(emails);
+        return new BulkStatusUpdateResult(Arrays.asList(results));
+    }
+
+    private Map<Long, RequestStatusSnapshot> loadSnapshots(List<Long> ids) {
+        Map<Long, RequestStatusSnapshot> snapshots = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            requestRepository.findStatusSnapshots(chunk).forEach(s -> snapshots.put(s.getId(), s));
+        }
+        return snapshots;
+    }
+
+    // Same emails as the single-request endpoints
+    private EmailOutbox notificationFor(RequestStatusSnapshot request, RequestStatus status, String reason) {
+        if (request.getUserEmail() == null) {
+            return null;
+        }
+        switch (status) {
+            case COMPLETED:
+                return emailService.pickupCompletedEmail(
+                        request.getUserEmail(),
+                        request.getUserFullName(),
+                        request.getDeviceType(),
+                        request.getPickupDate(),
+                        request.getPickupTime());
+            case REJECTED:
+                return emailService.requestRejectedEmail(request.getUserEmail(), request.getUserFullName(), reason);
+            default:
+                return null;
+        }
+    }
+
+    private Long resolvePersonnelId(AuthenticatedUser principal) {
+        return personnelRepository.findIdByEmail(userCache.getSummary(principal).getEmail())
+                .orElseThrow(() -> new RuntimeException("Personnel not found"));
+    }
+}
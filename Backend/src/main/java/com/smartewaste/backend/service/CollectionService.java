@@ -1,21 +1,43 @@
 package com.smartewaste.backend.service;
 
+import com.smartewaste.backend.dto.CollectionRequestDto;
+import com.smartewaste.backend.dto.NearbyRequestDto;
+import com.smartewaste.backend.dto.RequestFeedCursor;
+import com.smartewaste.backend.dto.RequestFeedFilter;
+import com.smartewaste.backend.dto.RequestFeedPage;
+import com.smartewaste.backend.dto.RequestStatusSnapshot;
+import com.smartewaste.backend.dto.UserSummaryDto;
 import com.smartewaste.backend.entity.CollectionRequest;
+import com.smartewaste.backend.entity.Personnel;
 import com.smartewaste.backend.entity.UserAccount;
 import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.geo.GeoMath;
+import com.smartewaste.backend.geo.GeoPoint;
+import com.smartewaste.backend.geo.Geocoder;
 import com.smartewaste.backend.repository.CollectionRequestRepository;
+import com.smartewaste.backend.repository.PersonnelRepository;
 import com.smartewaste.backend.repository.UserAccountRepository;
+import com.smartewaste.backend.security.AuthenticatedUser;
+import com.smartewaste.backend.storage.ImageStore;
+import com.smartewaste.backend.storage.StoredImage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToIntFunction;
 
 @Service
 public class CollectionService {
@@ -23,83 +45,201 @@ public class CollectionService {
     private final CollectionRequestRepository requestRepository;
     private final UserAccountRepository userRepository;
     private final EmailService emailService;
+    private final ImageStore imageStore;
+    private final ImageDerivativeService imageDerivativeService;
+    private final UserCache userCache;
+    private final PersonnelRepository personnelRepository;
+    private final RouteOptimizationService routeOptimizationService;
+    private final Geocoder geocoder;
+    private final RequestLocationIndex locationIndex;
+    private final RequestEventRecorder eventRecorder;
+    private final DashboardStatsService dashboardStats;
+    private final SearchIndexService searchIndex;
 
-    // Directory to save uploaded images
-    private final String UPLOAD_DIR = "uploads/";
+    // Uploaded photo sizes; duplicates of an already stored photo are counted apart
+    private final DistributionSummary storedImageBytes;
+    private final DistributionSummary duplicateImageBytes;
+
+    // Admin feed page size bounds
+    private static final int DEFAULT_FEED_SIZE = 20;
+    private static final int MAX_FEED_SIZE = 100;
+
+    // Nearby query bounds
+    private static final double DEFAULT_NEARBY_RADIUS_KM = 3;
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+    private static final int DEFAULT_NEARBY_LIMIT = 100;
+    private static final int MAX_NEARBY_LIMIT = 1000;
+
+    // Statuses a pickup can be (re)scheduled from
+    private static final Set<RequestStatus> SCHEDULABLE = EnumSet.of(RequestStatus.PENDING, RequestStatus.IN_PROGRESS);
 
     public CollectionService(CollectionRequestRepository requestRepository,
                              UserAccountRepository userRepository,
-                             EmailService emailService) {
+                             EmailService emailService,
+                             ImageStore imageStore,
+                             ImageDerivativeService imageDerivativeService,
+                             UserCache userCache,
+                             PersonnelRepository personnelRepository,
+                             RouteOptimizationService routeOptimizationService,
+                             Geocoder geocoder,
+                             RequestLocationIndex locationIndex,
+                             RequestEventRecorder eventRecorder,
+                             DashboardStatsService dashboardStats,
+                             SearchIndexService searchIndex,
+                             MeterRegistry meterRegistry) {
         this.requestRepository = requestRepository;
         this.userRepository = userRepository;
         this.emailService = emailService;
+        this.imageStore = imageStore;
+        this.imageDerivativeService = imageDerivativeService;
+        this.userCache = userCache;
+        this.personnelRepository = personnelRepository;
+        this.routeOptimizationService = routeOptimizationService;
+        this.geocoder = geocoder;
+        this.locationIndex = locationIndex;
+        this.eventRecorder = eventRecorder;
+        this.dashboardStats = dashboardStats;
+        this.searchIndex = searchIndex;
+        this.storedImageBytes = uploadSummary(meterRegistry, "false");
+        this.duplicateImageBytes = uploadSummary(meterRegistry, "true");
+    }
+
+    private static DistributionSummary uploadSummary(MeterRegistry meterRegistry, String deduplicated) {
+        return DistributionSummary.builder("uploads.size")
+                .description("Uploaded file sizes")
+                .baseUnit("bytes")
+                .tag("kind", "image")
+                .tag("deduplicated", deduplicated)
+                .register(meterRegistry);
     }
 
     public CollectionRequest createRequest(
-            String username,
+            AuthenticatedUser principal,
             String deviceType,
             String brand,
             String model,
             String condition,
             Integer quantity,
             String address,
+            Double latitude,
+            Double longitude,
             String remarks,
             LocalDate pickupDate,
             LocalTime pickupTime,
             MultipartFile image) throws IOException {
 
-        UserAccount user = userRepository.findByEmailIgnoreCase(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if ((latitude != null || longitude != null) && !GeoMath.isValid(latitude, longitude)) {
+            throw new RuntimeException("Invalid pickup coordinates");
+        }
+        if (latitude == null) {
+            GeoPoint located = geocoder.locate(address); // Offline PIN-code lookup; may be null
+            if (located != null) {
+                latitude = located.getLatitude();
+                longitude = located.getLongitude();
+            }
+        }
+
+        // ✅ Only the FK is needed: reference by id, no user_accounts select
+        Long userId = userCache.resolveId(principal);
 
         CollectionRequest request = new CollectionRequest();
-        request.setUser(user);
+        request.setUser(userRepository.getReferenceById(userId));
         request.setDeviceType(deviceType);
         request.setBrand(brand);
         request.setModel(model);
         request.setCondition(condition);
         request.setQuantity(quantity);
         request.setAddress(address);
+        request.setLatitude(latitude);
+        request.setLongitude(longitude);
         request.setRemarks(remarks);
         request.setPickupDate(pickupDate);
         request.setPickupTime(pickupTime);
 
-        // Handle Image Upload
+        // Handle Image Upload (streamed to disk, content-addressed)
         if (image != null && !image.isEmpty()) {
-            String fileName = UUID.randomUUID().toString() + "_" + image.getOriginalFilename();
-            Path path = Paths.get(UPLOAD_DIR + fileName);
-            Files.createDirectories(path.getParent());
-            Files.write(path, image.getBytes());
-            request.setImagePath(fileName);
+            StoredImage stored = imageStore.store(image);
+            (stored.isDeduplicated() ? duplicateImageBytes : storedImageBytes).record(stored.getSize());
+            request.setImagePath(stored.getKey());
         }
 
-        return requestRepository.save(request);
+        CollectionRequest saved = requestRepository.save(request);
+        locationIndex.update(saved);
+        eventRecorder.record(saved.getId(), null, saved.getStatus(), null);
+        dashboardStats.requestCreated(
+                saved.getDeviceType(), userCache.getSummary(userId).getCity(), saved.getCreatedAt().toLocalDate());
+
+        // Thumbnail + preview rendered in the background
+        imageDerivativeService.generateAsync(saved.getImagePath());
+
+        return saved;
     }
 
-    public List<CollectionRequest> getMyRequests(String username) {
-        UserAccount user = userRepository.findByEmailIgnoreCase(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return requestRepository.findByUserOrderByCreatedAtDesc(user);
+    public CollectionRequestDto toDto(CollectionRequest request) {
+        UserAccount owner = request.getUser();
+
+        // Owner is still a bare reference (e.g. just created): fill it from the user cache
+        CollectionRequestDto dto = owner != null && !Hibernate.isInitialized(owner)
+                ? CollectionRequestDto.fromEntity(request, userCache.getSummary(owner.getId()))
+                : CollectionRequestDto.fromEntity(request);
+
+        return imageDerivativeService.attachUrls(dto);
+    }
+
+    public List<CollectionRequestDto> getMyRequests(AuthenticatedUser principal) {
+        return withImageUrls(requestRepository.findDtosByUserId(userCache.resolveId(principal)));
     }
 
     // ✅ Get Requests Assigned to Personnel
-    public List<CollectionRequest> getAssignedRequests(String username) {
-        UserAccount user = userRepository.findByEmailIgnoreCase(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public List<CollectionRequestDto> getAssignedRequests(AuthenticatedUser principal) {
+        return withImageUrls(requestRepository.findDtosByPersonnelId(resolvePersonnelId(principal)));
+    }
 
-        // We match by the Full Name stored in request's pickupPersonnel field
-        return requestRepository.findByPickupPersonnel(user.getFullName());
+    // ✅ Today's stops (or any day's) for the calling personnel, in optimised driving order
+    public List<CollectionRequestDto> getRoute(AuthenticatedUser principal, LocalDate date) {
+        return withImageUrls(routeOptimizationService.optimize(requestRepository.findRouteStops(
+                resolvePersonnelId(principal), RequestStatus.IN_PROGRESS, date)));
     }
 
-    // ✅ Update Request Status
-    public CollectionRequest updateRequestStatus(Long requestId, String status) {
-        CollectionRequest request = requestRepository.findById(requestId)
-                .orElseThrow(() -> new RuntimeException("Request not found"));
+    // ✅ Every personnel's route for a day (admin), solved in parallel
+    public Map<Long, List<CollectionRequestDto>> getRoutes(LocalDate date) {
+        Map<Long, List<CollectionRequestDto>> routes = new LinkedHashMap<>();
+        for (CollectionRequestDto stop : requestRepository.findDayStops(RequestStatus.IN_PROGRESS, date)) {
+            routes.computeIfAbsent(stop.getPersonnelId(), id -> new ArrayList<>()).add(stop);
+        }
+
+        Map<Long, List<CollectionRequestDto>> optimized = routeOptimizationService.optimizeAll(routes);
+        optimized.replaceAll((personnelId, stops) -> withImageUrls(stops));
+        return optimized;
+    }
+
+    private Long resolvePersonnelId(AuthenticatedUser principal) {
+        UserSummaryDto user = userCache.getSummary(principal);
+        return personnelRepository.findIdByEmail(user.getEmail())
+                .orElseThrow(() -> new RuntimeException("Personnel not found"));
+    }
 
+    // ✅ Update Request Status: guarded UPDATE, no read-modify-write.
+    // `version` is optional; when given, the change only applies on top of that version.
+    @Transactional
+    public CollectionRequestDto updateRequestStatus(Long requestId, String status, Long version) {
         RequestStatus newStatus = RequestStatus.valueOf(status.toUpperCase());
-        request.setStatus(newStatus);
-        CollectionRequest saved = requestRepository.save(request);
+        if (newStatus == RequestStatus.IN_PROGRESS) {
+            throw new IllegalArgumentException("Use the schedule endpoint to move a request to IN_PROGRESS");
+        }
 
-        if (newStatus == RequestStatus.COMPLETED && request.getUser() != null) {
+        RequestStatus previous = firstMatchingSource(RequestStatus.sourcesOf(newStatus),
+                from -> requestRepository.transition(requestId, from, newStatus, version));
+
+        // One read after the UPDATE: the response body, and the reason when the guard did not match
+        CollectionRequestDto request = requestRepository.findDtoById(requestId)
+                .orElseThrow(() -> new RuntimeException("Request not found"));
+        if (previous == null) {
+            throw conflict(requestId, newStatus, version, request.getStatus(), request.getVersion());
+        }
+        afterTransition(requestId, request.getQuantity(), previous, newStatus, null);
+
+        if (newStatus == RequestStatus.COMPLETED && request.getUser().getEmail() != null) {
             emailService.sendPickupCompletedEmail(
                     request.getUser().getEmail(),
                     request.getUser().getFullName(),
@@ -108,6 +248,154 @@ public class CollectionService {
                     request.getPickupTime());
         }
 
-        return saved;
+        return imageDerivativeService.attachUrls(request);
+    }
+
+    // ✅ Reject Request (ADMIN)
+    @Transactional
+    public Optional<RequestStatusSnapshot> rejectRequest(Long requestId, String reason, Long version) {
+        RequestStatus previous = firstMatchingSource(RequestStatus.sourcesOf(RequestStatus.REJECTED),
+                from -> requestRepository.transition(requestId, from, RequestStatus.REJECTED, version));
+
+        return checkApplied(previous, requestId, RequestStatus.REJECTED, version).map(req -> {
+            afterTransition(req.getId(), req.getQuantity(), previous, RequestStatus.REJECTED, reason);
+            emailService.sendRequestRejectedEmail(req.getUserEmail(), req.getUserFullName(), reason);
+            return req;
+        });
+    }
+
+    // ✅ Schedule Pickup (ADMIN) — also reschedules a request that is already IN_PROGRESS
+    @Transactional
+    public Optional<RequestStatusSnapshot> schedulePickup(
+            Long requestId,
+            LocalDate pickupDate,
+            LocalTime pickupTime,
+            Long personnelId,
+            String pickupPersonnel,
+            Long version) {
+        Personnel personnel = resolvePersonnel(personnelId, pickupPersonnel);
+
+        RequestStatus previous = firstMatchingSource(SCHEDULABLE, from -> requestRepository.schedule(
+                requestId, from, pickupDate, pickupTime, personnel, personnel.getName(), version));
+
+        return checkApplied(previous, requestId, RequestStatus.IN_PROGRESS, version).map(req -> {
+            afterTransition(req.getId(), req.getQuantity(), previous, RequestStatus.IN_PROGRESS, (previous == RequestStatus.IN_PROGRESS
+                    ? "Rescheduled for " : "Scheduled for ") + pickupDate + " " + pickupTime + " with " + personnel.getName());
+            emailService.sendPickupScheduledEmail(
+                    req.getUserEmail(),
+                    req.getUserFullName(),
+                    req.getPickupDate(),
+                    req.getPickupTime(),
+                    personnel.getName());
+            return req;
+        });
+    }
+
+    // Runs the guarded UPDATE once per allowed source, so the caller learns which status the row was in.
+    // The first try almost always matches; a miss costs one more primary-key UPDATE, not a select up front.
+    private static RequestStatus firstMatchingSource(
+            Set<RequestStatus> sources, ToIntFunction<Set<RequestStatus>> update) {
+        for (RequestStatus source : sources) {
+            if (update.applyAsInt(EnumSet.of(source)) > 0) {
+                return source;
+            }
+        }
+        return null;
+    }
+
+    // Everything that mirrors a committed status change: nearby index, event log, dashboard counters, search
+    private void afterTransition(Long requestId, Integer quantity, RequestStatus from, RequestStatus to, String detail) {
+        AfterCommit.run(() -> locationIndex.updateStatus(requestId, to));
+        eventRecorder.record(requestId, from, to, detail);
+        dashboardStats.requestTransitioned(from, to, quantity);
+        searchIndex.requestChanged(requestId);
+    }
+
+    // After a guarded UPDATE: the fresh row when it applied (previous != null), empty when the
+    // request does not exist, otherwise a conflict saying why the guard did not match.
+    private Optional<RequestStatusSnapshot> checkApplied(
+            RequestStatus previous, Long requestId, RequestStatus target, Long expectedVersion) {
+        List<RequestStatusSnapshot> rows = requestRepository.findStatusSnapshots(List.of(requestId));
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RequestStatusSnapshot current = rows.get(0);
+        if (previous != null) {
+            return Optional.of(current);
+        }
+        throw conflict(requestId, target, expectedVersion, current.getStatus(), current.getVersion());
+    }
+
+    private static RequestStateConflictException conflict(
+            Long requestId, RequestStatus target, Long expectedVersion, RequestStatus status, Long version) {
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            return new RequestStateConflictException("Request " + requestId + " was modified concurrently (now version "
+                    + version + ", " + status + ")");
+        }
+        return new RequestStateConflictException(
+                "Request " + requestId + " cannot move from " + status + " to " + target);
+    }
+
+    // Prefer the id; fall back to the name for clients that still send only that
+    private Personnel resolvePersonnel(Long personnelId, String name) {
+        if (personnelId != null) {
+            return personnelRepository.findByIdAndActiveTrue(personnelId)
+                    .orElseThrow(() -> new RuntimeException("Personnel not found"));
+        }
+        if (name != null && !name.isBlank()) {
+            return personnelRepository.findFirstByNameAndActiveTrueOrderByIdAsc(name)
+                    .orElseThrow(() -> new RuntimeException("Personnel not found"));
+        }
+        throw new RuntimeException("Personnel is required");
+    }
+
+    // ✅ Open requests around a point (nearest first) or inside a bounding box
+    public List<NearbyRequestDto> getNearby(
+            Double lat, Double lon, Double radiusKm,
+            Double minLat, Double minLon, Double maxLat, Double maxLon,
+            List<RequestStatus> statuses, Integer limit) {
+        int max = limit == null ? DEFAULT_NEARBY_LIMIT : Math.max(1, Math.min(limit, MAX_NEARBY_LIMIT));
+
+        if (lat != null || lon != null) {
+            if (!GeoMath.isValid(lat, lon)) {
+                throw new IllegalArgumentException("lat/lon must both be valid coordinates");
+            }
+            double radius = radiusKm == null ? DEFAULT_NEARBY_RADIUS_KM : radiusKm;
+            if (radius <= 0 || radius > MAX_NEARBY_RADIUS_KM) {
+                throw new IllegalArgumentException("radiusKm must be in (0, " + MAX_NEARBY_RADIUS_KM + "]");
+            }
+            return locationIndex.withinRadius(lat, lon, radius, statuses, max);
+        }
+
+        if (!GeoMath.isValid(minLat, minLon) || !GeoMath.isValid(maxLat, maxLon)
+                || minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("Give lat/lon (+ radiusKm) or a valid minLat/minLon/maxLat/maxLon box");
+        }
+        return locationIndex.withinBox(minLat, minLon, maxLat, maxLon, statuses, max);
+    }
+
+    // ✅ Admin Request Feed (keyset paginated)
+    public RequestFeedPage<CollectionRequestDto> getRequestFeed(RequestFeedFilter filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_FEED_SIZE : Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        RequestFeedCursor after = (cursor == null || cursor.isBlank()) ? null : RequestFeedCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        List<CollectionRequestDto> rows = withImageUrls(requestRepository.findFeedPage(filter, after, pageSize + 1));
+
+        if (rows.size() <= pageSize) {
+            return new RequestFeedPage<>(rows, null);
+        }
+
+        List<CollectionRequestDto> page = rows.subList(0, pageSize);
+        CollectionRequestDto last = page.get(page.size() - 1);
+        return new RequestFeedPage<>(
+                page,
+                new RequestFeedCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    private List<CollectionRequestDto> withImageUrls(List<CollectionRequestDto> rows) {
+        rows.forEach(imageDerivativeService::attachUrls);
+        return rows;
     }
 }
@@ -0,0 +1,477 @@
+package com.smartewaste.backend.service;
+
+import com.smartewaste.backend.dto.DashboardStatsDto;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.enums.StatsDimension;
+import com.smartewaste.backend.enums.UserStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Pre-aggregated admin dashboard counters. Request and user writes adjust
+ * them in memory after their transaction commits, so reading the dashboard
+ * never touches the big tables. Changed counters are flushed to the
+ * stats_counters rollup table every few seconds.
+ *
+ * On startup the persisted rollup is loaded first (so the endpoint answers
+ * immediately) and then replaced by a full recount; the recount repeats
+ * nightly to repair drift. A recount builds off to the side and swaps in.
+ * Increments are not idempotent, so it reads one REPEATABLE READ snapshot
+ * and replays only the increments journaled after that snapshot was taken:
+ * each change is counted either by the snapshot or by the replay, not both.
+ */
+@Service
+public class DashboardStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    private static final String ALL = "all";
+    private static final String UNKNOWN_DEVICE = "Other";
+    private static final String UNKNOWN_CITY = "Unknown";
+    private static final int MAX_BUCKET_LENGTH = 100;
+
+    private static final String UPDATE_SQL =
+            "UPDATE stats_counters SET counter_value = ?, updated_at = ? WHERE dimension = ? AND bucket = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO stats_counters (dimension, bucket, counter_value, updated_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final int topBuckets;
+
+    private volatile Counters counters = new Counters();
+    private volatile Instant rebuiltAt;
+
+    // Serialises loads, rebuilds and flushes (all JDBC)
+    private final ReentrantLock persistLock = new ReentrantLock();
+
+    // Held briefly by every increment; a recount also holds it while pinning its snapshot
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private List<Consumer<Counters>> journal; // non-null while a load is running; guarded by writeLock
+
+    // Value of every row currently in stats_counters; guarded by persistLock
+    private Map<StatsDimension, Map<String, Long>> persisted = new EnumMap<>(StatsDimension.class);
+
+    public DashboardStatsService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${stats.top-buckets:20}") int topBuckets) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.topBuckets = topBuckets;
+
+        this.snapshotTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+    }
+
+    // ================= HOOKS =================
+
+    public void requestCreated(String deviceType, String city, LocalDate day) {
+        AfterCommit.run(() -> apply(c -> {
+            c.add(StatsDimension.REQUEST_TOTAL, ALL, 1);
+            c.add(StatsDimension.REQUEST_STATUS, RequestStatus.PENDING.name(), 1);
+            c.add(StatsDimension.REQUEST_DEVICE_TYPE, bucket(deviceType, UNKNOWN_DEVICE), 1);
+            c.add(StatsDimension.REQUEST_CITY, bucket(city, UNKNOWN_CITY), 1);
+            if (day != null) {
+                c.add(StatsDimension.REQUEST_DAY, day.toString(), 1);
+            }
+        }));
+    }
+
+    // Call once per applied status change; quantity feeds the completed-items total
+    public void requestTransitioned(RequestStatus from, RequestStatus to, Integer quantity) {
+        if (from == to) {
+            return;
+        }
+        long items = quantity != null ? quantity : 0;
+        AfterCommit.run(() -> apply(c -> {
+            if (from != null) {
+                c.add(StatsDimension.REQUEST_STATUS, from.name(), -1);
+            }
+            c.add(StatsDimension.REQUEST_STATUS, to.name(), 1);
+            if (to == RequestStatus.COMPLETED) {
+                c.add(StatsDimension.COMPLETED_QUANTITY, ALL, items);
+            } else if (from == RequestStatus.COMPLETED) {
+                c.add(StatsDimension.COMPLETED_QUANTITY, ALL, -items);
+            }
+        }));
+    }
+
+    public void userCreated(UserStatus status) {
+        AfterCommit.run(() -> apply(c -> {
+            c.add(StatsDimension.USER_TOTAL, ALL, 1);
+            c.add(StatsDimension.USER_STATUS, userBucket(status), 1);
+        }));
+    }
+
+    public void userStatusChanged(UserStatus from, UserStatus to) {
+        if (from == to) {
+            return;
+        }
+        AfterCommit.run(() -> apply(c -> {
+            c.add(StatsDimension.USER_STATUS, userBucket(from), -1);
+            c.add(StatsDimension.USER_STATUS, userBucket(to), 1);
+        }));
+    }
+
+    public void userDeleted(UserStatus status) {
+        AfterCommit.run(() -> apply(c -> {
+            c.add(StatsDimension.USER_TOTAL, ALL, -1);
+            c.add(StatsDimension.USER_STATUS, userBucket(status), -1);
+        }));
+    }
+
+    private void apply(Consumer<Counters> op) {
+        writeLock.lock();
+        try {
+            op.accept(counters);
+            if (journal != null) {
+                journal.add(op);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ================= READ =================
+
+    public DashboardStatsDto getStats(int days) {
+        Counters c = counters;
+
+        Map<String, Long> usersByStatus = new LinkedHashMap<>();
+        for (UserStatus status : UserStatus.values()) {
+            usersByStatus.put(status.name(), c.get(StatsDimension.USER_STATUS, status.name()));
+        }
+
+        Map<String, Long> requestsByStatus = new LinkedHashMap<>();
+        for (RequestStatus status : RequestStatus.values()) {
+            requestsByStatus.put(status.name(), c.get(StatsDimension.REQUEST_STATUS, status.name()));
+        }
+
+        Map<String, Long> perDay = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now();
+        for (int i = days - 1; i >= 0; i--) {
+            String day = today.minusDays(i).toString();
+            perDay.put(day, c.get(StatsDimension.REQUEST_DAY, day));
+        }
+
+        return new DashboardStatsDto(
+                c.get(StatsDimension.USER_TOTAL, ALL),
+                usersByStatus,
+                c.get(StatsDimension.REQUEST_TOTAL, ALL),
+                requestsByStatus,
+                largest(c, StatsDimension.REQUEST_DEVICE_TYPE),
+                largest(c, StatsDimension.REQUEST_CITY),
+                perDay,
+                c.get(StatsDimension.COMPLETED_QUANTITY, ALL),
+                rebuiltAt);
+    }
+
+    private Map<String, Long> largest(Counters c, StatsDimension dimension) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        c.of(dimension).entrySet().stream()
+                .filter(e -> e.getValue().get() > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<String, AtomicLong> e) -> e.getValue().get())
+                        .reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(topBuckets)
+                .forEach(e -> result.put(e.getKey(), e.getValue().get()));
+        return result;
+    }
+
+    // ================= LOAD =================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        swapIn(this::loadPersisted, "persisted");
+        rebuild();
+    }
+
+    // Full recount from the source tables, then rewrite the rollup to match
+    @Scheduled(cron = "${stats.rebuild-cron:0 15 3 * * *}")
+    public void rebuild() {
+        persistLock.lock();
+        try {
+            if (swapIn(this::recount, "recounted")) {
+                rebuiltAt = Instant.now();
+                rewrite();
+            }
+        } finally {
+            persistLock.unlock();
+        }
+    }
+
+    // The loader must call startJournal() at the point its data is read from
+    private boolean swapIn(Consumer<Counters> loader, String what) {
+        persistLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            Counters fresh = new Counters();
+
+            try {
+                loader.accept(fresh);
+            } catch (RuntimeException e) {
+                stopJournal();
+                log.warn("Dashboard stats load ({}) failed: {}", what, e.getMessage());
+                return false;
+            }
+
+            writeLock.lock();
+            try {
+                journal.forEach(op -> op.accept(fresh));
+                journal = null;
+                counters = fresh;
+            } finally {
+                writeLock.unlock();
+            }
+            log.info("Loaded {} dashboard counters ({}) in {} ms", fresh.size(), what,
+                    System.currentTimeMillis() - started);
+            return true;
+        } finally {
+            persistLock.unlock();
+        }
+    }
+
+    private void startJournal() {
+        writeLock.lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void stopJournal() {
+        writeLock.lock();
+        try {
+            journal = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // The rollup is only a warm start; the recount that follows replaces it
+    private void loadPersisted(Counters into) {
+        startJournal();
+        Map<StatsDimension, Map<String, Long>> rows = new EnumMap<>(StatsDimension.class);
+        jdbcTemplate.query("SELECT dimension, bucket, counter_value FROM stats_counters", rs -> {
+            StatsDimension dimension = StatsDimension.valueOf(rs.getString(1));
+            into.add(dimension, rs.getString(2), rs.getLong(3));
+            rows.computeIfAbsent(dimension, d -> new HashMap<>()).put(rs.getString(2), rs.getLong(3));
+        });
+        persisted = rows;
+    }
+
+    private void recount(Counters into) {
+        snapshotTemplate.executeWithoutResult(status -> {
+            // Pin the snapshot while no increment can be applied: whatever it misses lands in the journal.
+            // A first read fixes the snapshot (per table on H2), so touch both source tables. Only a change
+            // whose commit lands just before the pin and whose callback runs just after it is counted twice,
+            // until the next recount.
+            writeLock.lock();
+            try {
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM collection_requests WHERE id = -1", Long.class);
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_accounts WHERE id = -1", Long.class);
+                journal = new ArrayList<>();
+            } finally {
+                writeLock.unlock();
+            }
+            countSources(into);
+        });
+    }
+
+    private void countSources(Counters into) {
+        jdbcTemplate.query(
+                "SELECT status, COUNT(*), COALESCE(SUM(quantity), 0) FROM collection_requests GROUP BY status",
+                rs -> {
+                    String status = rs.getString(1);
+                    long count = rs.getLong(2);
+                    into.add(StatsDimension.REQUEST_TOTAL, ALL, count);
+                    if (status != null) {
+                        into.add(StatsDimension.REQUEST_STATUS, status, count);
+                    }
+                    if (RequestStatus.COMPLETED.name().equals(status)) {
+                        into.add(StatsDimension.COMPLETED_QUANTITY, ALL, rs.getLong(3));
+                    }
+                });
+        jdbcTemplate.query(
+                "SELECT device_type, COUNT(*) FROM collection_requests GROUP BY device_type",
+                rs -> {
+                    into.add(StatsDimension.REQUEST_DEVICE_TYPE, bucket(rs.getString(1), UNKNOWN_DEVICE), rs.getLong(2));
+                });
+        jdbcTemplate.query(
+                "SELECT u.city, COUNT(*) FROM collection_requests r JOIN user_accounts u ON u.id = r.user_id "
+                        + "GROUP BY u.city",
+                rs -> {
+                    into.add(StatsDimension.REQUEST_CITY, bucket(rs.getString(1), UNKNOWN_CITY), rs.getLong(2));
+                });
+        jdbcTemplate.query(
+                "SELECT CAST(created_at AS DATE), COUNT(*) FROM collection_requests "
+                        + "WHERE created_at IS NOT NULL GROUP BY CAST(created_at AS DATE)",
+                rs -> {
+                    Date day = rs.getDate(1);
+                    into.add(StatsDimension.REQUEST_DAY, day.toLocalDate().toString(), rs.getLong(2));
+                });
+        jdbcTemplate.query(
+                "SELECT status, COUNT(*) FROM user_accounts GROUP BY status",
+                rs -> {
+                    into.add(StatsDimension.USER_TOTAL, ALL, rs.getLong(2));
+                    into.add(StatsDimension.USER_STATUS, bucket(rs.getString(1), UserStatus.PENDING.name()), rs.getLong(2));
+                });
+    }
+
+    // ================= PERSISTENCE =================
+
+    @Scheduled(
+            fixedDelayString = "${stats.flush-interval-ms:5000}",
+            initialDelayString = "${stats.flush-interval-ms:5000}")
+    public void flush() {
+        persistLock.lock();
+        try {
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Object[]> updates = new ArrayList<>();
+            List<Object[]> inserts = new ArrayList<>();
+            Map<StatsDimension, Map<String, Long>> written = new EnumMap<>(StatsDimension.class);
+
+            Counters c = counters;
+            for (StatsDimension dimension : StatsDimension.values()) {
+                Map<String, Long> rows = persisted.getOrDefault(dimension, Map.of());
+                c.of(dimension).forEach((bucket, counter) -> {
+                    long value = counter.get();
+                    Long stored = rows.get(bucket);
+                    if (stored == null) {
+                        inserts.add(new Object[] {dimension.name(), bucket, value, now});
+                    } else if (stored != value) {
+                        updates.add(new Object[] {value, now, dimension.name(), bucket});
+                    } else {
+                        return;
+                    }
+                    written.computeIfAbsent(dimension, d -> new HashMap<>()).put(bucket, value);
+                });
+            }
+            if (written.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!updates.isEmpty()) {
+                        jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+                    }
+                    if (!inserts.isEmpty()) {
+                        jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Dashboard stats flush failed, retrying next run: {}", e.getMessage());
+                return;
+            }
+            written.forEach((dimension, rows) ->
+                    persisted.computeIfAbsent(dimension, d -> new HashMap<>()).putAll(rows));
+        } finally {
+            persistLock.unlock();
+        }
+    }
+
+    // Replaces the whole rollup with the current counters (after a recount)
+    private void rewrite() {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>();
+        Map<StatsDimension, Map<String, Long>> written = new EnumMap<>(StatsDimension.class);
+
+        Counters c = counters;
+        for (StatsDimension dimension : StatsDimension.values()) {
+            c.of(dimension).forEach((bucket, counter) -> {
+                long value = counter.get();
+                rows.add(new Object[] {dimension.name(), bucket, value, now});
+                written.computeIfAbsent(dimension, d -> new HashMap<>()).put(bucket, value);
+            });
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM stats_counters");
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                }
+            });
+            persisted = written;
+        } catch (RuntimeException e) {
+            log.warn("Dashboard stats rewrite failed: {}", e.getMessage());
+        }
+    }
+
+    // ================= HELPERS =================
+
+    private static String bucket(String value, String fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() <= MAX_BUCKET_LENGTH ? trimmed : trimmed.substring(0, MAX_BUCKET_LENGTH);
+    }
+
+    private static String userBucket(UserStatus status) {
+        return status != null ? status.name() : UserStatus.PENDING.name();
+    }
+
+    // One generation of counters: dimension -> bucket -> value
+    private static final class Counters {
+
+        private final Map<StatsDimension, ConcurrentHashMap<String, AtomicLong>> values =
+                new EnumMap<>(StatsDimension.class);
+
+        private Counters() {
+            for (StatsDimension dimension : StatsDimension.values()) {
+                values.put(dimension, new ConcurrentHashMap<>());
+            }
+        }
+
+        void add(StatsDimension dimension, String bucket, long delta) {
+            values.get(dimension).computeIfAbsent(bucket, k -> new AtomicLong()).addAndGet(delta);
+        }
+
+        long get(StatsDimension dimension, String bucket) {
+            AtomicLong value = values.get(dimension).get(bucket);
+            return value != null ? value.get() : 0;
+        }
+
+        Map<String, AtomicLong> of(StatsDimension dimension) {
+            return values.get(dimension);
+        }
+
+        int size() {
+            int size = 0;
+            for (Map<String, AtomicLong> buckets : values.values()) {
+                size += buckets.size();
+            }
+            return size;
+        }
+    }
+}
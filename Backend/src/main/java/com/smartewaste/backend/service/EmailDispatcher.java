@@ -0,0 +1,268 @@
+package com.smartewaste.backend.service;
+
+import com.smartewaste.backend.entity.EmailOutbox;
+import com.smartewaste.backend.enums.EmailStatus;
+import com.smartewaste.backend.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the email outbox in the background. Rows are claimed in bulk, split
+ * into batches and each batch is handed to one worker, which sends it through
+ * a single SMTP connection. Failures are retried with exponential backoff.
+ *
+ * Metrics: {@code email.send} (one SMTP batch, by outcome), {@code email.sent},
+ * {@code email.failed} (tagged {@code final} once attempts are exhausted) and
+ * the {@code email.outbox.in.flight} batch gauge.
+ */
+@Service
+public class EmailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration claimTimeout;
+
+    // Batches currently handed to the worker pool
+    private final AtomicInteger inFlightBatches = new AtomicInteger();
+
+    private final Timer sendSucceeded;
+    private final Timer sendFailed;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failedFinal;
+
+    public EmailDispatcher(
+            EmailOutboxRepository outboxRepository,
+            JavaMailSender mailSender,
+            @Qualifier("emailDispatchExecutor") ThreadPoolTaskExecutor executor,
+            MeterRegistry meterRegistry,
+            @Value("${email.outbox.workers:4}") int workers,
+            @Value("${email.outbox.batch-size:20}") int batchSize,
+            @Value("${email.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${email.outbox.retry-backoff-ms:30000}") long retryBackoffMs,
+            @Value("${email.outbox.claim-timeout-ms:300000}") long claimTimeoutMs) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.executor = executor;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+
+        this.sendSucceeded = sendTimer(meterRegistry, "success");
+        this.sendFailed = sendTimer(meterRegistry, "failure");
+        this.sent = Counter.builder("email.sent")
+                .description("Emails accepted by the mail server")
+                .register(meterRegistry);
+        this.retried = failedCounter(meterRegistry, false);
+        this.failedFinal = failedCounter(meterRegistry, true);
+        Gauge.builder("email.outbox.in.flight", inFlightBatches, AtomicInteger::get)
+                .description("Outbox batches handed to the worker pool")
+                .register(meterRegistry);
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("email.send")
+                .description("Sending one outbox batch over a single SMTP connection")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter failedCounter(MeterRegistry meterRegistry, boolean exhausted) {
+        return Counter.builder("email.failed")
+                .description("Failed email attempts; final=true once max attempts are used up")
+                .tag("final", String.valueOf(exhausted))
+                .register(meterRegistry);
+    }
+
+    // ================= POLL & CLAIM =================
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        int freeWorkers = workers - inFlightBatches.get();
+        if (freeWorkers <= 0) {
+            return; // Backpressure: leave rows in the table until a worker frees up
+        }
+
+        Instant now = Instant.now();
+        List<Long> dueIds = outboxRepository.findDueIds(
+                EmailStatus.PENDING, now, PageRequest.of(0, freeWorkers * batchSize));
+        if (dueIds.isEmpty()) {
+            return;
+        }
+
+        // Claim token; truncated so it round-trips through any DB timestamp precision
+        Instant claimedAt = now.truncatedTo(ChronoUnit.MILLIS);
+        if (outboxRepository.claim(dueIds, claimedAt) == 0) {
+            return;
+        }
+
+        List<EmailOutbox> claimed = outboxRepository
+                .findByIdInAndStatusAndClaimedAt(dueIds, EmailStatus.SENDING, claimedAt);
+
+        for (int from = 0; from < claimed.size(); from += batchSize) {
+            List<EmailOutbox> batch = claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+            inFlightBatches.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        sendBatch(batch);
+                    } finally {
+                        inFlightBatches.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Pool saturated/shutting down: rows stay SENDING and are released by releaseStaleClaims()
+                inFlightBatches.decrementAndGet();
+                log.warn("Email batch rejected by executor: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.release-interval-ms:60000}")
+    public void releaseStaleClaims() {
+        int released = outboxRepository.releaseStale(Instant.now().minus(claimTimeout));
+        if (released > 0) {
+            log.warn("Released {} stale outbox claims", released);
+        }
+    }
+
+    // ================= SEND =================
+    void sendBatch(List<EmailOutbox> batch) {
+        Map<MimeMessage, EmailOutbox> byMessage = new IdentityHashMap<>();
+        Map<EmailOutbox, Exception> failures = new LinkedHashMap<>();
+
+        for (EmailOutbox email : batch) {
+            try {
+                byMessage.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email, e);
+            }
+        }
+
+        if (!byMessage.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                // One connection for the whole batch (JavaMailSenderImpl reuses the Transport)
+                mailSender.send(byMessage.keySet().toArray(new MimeMessage[0]));
+                sendSucceeded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (MailSendException e) {
+                sendFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                e.getFailedMessages().forEach((message, cause) -> {
+                    EmailOutbox email = byMessage.get(message);
+                    if (email != null) {
+                        failures.put(email, cause);
+                    }
+                });
+                if (e.getFailedMessages().isEmpty()) {
+                    byMessage.values().forEach(email -> failures.put(email, e));
+                }
+            } catch (MailException e) {
+                sendFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                byMessage.values().forEach(email -> failures.put(email, e));
+            }
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        for (EmailOutbox email : batch) {
+            if (!failures.containsKey(email)) {
+                sentIds.add(email.getId());
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            outboxRepository.markSent(sentIds, Instant.now());
+            sent.increment(sentIds.size());
+        }
+
+        failures.forEach(this::recordFailure);
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+
+        return message;
+    }
+
+    private void recordFailure(EmailOutbox email, Exception cause) {
+        int attempts = email.getAttempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+        if (backoff.compareTo(MAX_BACKOFF) > 0) {
+            backoff = MAX_BACKOFF;
+        }
+
+        String error = String.valueOf(cause.getMessage());
+        if (error.length() > 1000) {
+            error = error.substring(0, 1000);
+        }
+
+        outboxRepository.markAttemptFailed(
+                email.getId(),
+                exhausted ? EmailStatus.FAILED : EmailStatus.PENDING,
+                attempts,
+                Instant.now().plus(backoff),
+                error);
+        (exhausted ? failedFinal : retried).increment();
+
+        log.warn("Email {} to {} failed (attempt {}/{}): {}",
+                email.getId(), email.getRecipient(), attempts, maxAttempts, error);
+    }
+
+    // ================= METRICS =================
+    public Map<String, Object> getQueueStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", outboxRepository.countByStatus(EmailStatus.PENDING));
+        stats.put("sending", outboxRepository.countByStatus(EmailStatus.SENDING));
+        stats.put("failed", outboxRepository.countByStatus(EmailStatus.FAILED));
+        stats.put("inFlightBatches", inFlightBatches.get());
+        stats.put("workers", workers);
+
+        Instant oldest = outboxRepository.findOldestCreatedAt(EmailStatus.PENDING);
+        stats.put("oldestPendingAgeSeconds",
+                oldest == null ? 0 : Duration.between(oldest, Instant.now()).getSeconds());
+        return stats;
+    }
+}
@@ -1,39 +1,64 @@
 package com.smartewaste.backend.service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import com.smartewaste.backend.entity.EmailOutbox;
+import com.smartewaste.backend.repository.EmailOutboxRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
 
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private static final int BATCH_SIZE = 500;
 
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    private static final String INSERT_SQL = "INSERT INTO email_outbox "
+            + "(recipient, subject, body, status, attempts, next_attempt_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmailService(EmailOutboxRepository outboxRepository, JdbcTemplate jdbcTemplate) {
+        this.outboxRepository = outboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     // ================= COMMON HTML EMAIL SENDER =================
+    // Writes to the outbox in the caller's transaction; EmailDispatcher does the SMTP send.
     private void sendHtmlEmail(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
-            System.out.println("✅ HTML EMAIL SENT TO: " + to);
-        } catch (MessagingException e) {
-            System.err.println("❌ EMAIL FAILED: " + e.getMessage());
-            e.printStackTrace();
+        outboxRepository.save(compose(to, subject, htmlContent));
+    }
+
+    private EmailOutbox compose(String to, String subject, String htmlContent) {
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(to);
+        email.setSubject(subject);
+        email.setBody(htmlContent);
+        return email;
+    }
+
+    // Queues emails built with the *Email(...) factories below with one JDBC batch (bulk paths).
+    // IDENTITY ids keep Hibernate from batching inserts, and nothing here reads the rows back.
+    public void enqueueAll(List<EmailOutbox> emails) {
+        if (emails.isEmpty()) {
+            return;
         }
+        // Instants in UTC, as Hibernate stores them for the dispatcher's queries whatever the JVM zone
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        jdbcTemplate.batchUpdate(INSERT_SQL, emails, BATCH_SIZE, (ps, email) -> {
+            ps.setString(1, email.getRecipient());
+            ps.setString(2, email.getSubject());
+            ps.setString(3, email.getBody());
+            ps.setString(4, email.getStatus().name());
+            ps.setInt(5, email.getAttempts());
+            ps.setTimestamp(6, Timestamp.from(email.getNextAttemptAt()), utc);
+            ps.setTimestamp(7, Timestamp.from(email.getCreatedAt()), utc);
+        });
     }
 
     // ================= BASE EMAIL TEMPLATE =================
@@ -101,6 +126,15 @@ public class EmailService {
             LocalDate date,
             LocalTime time,
             String personnel) {
+        outboxRepository.save(pickupScheduledEmail(email, userName, date, time, personnel));
+    }
+
+    public EmailOutbox pickupScheduledEmail(
+            String email,
+            String userName,
+            LocalDate date,
+            LocalTime time,
+            String personnel) {
 
         String content = "<p>Dear <b>" + userName + "</b>,</p>" +
                 "<p>Your e-waste pickup has been successfully scheduled.</p>" +
@@ -111,7 +145,7 @@ public class EmailService {
                 "</table>" +
                 "<p>Please keep the items ready for collection.</p>";
 
-        sendHtmlEmail(
+        return compose(
                 email,
                 "Your E-Waste Pickup Is Scheduled",
                 baseTemplate("Pickup Scheduled", content));
@@ -119,6 +153,10 @@ public class EmailService {
 
     // ================= REQUEST REJECTED =================
     public void sendRequestRejectedEmail(String email, String userName, String reason) {
+        outboxRepository.save(requestRejectedEmail(email, userName, reason));
+    }
+
+    public EmailOutbox requestRejectedEmail(String email, String userName, String reason) {
 
         String content = "<p>Dear <b>" + userName + "</b>,</p>" +
                 "<p>Unfortunately, your pickup request was not approved.</p>" +
@@ -128,7 +166,7 @@ public class EmailService {
                 "</div>" +
                 "<p>You may submit a new request anytime.</p>";
 
-        sendHtmlEmail(
+        return compose(
                 email,
                 "Update on Your Pickup Request",
                 baseTemplate("Request Rejected", content));
@@ -187,6 +225,15 @@ public class EmailService {
             String deviceType,
             LocalDate date,
             LocalTime time) {
+        outboxRepository.save(pickupCompletedEmail(email, userName, deviceType, date, time));
+    }
+
+    public EmailOutbox pickupCompletedEmail(
+            String email,
+            String userName,
+            String deviceType,
+            LocalDate date,
+            LocalTime time) {
 
         String content = "<p>Dear <b>" + userName + "</b>,</p>" +
                 "<p>Thank you for recycling with Smart E-Waste! Your pickup has been completed successfully.</p>" +
@@ -197,7 +244,7 @@ public class EmailService {
                 "</div>" +
                 "<p>We appreciate your contribution towards responsible recycling.</p>";
 
-        sendHtmlEmail(
+        return compose(
                 email,
                 "Pickup Completed – Thank You!",
                 baseTemplate("Pickup Completed", content));
@@ -0,0 +1,267 @@
+package com.smartewaste.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartewaste.backend.dto.RequestFeedFilter;
+import com.smartewaste.backend.enums.UserStatus;
+import com.smartewaste.backend.export.ExportFormat;
+import com.smartewaste.backend.export.RowWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming CSV / NDJSON exports of requests and users for reporting.
+ *
+ * Rows are read in keyset chunks and written straight to the response, so
+ * memory stays at one chunk and no connection or transaction is held while
+ * a slow client downloads. Requests go oldest first: H2 cannot read an
+ * index backwards, so the feed's newest-first order would re-sort the
+ * whole range for every chunk.
+ * Credentials, reset tokens and OTPs are never exported.
+ */
+@Service
+public class ExportService {
+
+    private static final List<String> REQUEST_COLUMNS = List.of(
+            "id", "createdAt", "status", "deviceType", "brand", "model", "condition", "quantity",
+            "address", "latitude", "longitude", "remarks", "pickupDate", "pickupTime",
+            "personnelId", "pickupPersonnel", "userId", "userFullName", "userEmail", "userPhone");
+
+    // Read straight from collection_requests, in REQUEST_COLUMNS order up to userId
+    private static final String REQUESTS_SQL = "SELECT id, created_at, status, device_type, brand, model, item_condition, "
+            + "quantity, address, latitude, longitude, remarks, pickup_date, pickup_time, personnel_id, pickup_personnel, "
+            + "user_id FROM collection_requests";
+    private static final int REQUEST_ROW_COLUMNS = 17;
+
+    // Rows without created_at come first (where ascending order puts NULLs), paged on id alone
+    private static final String REQUESTS_UNDATED = " AND created_at IS NULL AND id > ?";
+    private static final String REQUESTS_DATED = " AND created_at IS NOT NULL";
+
+    // Ascending (createdAt, id) seek, on the same indexes the admin feed walks backwards
+    private static final String REQUESTS_SEEK = " AND created_at >= ? AND (created_at > ? OR (created_at = ? AND id > ?))";
+
+    private static final List<String> USER_COLUMNS = List.of(
+            "id", "createdAt", "status", "fullName", "username", "email", "phone", "address", "city", "roles");
+
+    private static final String USERS_SQL = "SELECT id, created_at, status, full_name, username, email, phone, address, city "
+            + "FROM user_accounts WHERE id > ? %s ORDER BY id LIMIT ?";
+
+    private static final String ROLES_SQL = "SELECT user_id, role FROM user_roles WHERE user_id BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public ExportService(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${export.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    // Oldest first, same filters as GET /api/admin/requests
+    public void exportRequests(RequestFeedFilter filter, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        List<Object> filterArgs = new ArrayList<>();
+        String leading = null; // equality column whose (column, created_at, id) index drives the scan
+
+        if (filter.getPickupFrom() != null) {
+            where.append(" AND pickup_date >= ?");
+            filterArgs.add(Date.valueOf(filter.getPickupFrom()));
+        }
+        if (filter.getPickupTo() != null) {
+            where.append(" AND pickup_date <= ?");
+            filterArgs.add(Date.valueOf(filter.getPickupTo()));
+        }
+        if (filter.getDeviceType() != null && !filter.getDeviceType().isBlank()) {
+            where.append(" AND device_type = ?");
+            filterArgs.add(filter.getDeviceType());
+            leading = "device_type";
+        }
+        if (filter.getStatus() != null) {
+            where.append(" AND status = ?");
+            filterArgs.add(filter.getStatus().name());
+            leading = "status";
+        }
+        if (filter.getPersonnel() != null && !filter.getPersonnel().isBlank()) {
+            where.append(" AND pickup_personnel = ?");
+            filterArgs.add(filter.getPersonnel());
+            leading = "pickup_personnel";
+        }
+        if (filter.getPersonnelId() != null) {
+            where.append(" AND personnel_id = ?");
+            filterArgs.add(filter.getPersonnelId());
+            leading = "personnel_id";
+        }
+
+        // The constant leading column changes nothing in the result, but lets H2 see that the
+        // index is already in ORDER BY order and stop after one chunk instead of sorting
+        String order = " ORDER BY " + (leading != null ? leading + ", " : "") + "created_at, id LIMIT ?";
+        String undatedSql = REQUESTS_SQL + where + REQUESTS_UNDATED + order;
+        String firstSql = REQUESTS_SQL + where + REQUESTS_DATED + order;
+        String nextSql = REQUESTS_SQL + where + REQUESTS_SEEK + order;
+
+        stream(out, gzip, target -> {
+            RowWriter writer = format.open(target, REQUEST_COLUMNS, objectMapper);
+
+            long lastId = 0;
+            List<Object[]> chunk;
+            do {
+                List<Object> args = new ArrayList<>(filterArgs);
+                args.add(lastId);
+                args.add(chunkSize);
+                chunk = fetchRequests(undatedSql, args);
+                if (!chunk.isEmpty()) {
+                    lastId = (Long) chunk.get(chunk.size() - 1)[0];
+                    writeRequests(writer, chunk);
+                }
+            } while (chunk.size() == chunkSize);
+
+            Timestamp lastCreatedAt = null;
+            do {
+                List<Object> args = new ArrayList<>(filterArgs);
+                if (lastCreatedAt != null) {
+                    args.addAll(List.of(lastCreatedAt, lastCreatedAt, lastCreatedAt, lastId));
+                }
+                args.add(chunkSize);
+                chunk = fetchRequests(lastCreatedAt == null ? firstSql : nextSql, args);
+                if (!chunk.isEmpty()) {
+                    Object[] last = chunk.get(chunk.size() - 1);
+                    lastCreatedAt = (Timestamp) last[1];
+                    lastId = (Long) last[0];
+                    writeRequests(writer, chunk);
+                }
+            } while (chunk.size() == chunkSize);
+        });
+    }
+
+    private List<Object[]> fetchRequests(String sql, List<Object> args) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Date pickupDate = rs.getDate(13);
+            Time pickupTime = rs.getTime(14);
+            Object[] row = new Object[REQUEST_COLUMNS.size()];
+            row[0] = rs.getLong(1);
+            row[1] = rs.getTimestamp(2); // seek key; written as LocalDateTime
+            for (int i = 2; i < 12; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            row[12] = pickupDate != null ? pickupDate.toLocalDate() : null;
+            row[13] = pickupTime != null ? pickupTime.toLocalTime() : null;
+            row[14] = rs.getObject(15);
+            row[15] = rs.getString(16);
+            row[16] = rs.getLong(17);
+            return row;
+        }, args.toArray());
+    }
+
+    private void writeRequests(RowWriter writer, List<Object[]> chunk) throws IOException {
+        // Owners for the whole chunk in one query; a join here lets the planner drive
+        // from user_accounts and re-sort every chunk
+        Map<Long, Object[]> owners = loadOwners(chunk);
+        for (Object[] row : chunk) {
+            Object[] owner = owners.get((Long) row[REQUEST_ROW_COLUMNS - 1]);
+            if (owner != null) {
+                System.arraycopy(owner, 0, row, REQUEST_ROW_COLUMNS, owner.length);
+            }
+            Timestamp createdAt = (Timestamp) row[1];
+            row[1] = createdAt != null ? createdAt.toLocalDateTime() : null;
+            writer.write(row);
+        }
+        writer.flush();
+    }
+
+    private Map<Long, Object[]> loadOwners(List<Object[]> chunk) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Object[] row : chunk) {
+            ids.add((Long) row[REQUEST_ROW_COLUMNS - 1]);
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+
+        Map<Long, Object[]> owners = new HashMap<>();
+        jdbcTemplate.query("SELECT id, full_name, email, phone FROM user_accounts WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    owners.put(rs.getLong(1), new Object[] {rs.getString(2), rs.getString(3), rs.getString(4)});
+                }, ids.toArray());
+        return owners;
+    }
+
+    // Oldest first, optionally one status only
+    public void exportUsers(UserStatus status, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        // Enum constant name, safe to inline
+        String sql = String.format(USERS_SQL, status != null ? "AND status = '" + status.name() + "'" : "");
+
+        stream(out, gzip, target -> {
+            RowWriter writer = format.open(target, USER_COLUMNS, objectMapper);
+            long lastId = 0;
+            List<Object[]> chunk;
+            do {
+                chunk = jdbcTemplate.query(sql, (rs, rowNum) -> {
+                    Timestamp createdAt = rs.getTimestamp(2);
+                    return new Object[] {
+                            rs.getLong(1),
+                            createdAt != null ? createdAt.toInstant() : null,
+                            rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6),
+                            rs.getString(7), rs.getString(8), rs.getString(9), null};
+                }, lastId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                // Roles for the whole chunk in one range query instead of one per user
+                long firstId = (Long) chunk.get(0)[0];
+                lastId = (Long) chunk.get(chunk.size() - 1)[0];
+                Map<Long, TreeSet<String>> roles = new HashMap<>();
+                jdbcTemplate.query(ROLES_SQL, rs -> {
+                    roles.computeIfAbsent(rs.getLong(1), k -> new TreeSet<>()).add(rs.getString(2));
+                }, firstId, lastId);
+
+                for (Object[] row : chunk) {
+                    TreeSet<String> userRoles = roles.get((Long) row[0]);
+                    row[row.length - 1] = userRoles != null ? String.join(" ", userRoles) : null;
+                    writer.write(row);
+                }
+                writer.flush();
+            } while (chunk.size() == chunkSize);
+        });
+    }
+
+    public static String fileName(String what, ExportFormat format, boolean gzip) {
+        return what + "." + format.getExtension() + (gzip ? ".gz" : "");
+    }
+
+    private static void stream(OutputStream out, boolean gzip, ExportBody body) throws IOException {
+        if (!gzip) {
+            body.writeTo(out);
+            out.flush();
+            return;
+        }
+        // syncFlush: every chunk reaches the client as soon as it is written
+        GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024, true);
+        body.writeTo(compressed);
+        compressed.finish();
+        compressed.flush();
+    }
+
+    @FunctionalInterface
+    private interface ExportBody {
+        void writeTo(OutputStream target) throws IOException;
+    }
+}
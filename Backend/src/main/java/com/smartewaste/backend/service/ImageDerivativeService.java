@@ -0,0 +1,211 @@
+package com.smartewaste.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartewaste.backend.dto.CollectionRequestDto;
+import com.smartewaste.backend.storage.ImageStore;
+import com.smartewaste.backend.storage.ImageVariant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders resized JPEG derivatives (thumbnail + preview) of uploaded device
+ * images on a bounded background pool. The original is decoded once, with
+ * source subsampling so a 12 MP photo never becomes a full-size bitmap.
+ */
+@Service
+public class ImageDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    private static final String UPLOADS_URL = "/uploads/";
+
+    private final ImageStore imageStore;
+    private final ThreadPoolTaskExecutor executor;
+
+    // Originals with a render queued or running, so list views don't enqueue duplicates
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Originals whose derivatives are known to be on disk. Keys are content-addressed and
+    // derivatives are never rewritten, so a hit stays true and list views skip the stat calls.
+    private final Cache<String, Boolean> rendered;
+
+    // Originals that could not be rendered (undecodable or missing). List views serve the
+    // original for them until the entry expires instead of re-queueing the render every time.
+    private final Cache<String, Boolean> failed;
+
+    public ImageDerivativeService(
+            ImageStore imageStore,
+            @Qualifier("imageDerivativeExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${storage.images.derivatives.known-max-size:50000}") long knownMaxSize,
+            @Value("${storage.images.derivatives.failed-ttl-seconds:3600}") long failedTtlSeconds) {
+        this.imageStore = imageStore;
+        this.executor = executor;
+        this.rendered = Caffeine.newBuilder().maximumSize(knownMaxSize).build();
+        this.failed = Caffeine.newBuilder()
+                .maximumSize(knownMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(failedTtlSeconds))
+                .build();
+    }
+
+    public void generateAsync(String key) {
+        if (key == null || !inFlight.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(key);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            inFlight.remove(key); // Queue full: retried the next time the image is listed
+            log.debug("Derivative queue full, skipping {}", key);
+        }
+    }
+
+    // Points the DTO at derivatives when they exist, otherwise at the original (and queues a render)
+    public CollectionRequestDto attachUrls(CollectionRequestDto dto) {
+        String key = dto.getImagePath();
+        if (key == null) {
+            return dto;
+        }
+
+        String thumbnail = ImageVariant.THUMBNAIL.keyFor(key);
+        String preview = ImageVariant.PREVIEW.keyFor(key);
+
+        if (rendered.getIfPresent(key) != null) {
+            dto.setThumbnailUrl(UPLOADS_URL + thumbnail);
+            dto.setPreviewUrl(UPLOADS_URL + preview);
+            return dto;
+        }
+
+        // Render already queued or known to fail: serve the original without touching the disk
+        if (inFlight.contains(key) || failed.getIfPresent(key) != null) {
+            dto.setThumbnailUrl(UPLOADS_URL + key);
+            dto.setPreviewUrl(UPLOADS_URL + key);
+            return dto;
+        }
+
+        boolean hasThumbnail = imageStore.exists(thumbnail);
+        boolean hasPreview = imageStore.exists(preview);
+        dto.setThumbnailUrl(UPLOADS_URL + (hasThumbnail ? thumbnail : key));
+        dto.setPreviewUrl(UPLOADS_URL + (hasPreview ? preview : key));
+
+        if (hasThumbnail && hasPreview) {
+            rendered.put(key, Boolean.TRUE);
+        } else {
+            generateAsync(key);
+        }
+        return dto;
+    }
+
+    // ================= RENDERING =================
+
+    void generate(String key) {
+        try {
+            if (imageStore.exists(ImageVariant.THUMBNAIL.keyFor(key))
+                    && imageStore.exists(ImageVariant.PREVIEW.keyFor(key))) {
+                rendered.put(key, Boolean.TRUE);
+                return; // Content-addressed: a duplicate upload already has its derivatives
+            }
+
+            BufferedImage source = decodeSubsampled(key, largestVariant());
+            if (source == null) {
+                failed.put(key, Boolean.TRUE);
+                log.warn("Unsupported image format for {}", key);
+                return;
+            }
+
+            for (ImageVariant variant : ImageVariant.values()) {
+                BufferedImage scaled = scaleToFit(source, variant.getMaxDimension());
+                ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+                ImageIO.write(scaled, "jpg", jpeg);
+                imageStore.put(variant.keyFor(key), new ByteArrayInputStream(jpeg.toByteArray()));
+            }
+            rendered.put(key, Boolean.TRUE);
+        } catch (IOException | RuntimeException e) {
+            failed.put(key, Boolean.TRUE);
+            log.warn("Failed to render derivatives for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private BufferedImage decodeSubsampled(String key, int targetDimension) throws IOException {
+        try (InputStream in = imageStore.open(key);
+             ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+
+                // Keep at least 2x the target resolution for a clean downscale
+                int step = Math.max(1, longest / (targetDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scaleToFit(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        // JPEG has no alpha: flatten onto white
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, targetWidth, targetHeight);
+            g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static int largestVariant() {
+        int max = 0;
+        for (ImageVariant variant : ImageVariant.values()) {
+            max = Math.max(max, variant.getMaxDimension());
+        }
+        return max;
+    }
+}
@@ -3,6 +3,7 @@ package com.smartewaste.backend.service;
 import com.smartewaste.backend.entity.UserAccount;
 import com.smartewaste.backend.repository.UserAccountRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -19,6 +20,7 @@ public class OtpService {
         this.emailService = emailService;
     }
 
+    @Transactional
     public void generateAndSendOtp(String email) {
         String otp = String.format("%06d", new Random().nextInt(999999));
 
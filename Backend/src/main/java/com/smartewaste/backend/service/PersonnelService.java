@@ -10,6 +10,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import com.smartewaste.backend.entity.Personnel;
 import com.smartewaste.backend.repository.PersonnelRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
@@ -21,22 +22,26 @@ public class PersonnelService {
     private final UserAccountRepository userAccountRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final UserCache userCache;
 
     public PersonnelService(
             PersonnelRepository personnelRepository,
             UserAccountRepository userAccountRepository,
             PasswordEncoder passwordEncoder,
-            EmailService emailService) {
+            EmailService emailService,
+            UserCache userCache) {
         this.personnelRepository = personnelRepository;
         this.userAccountRepository = userAccountRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
+        this.userCache = userCache;
     }
 
     public List<Personnel> getAllActivePersonnel() {
         return personnelRepository.findByActiveTrue();
     }
 
+    @Transactional
     public Personnel addPersonnel(Personnel personnel) {
         personnel.setActive(true);
 
@@ -84,6 +89,7 @@ public class PersonnelService {
                 userAccountRepository.findByEmailIgnoreCase(p.getEmail()).ifPresent(u -> {
                     u.setStatus(UserStatus.SUSPENDED);
                     userAccountRepository.save(u);
+                    userCache.invalidate(u.getId());
                 });
             }
         });
@@ -0,0 +1,233 @@
+package com.smartewaste.backend.service;
+
+import com.smartewaste.backend.entity.RequestEvent;
+import com.smartewaste.backend.enums.RequestStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write side of the request_events log. Callers only append to an in-memory
+ * queue (after their transaction commits, so rolled-back changes leave no
+ * trace); a scheduled flush drains it into JDBC batch inserts. Recording
+ * never blocks and never fails the status change: when the queue is full
+ * the event is dropped and counted.
+ *
+ * A batch the database refuses is retried row by row: rows it still refuses
+ * for good (constraint, data too long) are logged and dropped, so one bad
+ * event cannot hold up everything queued behind it. Only transient failures
+ * (lost connection, lock timeout) keep the remaining events for the next flush.
+ */
+@Service
+public class RequestEventRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestEventRecorder.class);
+
+    private static final String INSERT_SQL = "INSERT INTO request_events "
+            + "(request_id, event_month, occurred_at, from_status, to_status, actor, detail) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SYSTEM_ACTOR = "system";
+    private static final int MAX_ACTOR_LENGTH = 100;  // request_events.actor
+    private static final int MAX_DETAIL_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<RequestEvent> queue;
+    private final int batchSize;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    // One flush at a time, held across the batch insert
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Events a transient failure kept back last time; retried before anything newer
+    private List<RequestEvent> retry = List.of();
+
+    public RequestEventRecorder(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${request-events.queue-capacity:100000}") int queueCapacity,
+            @Value("${request-events.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    public void record(Long requestId, RequestStatus from, RequestStatus to, String detail) {
+        RequestEvent event = new RequestEvent();
+        LocalDateTime now = LocalDateTime.now();
+        event.setRequestId(requestId);
+        event.setOccurredAt(now);
+        event.setEventMonth(monthKey(YearMonth.from(now)));
+        event.setFromStatus(from);
+        event.setToStatus(to);
+        event.setActor(truncate(currentActor(), MAX_ACTOR_LENGTH));
+        event.setDetail(truncate(detail, MAX_DETAIL_LENGTH));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionBuffer().add(event);
+        } else {
+            enqueue(event);
+        }
+    }
+
+    // Partition key: yyyyMM
+    public static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    // ================= FLUSH =================
+
+    @Scheduled(fixedDelayString = "${request-events.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (!retry.isEmpty()) {
+                List<RequestEvent> pending = retry;
+                retry = List.of();
+                if (!write(pending)) {
+                    return;
+                }
+            }
+
+            List<RequestEvent> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                if (!write(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                log.warn("Request event queue full: dropped {} events", lost);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // False when a transient failure left events in retry; the flush stops until the next run
+    private boolean write(List<RequestEvent> batch) {
+        try {
+            // One transaction, so a refused batch leaves no partial rows behind for the row-by-row pass
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> bind(ps, event)));
+            return true;
+        } catch (DataAccessException e) {
+            if (isTransient(e)) {
+                log.warn("Failed to write {} request events, will retry: {}", batch.size(), e.getMessage());
+                retry = batch;
+                return false;
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            RequestEvent event = batch.get(i);
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, event));
+            } catch (DataAccessException e) {
+                if (isTransient(e)) {
+                    log.warn("Failed to write {} request events, will retry: {}", batch.size() - i, e.getMessage());
+                    retry = new ArrayList<>(batch.subList(i, batch.size()));
+                    return false;
+                }
+                log.warn("Dropped request event {} -> {} for request {}: {}",
+                        event.getFromStatus(), event.getToStatus(), event.getRequestId(), e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private static void bind(PreparedStatement ps, RequestEvent event) throws SQLException {
+        ps.setLong(1, event.getRequestId());
+        ps.setInt(2, event.getEventMonth());
+        ps.setTimestamp(3, Timestamp.valueOf(event.getOccurredAt()));
+        ps.setString(4, event.getFromStatus() == null ? null : event.getFromStatus().name());
+        ps.setString(5, event.getToStatus().name());
+        ps.setString(6, event.getActor());
+        ps.setString(7, event.getDetail());
+    }
+
+    // Worth retrying as is: the database or the connection to it, not the row
+    private static boolean isTransient(DataAccessException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    // ================= HELPERS =================
+
+    private void enqueue(RequestEvent event) {
+        if (!queue.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // Events of the current transaction, handed to the queue only if it commits
+    @SuppressWarnings("unchecked")
+    private List<RequestEvent> transactionBuffer() {
+        List<RequestEvent> buffer = (List<RequestEvent>) TransactionSynchronizationManager.getResource(this);
+        if (buffer != null) {
+            return buffer;
+        }
+
+        List<RequestEvent> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(RequestEventRecorder.this);
+                if (status == STATUS_COMMITTED) {
+                    created.forEach(RequestEventRecorder.this::enqueue);
+                }
+            }
+        });
+        return created;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private static String currentActor() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken || auth.getName() == null) {
+            return SYSTEM_ACTOR;
+        }
+        return auth.getName();
+    }
+}
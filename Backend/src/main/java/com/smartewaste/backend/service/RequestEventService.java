@@ -0,0 +1,100 @@
+package com.smartewaste.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartewaste.backend.dto.RequestEventDto;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.repository.CollectionRequestRepository;
+import com.smartewaste.backend.repository.RequestEventRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Read side of the request_events log: per-request timelines and a streamed
+ * NDJSON export over a month range.
+ */
+@Service
+public class RequestEventService {
+
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+
+    // Keyset over (event_month, id); the month bounds let MySQL prune partitions
+    private static final String EXPORT_SQL = "SELECT id, request_id, event_month, occurred_at, from_status, to_status, actor, detail "
+            + "FROM request_events "
+            + "WHERE event_month BETWEEN ? AND ? AND (event_month > ? OR (event_month = ? AND id > ?)) "
+            + "ORDER BY event_month, id LIMIT ?";
+
+    private final RequestEventRepository eventRepository;
+    private final CollectionRequestRepository requestRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RequestEventService(
+            RequestEventRepository eventRepository,
+            CollectionRequestRepository requestRepository,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.requestRepository = requestRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public List<RequestEventDto> getTimeline(Long requestId) {
+        List<RequestEventDto> timeline = eventRepository.findTimeline(requestId);
+        if (timeline.isEmpty() && !requestRepository.existsById(requestId)) {
+            throw new RuntimeException("Request not found");
+        }
+        return timeline;
+    }
+
+    // Writes one JSON object per line, chunk by chunk; memory use is one chunk whatever the range
+    public void exportNdjson(YearMonth from, YearMonth to, OutputStream out) throws IOException {
+        int fromMonth = RequestEventRecorder.monthKey(from);
+        int toMonth = RequestEventRecorder.monthKey(to);
+
+        int month = fromMonth;
+        long lastId = 0;
+        while (true) {
+            int[] lastMonth = {month};
+            long[] lastSeen = {lastId};
+            int[] rows = {0};
+
+            jdbcTemplate.query(EXPORT_SQL, rs -> {
+                RequestEventDto event = new RequestEventDto(
+                        rs.getLong("id"),
+                        rs.getLong("request_id"),
+                        rs.getTimestamp("occurred_at").toLocalDateTime(),
+                        status(rs.getString("from_status")),
+                        status(rs.getString("to_status")),
+                        rs.getString("actor"),
+                        rs.getString("detail"));
+                try {
+                    out.write(objectMapper.writeValueAsBytes(event));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // Client went away
+                }
+                lastMonth[0] = rs.getInt("event_month");
+                lastSeen[0] = event.getId();
+                rows[0]++;
+            }, fromMonth, toMonth, month, month, lastId, EXPORT_CHUNK_SIZE);
+
+            out.flush();
+            if (rows[0] < EXPORT_CHUNK_SIZE) {
+                return;
+            }
+            month = lastMonth[0];
+            lastId = lastSeen[0];
+        }
+    }
+
+    private static RequestStatus status(String value) {
+        return value == null ? null : RequestStatus.valueOf(value);
+    }
+}
@@ -0,0 +1,174 @@
+package com.smartewaste.backend.service;
+
+import com.smartewaste.backend.dto.NearbyRequestDto;
+import com.smartewaste.backend.entity.CollectionRequest;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.geo.GeoMath;
+import com.smartewaste.backend.geo.GridIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Spatial index of open (PENDING / IN_PROGRESS) requests that have
+ * coordinates. Request writes update it in place. A periodic full reload
+ * from the database repairs any drift, for example writes that rolled back
+ * after updating the index, or requests removed with their user.
+ *
+ * A reload builds a fresh index off to the side and swaps it in. Updates
+ * that arrive during the load are journaled and replayed onto the new index
+ * before the swap, so none are lost and readers never wait on a reload.
+ */
+@Service
+public class RequestLocationIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLocationIndex.class);
+
+    private static final Set<RequestStatus> OPEN = EnumSet.of(RequestStatus.PENDING, RequestStatus.IN_PROGRESS);
+    private static final RequestStatus[] STATUSES = RequestStatus.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double cellDegrees;
+
+    private volatile GridIndex index;
+
+    // Serialises reloads; held across the JDBC scan
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private final Object writeLock = new Object();
+    private List<Consumer<GridIndex>> journal; // non-null while a reload is running; guarded by writeLock
+
+    public RequestLocationIndex(
+            JdbcTemplate jdbcTemplate,
+            @Value("${geo.index.cell-degrees:0.01}") double cellDegrees) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cellDegrees = cellDegrees;
+        this.index = new GridIndex(cellDegrees);
+    }
+
+    // ================= LOAD =================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        reload();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${geo.index.reload-interval-ms:900000}",
+            initialDelayString = "${geo.index.reload-interval-ms:900000}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            GridIndex fresh = new GridIndex(cellDegrees);
+
+            synchronized (writeLock) {
+                journal = new ArrayList<>();
+            }
+            try {
+                jdbcTemplate.query(
+                        "SELECT id, latitude, longitude, status FROM collection_requests "
+                                + "WHERE status IN ('PENDING', 'IN_PROGRESS') AND latitude IS NOT NULL AND longitude IS NOT NULL",
+                        rs -> {
+                            fresh.put(rs.getLong(1), rs.getDouble(2), rs.getDouble(3),
+                                    RequestStatus.valueOf(rs.getString(4)).ordinal());
+                        });
+            } catch (RuntimeException e) {
+                synchronized (writeLock) {
+                    journal = null;
+                }
+                log.warn("Request location index reload failed: {}", e.getMessage());
+                return;
+            }
+
+            synchronized (writeLock) {
+                journal.forEach(op -> op.accept(fresh));
+                journal = null;
+                index = fresh;
+            }
+            log.info("Indexed {} open request locations in {} ms", fresh.size(), System.currentTimeMillis() - started);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // ================= UPDATES =================
+
+    // Call after any write to a request: indexes it if open and located, otherwise drops it
+    public void update(CollectionRequest request) {
+        long id = request.getId();
+        if (OPEN.contains(request.getStatus()) && GeoMath.isValid(request.getLatitude(), request.getLongitude())) {
+            double latitude = request.getLatitude();
+            double longitude = request.getLongitude();
+            int tag = request.getStatus().ordinal();
+            apply(grid -> grid.put(id, latitude, longitude, tag));
+        } else {
+            apply(grid -> grid.remove(id));
+        }
+    }
+
+    // Status-only change made without loading the entity (JDBC batch paths)
+    public void updateStatus(long id, RequestStatus status) {
+        if (OPEN.contains(status)) {
+            apply(grid -> grid.retag(id, status.ordinal()));
+        } else {
+            apply(grid -> grid.remove(id));
+        }
+    }
+
+    private void apply(Consumer<GridIndex> op) {
+        synchronized (writeLock) {
+            op.accept(index);
+            if (journal != null) {
+                journal.add(op);
+            }
+        }
+    }
+
+    // ================= QUERIES =================
+
+    public List<NearbyRequestDto> withinRadius(
+            double latitude, double longitude, double radiusKm, Collection<RequestStatus> statuses, int limit) {
+        List<NearbyRequestDto> result = new ArrayList<>();
+        for (GridIndex.Hit hit : index.withinRadius(latitude, longitude, radiusKm, mask(statuses), limit)) {
+            result.add(new NearbyRequestDto(
+                    hit.getId(), hit.getLatitude(), hit.getLongitude(), STATUSES[hit.getTag()], hit.getDistanceKm()));
+        }
+        return result;
+    }
+
+    public List<NearbyRequestDto> withinBox(
+            double minLat, double minLon, double maxLat, double maxLon, Collection<RequestStatus> statuses, int limit) {
+        List<NearbyRequestDto> result = new ArrayList<>();
+        for (GridIndex.Hit hit : index.withinBox(minLat, minLon, maxLat, maxLon, mask(statuses), limit)) {
+            result.add(new NearbyRequestDto(
+                    hit.getId(), hit.getLatitude(), hit.getLongitude(), STATUSES[hit.getTag()], null));
+        }
+        return result;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private static int mask(Collection<RequestStatus> statuses) {
+        int mask = 0;
+        for (RequestStatus status : statuses == null || statuses.isEmpty() ? OPEN : statuses) {
+            mask |= 1 << status.ordinal();
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,13 @@
+package com.smartewaste.backend.service;
+
+/**
+ * Thrown when a guarded status change matched no row although the request
+ * exists: it moved on concurrently (stale version) or the transition is not
+ * allowed from its current status. Surfaces as HTTP 409.
+ */
+public class RequestStateConflictException extends RuntimeException {
+
+    public RequestStateConflictException(String message) {
+        super(message);
+    }
+}
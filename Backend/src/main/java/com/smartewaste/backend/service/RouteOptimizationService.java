@@ -0,0 +1,79 @@
+package com.smartewaste.backend.service;
+
+import com.smartewaste.backend.dto.CollectionRequestDto;
+import com.smartewaste.backend.routing.RouteOptions;
+import com.smartewaste.backend.routing.RoutePlan;
+import com.smartewaste.backend.routing.RouteSolver;
+import com.smartewaste.backend.routing.RouteStop;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Puts personnel day lists into driving order with {@link RouteSolver}. A
+ * single route is solved on the caller's thread. A whole day's routes are
+ * solved in parallel on the route pool, each within its own time budget, so
+ * hundreds of drivers take about (drivers / cores) x budget in the worst case.
+ */
+@Service
+public class RouteOptimizationService {
+
+    private final RouteSolver solver;
+    private final ForkJoinPool pool;
+
+    public RouteOptimizationService(
+            @Qualifier("routeOptimizationPool") ForkJoinPool pool,
+            @Value("${routing.speed-kmh:25}") double speedKmh,
+            @Value("${routing.service-minutes:15}") long serviceMinutes,
+            @Value("${routing.window-minutes:60}") long windowMinutes,
+            @Value("${routing.late-penalty-km-per-minute:1.0}") double latePenaltyKmPerMinute,
+            @Value("${routing.time-budget-ms:200}") long timeBudgetMs) {
+        this.pool = pool;
+        this.solver = new RouteSolver(new RouteOptions(
+                speedKmh,
+                Duration.ofMinutes(serviceMinutes),
+                Duration.ofMinutes(windowMinutes),
+                latePenaltyKmPerMinute,
+                Duration.ofMillis(timeBudgetMs)));
+    }
+
+    public List<CollectionRequestDto> optimize(List<CollectionRequestDto> stops) {
+        if (stops.size() < 2) {
+            return stops;
+        }
+
+        Map<Long, CollectionRequestDto> byId = new HashMap<>();
+        List<RouteStop> routeStops = new ArrayList<>(stops.size());
+        for (CollectionRequestDto dto : stops) {
+            byId.put(dto.getId(), dto);
+            routeStops.add(new RouteStop(dto.getId(), dto.getLatitude(), dto.getLongitude(), dto.getPickupTime()));
+        }
+
+        RoutePlan plan = solver.solve(routeStops);
+
+        List<CollectionRequestDto> ordered = new ArrayList<>(stops.size());
+        for (RouteStop stop : plan.getStops()) {
+            ordered.add(byId.get(stop.getRequestId()));
+        }
+        return ordered;
+    }
+
+    // personnelId -> stops, solved concurrently; keeps the caller's key order
+    public Map<Long, List<CollectionRequestDto>> optimizeAll(Map<Long, List<CollectionRequestDto>> routes) {
+        Map<Long, ForkJoinTask<List<CollectionRequestDto>>> tasks = new LinkedHashMap<>();
+        routes.forEach((personnelId, stops) -> tasks.put(personnelId, pool.submit(() -> optimize(stops))));
+
+        Map<Long, List<CollectionRequestDto>> optimized = new LinkedHashMap<>();
+        tasks.forEach((personnelId, task) -> optimized.put(personnelId, task.join()));
+        return optimized;
+    }
+}
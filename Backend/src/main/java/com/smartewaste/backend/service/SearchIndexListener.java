@@ -0,0 +1,34 @@
+package com.smartewaste.backend.service;
+
+import com.smartewaste.backend.entity.CollectionRequest;
+import com.smartewaste.backend.entity.UserAccount;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Marks requests and users for re-indexing whenever they are saved or
+ * removed through JPA. Bulk JPQL / JDBC updates bypass entity callbacks
+ * and call SearchIndexService themselves.
+ * Instantiated by Hibernate through Spring's bean container.
+ */
+public class SearchIndexListener {
+
+    private final ObjectProvider<SearchIndexService> searchIndex;
+
+    public SearchIndexListener(ObjectProvider<SearchIndexService> searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void changed(Object entity) {
+        if (entity instanceof CollectionRequest request) {
+            searchIndex.getObject().requestChanged(request.getId());
+        } else if (entity instanceof UserAccount user) {
+            searchIndex.getObject().userChanged(user.getId());
+        }
+    }
+}
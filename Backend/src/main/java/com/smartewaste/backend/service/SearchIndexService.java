@@ -0,0 +1,629 @@
+package com.smartewaste.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartewaste.backend.dto.SearchResultDto;
+import com.smartewaste.backend.enums.SearchDocumentType;
+import com.smartewaste.backend.search.FacetCounter;
+import com.smartewaste.backend.search.SearchQueries;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ReferenceManager;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admin full-text search over requests (brand, model, device type, address,
+ * remarks) and users (name, email, phone), backed by a Lucene index in a
+ * local directory.
+ *
+ * Writes only mark ids dirty (after their transaction commits); a scheduled
+ * refresh re-reads those rows, upserts or deletes their documents, commits
+ * and reopens the near-real-time searcher, so a change is searchable about
+ * a second later whichever path made it (entity saves, guarded UPDATEs,
+ * JDBC batches).
+ *
+ * The index survives restarts. It is built from scratch in the background
+ * when the directory holds no complete index (searches read the tables
+ * directly until then), and rebuilt in place nightly: every row is
+ * re-upserted under a new generation number and documents left on an older
+ * generation (rows deleted behind the index's back) are dropped.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    // ================= FIELDS =================
+    private static final String KEY = "key";       // "REQUEST:42"; upsert / delete term
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String STATUS = "status";
+    private static final String DEVICE_TYPE = "deviceType";
+    private static final String TEXT = "text";     // everything searchable, analyzed
+    private static final String PREFIXES = "prefixes"; // leading characters of every TEXT word
+    private static final String TITLE = "title";
+    private static final String SUBTITLE = "subtitle";
+    private static final String GENERATION = "generation";
+    private static final String FACETS = "facets";  // packed type / status / device type, for counting
+
+    private static final List<String> FACET_DIMENSIONS = List.of(TYPE, STATUS, DEVICE_TYPE);
+
+    // Commit user data
+    private static final String COMMIT_GENERATION = "generation";
+    private static final String COMMIT_COMPLETE = "complete";
+    private static final String COMMIT_SCHEMA = "schema";
+
+    // Bump when the document fields change: an index with another schema counts as incomplete and is rebuilt
+    private static final String SCHEMA = "2";
+
+    private static final int MAX_WINDOW = 1000; // deepest hit a page may reach
+    private static final int TYPO_CACHE_SIZE = 10_000;
+
+    private static final String REQUESTS_SQL =
+            "SELECT id, status, device_type, brand, model, address, remarks FROM collection_requests";
+    private static final String USERS_SQL =
+            "SELECT id, status, full_name, email, phone FROM user_accounts";
+
+    // Database fallback: every word must appear in one of these columns
+    private static final List<String> REQUEST_TEXT_COLUMNS = List.of("device_type", "brand", "model", "address", "remarks");
+    private static final List<String> USER_TEXT_COLUMNS = List.of("full_name", "email", "phone");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final int maxTerms;
+    private final long refreshIntervalMs;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // Facet counts per (reader version, query): paging through a result, or browsing by
+    // filters only, recounts nothing until the index actually changes
+    private final Cache<String, FacetCounter.Result> facetCache;
+
+    // Typo clauses expanded to the index's terms, per (reader version, word). Building the
+    // Levenshtein automata was a third of an average query, for a vocabulary that keeps repeating.
+    private final Cache<String, Query> typoCache;
+
+    private final Set<Long> dirtyRequests = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    // Serialises "read rows, write their documents" between refreshes and rebuild chunks,
+    // so an older read can never overwrite a newer one. Held across JDBC and index I/O, hence
+    // ReentrantLock rather than synchronized: a blocked virtual thread unmounts instead of pinning.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private long generation;      // stamped on every document written; guarded by writeLock
+    private volatile boolean complete; // a full build has finished at least once; written under writeLock
+    private long lastRefresh;     // guarded by writeLock
+
+    public SearchIndexService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${search.index.dir:search-index}") String dir,
+            @Value("${search.rebuild-chunk-size:2000}") int chunkSize,
+            @Value("${search.max-terms:8}") int maxTerms,
+            @Value("${search.refresh-interval-ms:1000}") long refreshIntervalMs,
+            @Value("${search.ram-buffer-mb:64}") double ramBufferMb,
+            @Value("${search.facet-cache-size:1000}") long facetCacheSize) throws IOException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.maxTerms = maxTerms;
+        this.refreshIntervalMs = refreshIntervalMs;
+
+        Path root = Paths.get(dir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        this.directory = FSDirectory.open(root);
+
+        if (DirectoryReader.indexExists(directory)) {
+            Map<String, String> data = SegmentInfos.readLatestCommit(directory).getUserData();
+            this.generation = Long.parseLong(data.getOrDefault(COMMIT_GENERATION, "0"));
+            this.complete = Boolean.parseBoolean(data.get(COMMIT_COMPLETE)) && SCHEMA.equals(data.get(COMMIT_SCHEMA));
+        }
+
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(ramBufferMb);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+        this.facetCache = Caffeine.newBuilder().maximumSize(facetCacheSize).build();
+        this.typoCache = Caffeine.newBuilder().maximumSize(TYPO_CACHE_SIZE).build();
+
+        // Entries of older readers can never be hit again
+        this.searcherManager.addListener(new ReferenceManager.RefreshListener() {
+            @Override
+            public void beforeRefresh() {
+            }
+
+            @Override
+            public void afterRefresh(boolean didRefresh) {
+                if (didRefresh) {
+                    facetCache.invalidateAll();
+                    typoCache.invalidateAll();
+                }
+            }
+        });
+    }
+
+    // ================= HOOKS =================
+
+    // Call after any write to a request row; picked up by the next refresh once committed
+    public void requestChanged(long id) {
+        AfterCommit.run(() -> dirtyRequests.add(id));
+    }
+
+    public void requestsChanged(Collection<Long> ids) {
+        AfterCommit.run(() -> dirtyRequests.addAll(ids));
+    }
+
+    public void userChanged(long id) {
+        AfterCommit.run(() -> dirtyUsers.add(id));
+    }
+
+    // ================= SEARCH =================
+
+    public SearchResultDto search(
+            String text, SearchDocumentType type, String status, String deviceType, int page, int size)
+            throws IOException {
+        if ((long) (page + 1) * size > MAX_WINDOW) {
+            throw new IllegalArgumentException("Results are limited to the first " + MAX_WINDOW + " hits; refine the search");
+        }
+        long started = System.nanoTime();
+        if (!complete) {
+            return searchDatabase(text, type, status, deviceType, page, size, started);
+        }
+
+        Map<String, String> filters = new LinkedHashMap<>();
+        filters.put(TYPE, type != null ? type.name() : null);
+        filters.put(STATUS, status != null && !status.isBlank() ? status.trim().toUpperCase() : null);
+        filters.put(DEVICE_TYPE, deviceType != null && !deviceType.isBlank() ? deviceType.trim() : null);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            long version = ((DirectoryReader) searcher.getIndexReader()).getVersion();
+            Query query = SearchQueries.build(analyzer, TEXT, PREFIXES, text, maxTerms, filters,
+                    typo -> typoCache.get(version + "|" + typo, key -> rewrite(searcher, typo)));
+
+            // Two passes rather than one combined collector: ranking alone can skip blocks that
+            // cannot reach the top hits, and counting alone never computes a score. Rewritten once
+            // for both.
+            int window = (page + 1) * size;
+            Query rewritten = searcher.rewrite(query);
+            TopDocs top = searcher.search(rewritten, new TopScoreDocCollectorManager(window, window));
+            FacetCounter.Result facets = facetCache.get(version + "|" + query, key -> count(searcher, rewritten));
+
+            List<SearchResultDto.Hit> hits = new ArrayList<>();
+            StoredFields stored = searcher.storedFields();
+            for (int i = page * size; i < top.scoreDocs.length; i++) {
+                ScoreDoc hit = top.scoreDocs[i];
+                Document doc = stored.document(hit.doc);
+                hits.add(new SearchResultDto.Hit(
+                        SearchDocumentType.valueOf(doc.get(TYPE)),
+                        doc.getField(ID).numericValue().longValue(),
+                        doc.get(TITLE),
+                        doc.get(SUBTITLE),
+                        doc.get(STATUS),
+                        doc.get(DEVICE_TYPE),
+                        hit.score));
+            }
+            return new SearchResultDto(facets.getTotal(), hits, facets.getFacets(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private static Query rewrite(IndexSearcher searcher, Query query) {
+        try {
+            return searcher.rewrite(query);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FacetCounter.Result count(IndexSearcher searcher, Query query) {
+        try {
+            return searcher.search(query, new FacetCounter(FACETS, FACET_DIMENSIONS));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ================= REFRESH =================
+
+    @Scheduled(fixedDelayString = "${search.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            writeLock.lock();
+            try {
+                boolean changed = applyDirty(dirtyRequests, SearchDocumentType.REQUEST, REQUESTS_SQL, this::requestDocument)
+                        | applyDirty(dirtyUsers, SearchDocumentType.USER, USERS_SQL, this::userDocument);
+                if (changed) {
+                    writer.commit();
+                }
+                lastRefresh = System.currentTimeMillis();
+            } finally {
+                writeLock.unlock();
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Search index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // Re-reads the dirty rows; ids that failed stay dirty for the next round. Caller holds writeLock.
+    private boolean applyDirty(Set<Long> dirty, SearchDocumentType type, String sql, RowMapper<Document> mapper)
+            throws IOException {
+        if (dirty.isEmpty()) {
+            return false;
+        }
+        List<Long> ids = new ArrayList<>(dirty);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            dirty.removeAll(chunk);
+            try {
+                String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                List<Document> docs = jdbcTemplate.query(sql + " WHERE id IN (" + placeholders + ")", mapper, chunk.toArray());
+
+                Set<Long> missing = new HashSet<>(chunk);
+                for (Document doc : docs) {
+                    missing.remove(doc.getField(ID).numericValue().longValue());
+                    writer.updateDocument(new Term(KEY, doc.get(KEY)), doc);
+                }
+                for (Long id : missing) {
+                    writer.deleteDocuments(new Term(KEY, key(type, id)));
+                }
+            } catch (IOException | RuntimeException e) {
+                dirty.addAll(chunk);
+                throw e;
+            }
+        }
+        return true;
+    }
+
+    // ================= REBUILD =================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (complete) {
+            log.info("Search index ready with {} documents", writer.getDocStats().numDocs);
+            return;
+        }
+        // A first build over a large table takes minutes; startup does not wait for it
+        log.info("Search index incomplete, building it in the background; searching the database until then");
+        Thread builder = new Thread(this::rebuild, "search-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    // Re-upserts every row under a new generation, then drops whatever the pass did not touch
+    @Scheduled(cron = "${search.rebuild-cron:0 45 3 * * *}")
+    public void rebuild() {
+        rebuildLock.lock();
+        long started = System.currentTimeMillis();
+        try {
+            long current;
+            writeLock.lock();
+            try {
+                current = ++generation;
+                writer.setLiveCommitData(commitData(current, complete).entrySet());
+            } finally {
+                writeLock.unlock();
+            }
+
+            long requests = reindexAll(REQUESTS_SQL, this::requestDocument);
+            long users = reindexAll(USERS_SQL, this::userDocument);
+
+            writeLock.lock();
+            try {
+                writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, current - 1));
+                complete = true;
+                writer.setLiveCommitData(commitData(current, true).entrySet());
+                writer.commit();
+            } finally {
+                writeLock.unlock();
+            }
+            searcherManager.maybeRefresh();
+            log.info("Indexed {} requests and {} users for search in {} ms",
+                    requests, users, System.currentTimeMillis() - started);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Search index rebuild failed: {}", e.getMessage());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Keyset pass over one table. Each chunk is read and written under writeLock, and
+    // dirty ids are applied between chunks so search stays fresh during a long rebuild.
+    private long reindexAll(String sql, RowMapper<Document> mapper) throws IOException {
+        String chunkSql = sql + " WHERE id > ? ORDER BY id LIMIT ?";
+        long lastId = 0;
+        long count = 0;
+        List<Document> docs;
+        do {
+            writeLock.lock();
+            try {
+                docs = jdbcTemplate.query(chunkSql, mapper, lastId, chunkSize);
+                for (Document doc : docs) {
+                    writer.updateDocument(new Term(KEY, doc.get(KEY)), doc);
+                    lastId = doc.getField(ID).numericValue().longValue();
+                }
+                count += docs.size();
+            } finally {
+                writeLock.unlock();
+            }
+            if (System.currentTimeMillis() - lastRefresh >= refreshIntervalMs) {
+                refresh();
+            }
+        } while (docs.size() == chunkSize);
+        return count;
+    }
+
+    private static Map<String, String> commitData(long generation, boolean complete) {
+        return Map.of(COMMIT_GENERATION, Long.toString(generation), COMMIT_COMPLETE, Boolean.toString(complete),
+                COMMIT_SCHEMA, SCHEMA);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        refresh();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // ================= DATABASE FALLBACK =================
+
+    // Until the first full build finishes: every word as a substring of any text column, newest
+    // first, no typo tolerance or ranking. Scans the tables, but only for the minutes a first
+    // build takes, instead of holding up startup.
+    private SearchResultDto searchDatabase(
+            String text, SearchDocumentType type, String status, String deviceType, int page, int size, long started) {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : text.trim().toLowerCase().split("\\s+")) {
+                if (!word.isEmpty() && words.size() < maxTerms) {
+                    words.add(word);
+                }
+            }
+        }
+        String statusFilter = status != null && !status.isBlank() ? status.trim().toUpperCase() : null;
+        String deviceFilter = deviceType != null && !deviceType.isBlank() ? deviceType.trim() : null;
+
+        int window = (page + 1) * size;
+        List<SearchResultDto.Hit> hits = new ArrayList<>();
+        Map<String, Long> types = new HashMap<>();
+        Map<String, Long> statuses = new HashMap<>();
+        Map<String, Long> deviceTypes = new HashMap<>();
+
+        if (type != SearchDocumentType.USER) {
+            List<Object> args = new ArrayList<>();
+            String where = databaseFilter(REQUEST_TEXT_COLUMNS, words, statusFilter, deviceFilter, args);
+            jdbcTemplate.query("SELECT status, device_type, COUNT(*) FROM collection_requests" + where
+                    + " GROUP BY status, device_type", rs -> {
+                long count = rs.getLong(3);
+                types.merge(SearchDocumentType.REQUEST.name(), count, Long::sum);
+                if (rs.getString(1) != null) {
+                    statuses.merge(rs.getString(1), count, Long::sum);
+                }
+                if (rs.getString(2) != null) {
+                    deviceTypes.merge(rs.getString(2), count, Long::sum);
+                }
+            }, args.toArray());
+            args.add(window);
+            hits.addAll(jdbcTemplate.query("SELECT id, status, device_type, brand, model, address FROM collection_requests"
+                    + where + " ORDER BY id DESC LIMIT ?", (rs, rowNum) -> {
+                long id = rs.getLong(1);
+                String device = rs.getString(3);
+                return new SearchResultDto.Hit(SearchDocumentType.REQUEST, id,
+                        requestTitle(id, device, rs.getString(4), rs.getString(5)), rs.getString(6),
+                        rs.getString(2), device, 0f);
+            }, args.toArray()));
+        }
+        // Users have no device type, so that filter leaves requests only
+        if (type != SearchDocumentType.REQUEST && deviceFilter == null && hits.size() < window) {
+            List<Object> args = new ArrayList<>();
+            String where = databaseFilter(USER_TEXT_COLUMNS, words, statusFilter, null, args);
+            jdbcTemplate.query("SELECT status, COUNT(*) FROM user_accounts" + where + " GROUP BY status", rs -> {
+                long count = rs.getLong(2);
+                types.merge(SearchDocumentType.USER.name(), count, Long::sum);
+                if (rs.getString(1) != null) {
+                    statuses.merge(rs.getString(1), count, Long::sum);
+                }
+            }, args.toArray());
+            args.add(window - hits.size());
+            hits.addAll(jdbcTemplate.query("SELECT id, status, full_name, email, phone FROM user_accounts"
+                    + where + " ORDER BY id DESC LIMIT ?", (rs, rowNum) -> {
+                long id = rs.getLong(1);
+                String subtitle = join(rs.getString(4), rs.getString(5));
+                return new SearchResultDto.Hit(SearchDocumentType.USER, id, userTitle(id, rs.getString(3)),
+                        !subtitle.isEmpty() ? subtitle : null, rs.getString(2), null, 0f);
+            }, args.toArray()));
+        }
+
+        long total = types.values().stream().mapToLong(Long::longValue).sum();
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put(TYPE, largestFirst(types));
+        facets.put(STATUS, largestFirst(statuses));
+        facets.put(DEVICE_TYPE, largestFirst(deviceTypes));
+        List<SearchResultDto.Hit> pageHits = hits.size() > page * size
+                ? hits.subList(page * size, hits.size()) : List.of();
+        return new SearchResultDto(total, new ArrayList<>(pageHits), facets,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static String databaseFilter(
+            List<String> columns, List<String> words, String status, String deviceType, List<Object> args) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        for (String word : words) {
+            String pattern = "%" + word.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            where.append(" AND (");
+            for (int i = 0; i < columns.size(); i++) {
+                where.append(i > 0 ? " OR " : "").append("LOWER(").append(columns.get(i)).append(") LIKE ?");
+                args.add(pattern);
+            }
+            where.append(')');
+        }
+        if (status != null) {
+            where.append(" AND status = ?");
+            args.add(status);
+        }
+        if (deviceType != null) {
+            where.append(" AND device_type = ?");
+            args.add(deviceType);
+        }
+        return where.toString();
+    }
+
+    // Same order as the index's facets: largest first, ties by name
+    private static Map<String, Long> largestFirst(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    // ================= DOCUMENTS =================
+
+    private Document requestDocument(ResultSet rs, int rowNum) throws SQLException {
+        long id = rs.getLong(1);
+        String deviceType = rs.getString(3);
+        String brand = rs.getString(4);
+        String model = rs.getString(5);
+        String address = rs.getString(6);
+
+        Document doc = newDocument(SearchDocumentType.REQUEST, id, rs.getString(2), deviceType);
+        text(doc, join(deviceType, brand, model, address, rs.getString(7)));
+
+        doc.add(new StoredField(TITLE, requestTitle(id, deviceType, brand, model)));
+        if (address != null) {
+            doc.add(new StoredField(SUBTITLE, address));
+        }
+        return doc;
+    }
+
+    private Document userDocument(ResultSet rs, int rowNum) throws SQLException {
+        long id = rs.getLong(1);
+        String fullName = rs.getString(3);
+        String email = rs.getString(4);
+        String phone = rs.getString(5);
+
+        // Digits only as well, so "98765 43210" and "9876543210" both find the user
+        String digits = phone != null ? phone.replaceAll("\\D", "") : null;
+
+        Document doc = newDocument(SearchDocumentType.USER, id, rs.getString(2), null);
+        text(doc, join(fullName, email, phone, digits));
+        doc.add(new StoredField(TITLE, userTitle(id, fullName)));
+        String subtitle = join(email, phone);
+        if (!subtitle.isEmpty()) {
+            doc.add(new StoredField(SUBTITLE, subtitle));
+        }
+        return doc;
+    }
+
+    // Called from row mappers, which run under writeLock, so the generation read is safe
+    private Document newDocument(SearchDocumentType type, long id, String status, String deviceType) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, key(type, id), Field.Store.NO));
+        doc.add(new StoredField(ID, id));
+        keyword(doc, TYPE, type.name());
+        keyword(doc, STATUS, status);
+        keyword(doc, DEVICE_TYPE, deviceType);
+        doc.add(new SortedDocValuesField(FACETS, FacetCounter.pack(type.name(), status, deviceType)));
+        doc.add(new LongPoint(GENERATION, generation));
+        return doc;
+    }
+
+    // Searchable text, plus the prefixes the word being typed is looked up in
+    private void text(Document doc, String text) {
+        doc.add(new TextField(TEXT, text, Field.Store.NO));
+        for (String prefix : SearchQueries.prefixes(analyzer, TEXT, text)) {
+            doc.add(new StringField(PREFIXES, prefix, Field.Store.NO));
+        }
+    }
+
+    // Filterable and returned with the hit
+    private static void keyword(Document doc, String field, String value) {
+        if (value != null) {
+            doc.add(new StringField(field, value, Field.Store.YES));
+        }
+    }
+
+    private static String requestTitle(long id, String deviceType, String brand, String model) {
+        String title = join(brand, model);
+        return !title.isEmpty() ? title : deviceType != null ? deviceType : "Request #" + id;
+    }
+
+    private static String userTitle(long id, String fullName) {
+        return fullName != null ? fullName : "User #" + id;
+    }
+
+    private static String key(SearchDocumentType type, long id) {
+        return type.name() + ":" + id;
+    }
+
+    private static String join(String... parts) {
+        StringBuilder text = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(part.trim());
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.smartewaste.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartewaste.backend.dto.UserSummaryDto;
+import com.smartewaste.backend.entity.UserAccount;
+import com.smartewaste.backend.repository.UserAccountRepository;
+import com.smartewaste.backend.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived, size-bounded cache of user summaries keyed by account id, so
+ * hot endpoints can resolve the caller without a user_accounts query. Writers
+ * (profile updates, status changes, deletes) must call {@link #invalidate(Long)};
+ * the TTL only bounds staleness for changes made outside this service.
+ */
+@Service
+public class UserCache {
+
+    private final UserAccountRepository userRepository;
+
+    private final Cache<Long, UserSummaryDto> summaries;
+
+    // Subject -> id, for principals without an id (older tokens, HTTP Basic)
+    private final Cache<String, Long> idsByName;
+
+    public UserCache(
+            UserAccountRepository userRepository,
+            @Value("${users.cache.max-size:10000}") long maxSize,
+            @Value("${users.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.idsByName = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Long resolveId(AuthenticatedUser principal) {
+        if (principal == null) {
+            throw new RuntimeException("User not found");
+        }
+        if (principal.getId() != null) {
+            return principal.getId();
+        }
+
+        Long id = idsByName.get(principal.getName(), name -> findByName(name)
+                .map(user -> {
+                    summaries.put(user.getId(), UserSummaryDto.fromEntity(user));
+                    return user.getId();
+                })
+                .orElse(null));
+        if (id == null) {
+            throw new RuntimeException("User not found");
+        }
+        return id;
+    }
+
+    public UserSummaryDto getSummary(Long userId) {
+        UserSummaryDto summary = summaries.get(userId, id -> userRepository.findById(id)
+                .map(UserSummaryDto::fromEntity)
+                .orElse(null));
+        if (summary == null) {
+            throw new RuntimeException("User not found");
+        }
+        return summary;
+    }
+
+    public UserSummaryDto getSummary(AuthenticatedUser principal) {
+        return getSummary(resolveId(principal));
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            summaries.invalidate(userId);
+        }
+        idsByName.invalidateAll(); // rare; cheaper than tracking which names map to the id
+    }
+
+    // JWT subject is the username, which is the email for self-registered users
+    private Optional<UserAccount> findByName(String name) {
+        return userRepository.findByUsernameOrEmailIgnoreCase(name);
+    }
+}
@@ -3,17 +3,26 @@ package com.smartewaste.backend.service;
 import com.smartewaste.backend.dto.AdminProfileDto;
 import com.smartewaste.backend.dto.RegisterUserRequest;
 import com.smartewaste.backend.dto.UpdateProfileRequest;
+import com.smartewaste.backend.dto.UserDocumentDto;
 import com.smartewaste.backend.dto.UserSummaryDto;
 import com.smartewaste.backend.entity.UserAccount;
 import com.smartewaste.backend.entity.UserDocument;
 import com.smartewaste.backend.enums.UserStatus;
 import com.smartewaste.backend.repository.UserAccountRepository;
 import com.smartewaste.backend.repository.UserDocumentRepository;
+import com.smartewaste.backend.security.AuthenticatedUser;
+import com.smartewaste.backend.storage.DocumentResource;
+import com.smartewaste.backend.storage.DocumentStore;
+import com.smartewaste.backend.storage.StoredDocument;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -25,6 +34,9 @@ public class UserService {
     private final UserAccountRepository userAccountRepository;
     private final UserDocumentRepository userDocumentRepository;
     private final EmailService emailService;
+    private final DocumentStore documentStore;
+    private final UserCache userCache;
+    private final DistributionSummary documentBytes;
 
     private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
 
@@ -32,11 +44,22 @@ public class UserService {
             UserAccountRepository userAccountRepository,
             UserDocumentRepository userDocumentRepository,
             EmailService emailService,
-            org.springframework.security.crypto.password.PasswordEncoder passwordEncoder) {
+            DocumentStore documentStore,
+            UserCache userCache,
+            org.springframework.security.crypto.password.PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry) {
         this.userAccountRepository = userAccountRepository;
         this.userDocumentRepository = userDocumentRepository;
         this.emailService = emailService;
+        this.documentStore = documentStore;
+        this.userCache = userCache;
         this.passwordEncoder = passwordEncoder;
+        this.documentBytes = DistributionSummary.builder("uploads.size")
+                .description("Uploaded file sizes")
+                .baseUnit("bytes")
+                .tag("kind", "document")
+                .tag("deduplicated", "false")
+                .register(meterRegistry);
     }
 
     // ============================
@@ -70,6 +93,7 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    @Transactional
     public void verifyUser(String email, String otp) {
         UserAccount user = userAccountRepository.findByEmailIgnoreCase(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -91,24 +115,24 @@ public class UserService {
         user.setMustResetPassword(true);
 
         userAccountRepository.save(user);
+        userCache.invalidate(user.getId());
         emailService.sendCredentialsEmail(user.getEmail(), user.getFullName(), tempPassword);
     }
 
-    public UserSummaryDto getUserSummary(String email) {
-        UserAccount user = userAccountRepository
-                .findByEmailIgnoreCase(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return UserSummaryDto.fromEntity(user);
+    // ✅ Served from the user cache; no query on a warm hit
+    public UserSummaryDto getUserSummary(AuthenticatedUser principal) {
+        return userCache.getSummary(principal);
     }
 
     public void updateProfile(
-            String email,
+            AuthenticatedUser principal,
             UpdateProfileRequest request,
             MultipartFile idProof,
             MultipartFile addressProof) throws IOException {
 
-        UserAccount user = getProfile(email);
+        // Writes always start from a fresh entity, never from the cache
+        UserAccount user = userAccountRepository.findById(userCache.resolveId(principal))
+                .orElseThrow(() -> new RuntimeException("User not found"));
 
         user.setFullName(request.getFullName());
         user.setEmail(request.getEmail());
@@ -117,6 +141,7 @@ public class UserService {
         user.setAddress(request.getAddress());
 
         userAccountRepository.save(user);
+        userCache.invalidate(user.getId());
 
         if (idProof != null && !idProof.isEmpty()) {
             saveDocument(user, idProof, "ID_PROOF");
@@ -153,7 +178,9 @@ public class UserService {
             user.setStatus(UserStatus.REJECTED);
         }
 
-        return userAccountRepository.save(user);
+        UserAccount saved = userAccountRepository.save(user);
+        userCache.invalidate(userId);
+        return saved;
     }
 
     public void updateUserStatus(Long userId, UserStatus status) {
@@ -161,6 +188,7 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setStatus(status);
         userAccountRepository.save(user);
+        userCache.invalidate(userId);
     }
 
     public void deleteUser(Long userId) {
@@ -168,6 +196,7 @@ public class UserService {
             throw new RuntimeException("User not found");
         }
         userAccountRepository.deleteById(userId);
+        userCache.invalidate(userId);
     }
 
     public String generateTempPassword() {
@@ -211,6 +240,7 @@ public class UserService {
         admin.setCity(dto.getCity());
 
         userAccountRepository.save(admin);
+        userCache.invalidate(admin.getId());
 
         return getAdminProfile(username);
     }
@@ -226,6 +256,43 @@ public class UserService {
 
     public void save(UserAccount user) {
         userAccountRepository.save(user);
+        userCache.invalidate(user.getId());
+    }
+
+    // ============================
+    // DOCUMENTS
+    // ============================
+
+    public List<UserDocumentDto> getDocuments(Long userId) {
+        return userDocumentRepository.findByUserId(userId)
+                .stream()
+                .map(UserDocumentDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    public List<UserDocumentDto> getMyDocuments(AuthenticatedUser principal) {
+        return getDocuments(userCache.resolveId(principal));
+    }
+
+    public UserDocument getMyDocument(AuthenticatedUser principal, Long documentId) {
+        return userDocumentRepository.findByIdAndUserId(documentId, userCache.resolveId(principal))
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+    }
+
+    public UserDocument getDocument(Long documentId) {
+        return userDocumentRepository.findById(documentId)
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+    }
+
+    public DocumentResource openDocument(UserDocument document) {
+        if (document.getStorageKey() == null) {
+            throw new RuntimeException("Document content not available");
+        }
+        return new DocumentResource(
+                documentStore,
+                document.getStorageKey(),
+                document.getSize(),
+                document.getFileName());
     }
 
     // ============================
@@ -237,12 +304,22 @@ public class UserService {
             MultipartFile file,
             String type) throws IOException {
 
+        // Stream straight into the chunked store; the DB row only gets metadata
+        StoredDocument stored;
+        try (InputStream in = file.getInputStream()) {
+            stored = documentStore.write(in);
+        }
+        documentBytes.record(stored.getSize());
+
         UserDocument document = new UserDocument();
         document.setUser(user);
         document.setType(type);
         document.setFileName(file.getOriginalFilename());
         document.setContentType(file.getContentType());
-        document.setData(file.getBytes());
+        document.setStorageKey(stored.getKey());
+        document.setSize(stored.getSize());
+        document.setSha256(stored.getSha256());
+        document.setCreatedAt(Instant.now());
 
         userDocumentRepository.save(document);
     }
@@ -0,0 +1,36 @@
+package com.smartewaste.backend.service;
+
+import com.smartewaste.backend.entity.UserAccount;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Feeds user writes into the dashboard counters, whichever service made
+ * them (registration, approval, personnel onboarding, admin edits).
+ * Instantiated by Hibernate through Spring's bean container.
+ */
+public class UserStatsListener {
+
+    private final ObjectProvider<DashboardStatsService> dashboardStats;
+
+    public UserStatsListener(ObjectProvider<DashboardStatsService> dashboardStats) {
+        this.dashboardStats = dashboardStats;
+    }
+
+    @PostPersist
+    void created(UserAccount user) {
+        dashboardStats.getObject().userCreated(user.getStatus());
+    }
+
+    @PostUpdate
+    void updated(UserAccount user) {
+        dashboardStats.getObject().userStatusChanged(user.getPersistedStatus(), user.getStatus());
+    }
+
+    @PostRemove
+    void removed(UserAccount user) {
+        dashboardStats.getObject().userDeleted(user.getPersistedStatus());
+    }
+}
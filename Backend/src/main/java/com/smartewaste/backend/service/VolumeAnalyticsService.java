@@ -0,0 +1,383 @@
+package com.smartewaste.backend.service;
+
+import com.smartewaste.backend.dto.VolumeSeriesDto;
+import com.smartewaste.backend.enums.RequestStatus;
+import com.smartewaste.backend.enums.VolumeDimension;
+import com.smartewaste.backend.enums.VolumeGranularity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Completed-volume analytics (requests and item quantity per day / week /
+ * month by device type, condition, brand and city).
+ *
+ * The rollup is fed incrementally from the request_events log: every run
+ * reads the events after the stored watermark, folds the COMPLETED ones
+ * into volume_rollups and advances the watermark in the same transaction.
+ * Event ids are assigned by the single RequestEventRecorder flusher, so
+ * they commit in order and no event that reaches the log is skipped. On the
+ * very first run the rollup is seeded from requests completed before the
+ * event log existed.
+ *
+ * The log itself is best effort (the recorder drops events when its queue
+ * is full, and loses the unflushed ones on a crash), so a completion can
+ * be missing from it. A nightly reconcile recounts the last few weeks from
+ * collection_requests, the same way as the seed, and replaces those rows:
+ * recent periods are exact from the next morning on, older ones keep
+ * whatever the log delivered.
+ */
+@Service
+public class VolumeAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(VolumeAnalyticsService.class);
+
+    private static final String WATERMARK = "volume_rollups";
+
+    private static final String UPDATE_SQL = "UPDATE volume_rollups SET requests = requests + ?, quantity = quantity + ? "
+            + "WHERE granularity = ? AND period_start = ? AND device_type = ? AND item_condition = ? AND brand = ? AND city = ?";
+    private static final String INSERT_SQL = "INSERT INTO volume_rollups "
+            + "(granularity, period_start, device_type, item_condition, brand, city, requests, quantity) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Events after the watermark, with the attributes of their request at read time (final once COMPLETED)
+    private static final String EVENTS_SQL = "SELECT e.id, e.to_status, e.occurred_at, r.id, "
+            + "r.device_type, r.item_condition, r.brand, r.quantity, u.city "
+            + "FROM request_events e "
+            + "LEFT JOIN collection_requests r ON r.id = e.request_id "
+            + "LEFT JOIN user_accounts u ON u.id = r.user_id "
+            + "WHERE e.id > ? ORDER BY e.id LIMIT ?";
+
+    // Completed requests not covered by an event after the watermark; the completion day is
+    // the COMPLETED event when there is one, otherwise the pickup (or creation) date
+    private static final String COMPLETION_DAY =
+            "COALESCE(CAST(e.occurred_at AS DATE), r.pickup_date, CAST(r.created_at AS DATE))";
+    private static final String COMPLETED_SQL = "SELECT " + COMPLETION_DAY + ", "
+            + "r.device_type, r.item_condition, r.brand, u.city, COUNT(*), COALESCE(SUM(r.quantity), 0) "
+            + "FROM collection_requests r "
+            + "JOIN user_accounts u ON u.id = r.user_id "
+            + "LEFT JOIN request_events e ON e.request_id = r.id AND e.to_status = 'COMPLETED' "
+            + "WHERE r.status = 'COMPLETED' AND (e.id IS NULL OR e.id <= ?)";
+    private static final String COMPLETED_GROUP_BY = " GROUP BY " + COMPLETION_DAY + ", "
+            + "r.device_type, r.item_condition, r.brand, u.city";
+    private static final String SEED_SQL = COMPLETED_SQL + COMPLETED_GROUP_BY;
+    private static final String RECONCILE_SQL = COMPLETED_SQL + " AND " + COMPLETION_DAY + " >= ?" + COMPLETED_GROUP_BY;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxDailySpanDays;
+    private final int reconcileDays;
+
+    // One ingest at a time
+    private final ReentrantLock ingestLock = new ReentrantLock();
+
+    public VolumeAnalyticsService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${analytics.volume.batch-size:5000}") int batchSize,
+            @Value("${analytics.volume.max-daily-span-days:1096}") int maxDailySpanDays,
+            @Value("${analytics.volume.reconcile-days:35}") int reconcileDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxDailySpanDays = maxDailySpanDays;
+        this.reconcileDays = reconcileDays;
+    }
+
+    // ================= QUERY =================
+
+    public VolumeSeriesDto getVolumes(
+            VolumeGranularity granularity,
+            LocalDate from,
+            LocalDate to,
+            VolumeDimension groupBy,
+            Map<VolumeDimension, String> filters) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (granularity == VolumeGranularity.DAY && from.plusDays(maxDailySpanDays).isBefore(to)) {
+            throw new IllegalArgumentException("Daily series are limited to " + maxDailySpanDays + " days; use WEEK or MONTH");
+        }
+
+        LocalDate start = granularity.periodStart(from);
+        StringBuilder sql = new StringBuilder("SELECT period_start");
+        if (groupBy != null) {
+            sql.append(", ").append(groupBy.getColumn());
+        }
+        sql.append(", SUM(requests), SUM(quantity) FROM volume_rollups "
+                + "WHERE granularity = ? AND period_start BETWEEN ? AND ?");
+
+        List<Object> args = new ArrayList<>();
+        args.add(granularity.name());
+        args.add(Date.valueOf(start));
+        args.add(Date.valueOf(to));
+        filters.forEach((dimension, value) -> {
+            if (value != null && !value.isBlank()) {
+                sql.append(" AND ").append(dimension.getColumn()).append(" = ?");
+                args.add(value.trim());
+            }
+        });
+
+        sql.append(" GROUP BY period_start");
+        if (groupBy != null) {
+            sql.append(", ").append(groupBy.getColumn());
+        }
+        sql.append(" ORDER BY period_start");
+        if (groupBy != null) {
+            sql.append(", ").append(groupBy.getColumn());
+        }
+
+        List<VolumeSeriesDto.Point> points = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            int col = 1;
+            LocalDate period = rs.getDate(col++).toLocalDate();
+            String group = groupBy != null ? rs.getString(col++) : null;
+            return new VolumeSeriesDto.Point(period, group, rs.getLong(col++), rs.getLong(col));
+        }, args.toArray());
+
+        return new VolumeSeriesDto(granularity, start, to, groupBy, points);
+    }
+
+    // ================= INGEST =================
+
+    @Scheduled(
+            fixedDelayString = "${analytics.volume.ingest-interval-ms:10000}",
+            initialDelayString = "${analytics.volume.ingest-interval-ms:10000}")
+    public void ingest() {
+        ingestLock.lock();
+        try {
+            Long watermark = readWatermark();
+            if (watermark == null) {
+                seed();
+                return;
+            }
+
+            int read;
+            do {
+                read = ingestBatch(watermark);
+                watermark = readWatermark();
+            } while (read == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Volume rollup ingest failed, retrying next run: {}", e.getMessage());
+        } finally {
+            ingestLock.unlock();
+        }
+    }
+
+    private int ingestBatch(long watermark) {
+        Map<Key, long[]> deltas = new HashMap<>();
+        long[] lastId = {watermark};
+        int[] read = {0};
+
+        jdbcTemplate.query(EVENTS_SQL, rs -> {
+            read[0]++;
+            lastId[0] = rs.getLong(1);
+            // COMPLETED is final, so each request yields at most one such event.
+            // Requests deleted since (with their user) have no attributes left to count.
+            if (!RequestStatus.COMPLETED.name().equals(rs.getString(2)) || rs.getObject(4) == null) {
+                return;
+            }
+            LocalDate day = rs.getTimestamp(3).toLocalDateTime().toLocalDate();
+            fold(deltas, day, rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(9),
+                    1, rs.getLong(8));
+        }, watermark, batchSize);
+
+        if (read[0] == 0) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            deltas.forEach(this::upsert);
+            int moved = jdbcTemplate.update(
+                    "UPDATE rollup_watermarks SET last_event_id = ?, updated_at = ? WHERE name = ? AND last_event_id = ?",
+                    lastId[0], Timestamp.from(Instant.now()), WATERMARK, watermark);
+            if (moved != 1) {
+                throw new IllegalStateException("Volume rollup watermark moved concurrently");
+            }
+        });
+        if (!deltas.isEmpty()) {
+            log.debug("Folded events up to {} into {} volume rollup rows", lastId[0], deltas.size());
+        }
+        return read[0];
+    }
+
+    // First run: count everything completed so far, then follow the event log from its current end
+    private void seed() {
+        long started = System.currentTimeMillis();
+        Long maxEventId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM request_events", Long.class);
+        long watermark = maxEventId != null ? maxEventId : 0;
+
+        Map<Key, long[]> rows = new HashMap<>();
+        jdbcTemplate.query(SEED_SQL, rs -> {
+            Date day = rs.getDate(1);
+            if (day != null) {
+                fold(rows, day.toLocalDate(), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                        rs.getLong(6), rs.getLong(7));
+            }
+        }, watermark);
+
+        List<Object[]> inserts = new ArrayList<>(rows.size());
+        rows.forEach((key, totals) -> inserts.add(key.insertArgs(totals)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM volume_rollups");
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            }
+            jdbcTemplate.update("INSERT INTO rollup_watermarks (name, last_event_id, updated_at) VALUES (?, ?, ?)",
+                    WATERMARK, watermark, Timestamp.from(Instant.now()));
+        });
+        log.info("Seeded {} volume rollup rows up to event {} in {} ms",
+                inserts.size(), watermark, System.currentTimeMillis() - started);
+    }
+
+    // ================= RECONCILE =================
+
+    // Recounts recent periods from the requests themselves, so completions whose event never
+    // reached the log are counted after all. Completions with an event past the watermark are
+    // left to ingest, as in the seed.
+    @Scheduled(cron = "${analytics.volume.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        ingestLock.lock();
+        try {
+            Long watermark = readWatermark();
+            if (watermark == null) {
+                return; // not seeded yet; the seed counts everything
+            }
+            long started = System.currentTimeMillis();
+
+            // Whole periods only: from the Monday on or before the first of the month, so every
+            // DAY and WEEK row from there on and every MONTH row from the first on is recounted
+            LocalDate monthStart = VolumeGranularity.MONTH.periodStart(LocalDate.now().minusDays(reconcileDays));
+            LocalDate from = VolumeGranularity.WEEK.periodStart(monthStart);
+            Map<VolumeGranularity, LocalDate> bounds = Map.of(
+                    VolumeGranularity.DAY, from, VolumeGranularity.WEEK, from, VolumeGranularity.MONTH, monthStart);
+
+            Map<Key, long[]> rows = new HashMap<>();
+            jdbcTemplate.query(RECONCILE_SQL, rs -> {
+                fold(rows, rs.getDate(1).toLocalDate(), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5), rs.getLong(6), rs.getLong(7));
+            }, watermark, Date.valueOf(from));
+
+            List<Object[]> inserts = new ArrayList<>(rows.size());
+            rows.forEach((key, totals) -> {
+                if (!key.periodStart.isBefore(bounds.get(key.granularity))) {
+                    inserts.add(key.insertArgs(totals));
+                }
+            });
+
+            transactionTemplate.executeWithoutResult(status -> {
+                bounds.forEach((granularity, bound) -> jdbcTemplate.update(
+                        "DELETE FROM volume_rollups WHERE granularity = ? AND period_start >= ?",
+                        granularity.name(), Date.valueOf(bound)));
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+                }
+            });
+            log.info("Reconciled {} volume rollup rows from {} up to event {} in {} ms",
+                    inserts.size(), from, watermark, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.warn("Volume rollup reconcile failed, retrying next night: {}", e.getMessage());
+        } finally {
+            ingestLock.unlock();
+        }
+    }
+
+    private Long readWatermark() {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT last_event_id FROM rollup_watermarks WHERE name = ?", Long.class, WATERMARK);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // Adds one (day, attributes) total to its DAY, WEEK and MONTH rows
+    private static void fold(Map<Key, long[]> into, LocalDate day, String deviceType, String condition,
+                             String brand, String city, long requests, long quantity) {
+        for (VolumeGranularity granularity : VolumeGranularity.values()) {
+            Key key = new Key(granularity, granularity.periodStart(day),
+                    clean(deviceType, "Other", 100), clean(condition, "Unknown", 50),
+                    clean(brand, "Unknown", 100), clean(city, "Unknown", 100));
+            long[] totals = into.computeIfAbsent(key, k -> new long[2]);
+            totals[0] += requests;
+            totals[1] += quantity;
+        }
+    }
+
+    private void upsert(Key key, long[] totals) {
+        int updated = jdbcTemplate.update(UPDATE_SQL, totals[0], totals[1], key.granularity.name(),
+                Date.valueOf(key.periodStart), key.deviceType, key.condition, key.brand, key.city);
+        if (updated == 0) {
+            jdbcTemplate.update(INSERT_SQL, key.insertArgs(totals));
+        }
+    }
+
+    private static String clean(String value, String fallback, int maxLength) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() <= maxLength ? trimmed : trimmed.substring(0, maxLength);
+    }
+
+    // One volume_rollups row
+    private static final class Key {
+
+        private final VolumeGranularity granularity;
+        private final LocalDate periodStart;
+        private final String deviceType;
+        private final String condition;
+        private final String brand;
+        private final String city;
+
+        private Key(VolumeGranularity granularity, LocalDate periodStart, String deviceType,
+                    String condition, String brand, String city) {
+            this.granularity = granularity;
+            this.periodStart = periodStart;
+            this.deviceType = deviceType;
+            this.condition = condition;
+            this.brand = brand;
+            this.city = city;
+        }
+
+        Object[] insertArgs(long[] totals) {
+            return new Object[] {granularity.name(), Date.valueOf(periodStart), deviceType, condition, brand, city,
+                    totals[0], totals[1]};
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return granularity == other.granularity
+                    && periodStart.equals(other.periodStart)
+                    && deviceType.equals(other.deviceType)
+                    && condition.equals(other.condition)
+                    && brand.equals(other.brand)
+                    && city.equals(other.city);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(granularity, periodStart, deviceType, condition, brand, city);
+        }
+    }
+}
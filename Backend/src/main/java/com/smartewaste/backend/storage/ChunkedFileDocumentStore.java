@@ -0,0 +1,234 @@
+package com.smartewaste.backend.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Stores each document as a directory of fixed-size chunk files:
+ * {@code <root>/<key[0..2]>/<key>/000000.chunk, 000001.chunk, ...}.
+ * Writes go to a temp directory that is renamed into place once complete.
+ */
+@Component
+public class ChunkedFileDocumentStore implements DocumentStore {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{32}");
+    private static final int COPY_BUFFER = 64 * 1024;
+
+    private final Path root;
+    private final int chunkSize;
+
+    public ChunkedFileDocumentStore(
+            @Value("${storage.documents.dir:documents}") String dir,
+            @Value("${storage.documents.chunk-size:1048576}") int chunkSize) throws IOException {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public StoredDocument write(InputStream content) throws IOException {
+        String key = UUID.randomUUID().toString().replace("-", "");
+        Path target = directoryOf(key);
+        Path temp = target.resolveSibling(key + ".part");
+        Files.createDirectories(temp);
+
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[COPY_BUFFER];
+        long total = 0;
+        int chunkIndex = 0;
+        long inChunk = 0;
+        OutputStream out = null;
+
+        try {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                int offset = 0;
+                while (offset < read) {
+                    if (out == null || inChunk == chunkSize) {
+                        if (out != null) {
+                            out.close();
+                        }
+                        out = Files.newOutputStream(temp.resolve(chunkName(chunkIndex++)));
+                        inChunk = 0;
+                    }
+                    int n = (int) Math.min(read - offset, chunkSize - inChunk);
+                    out.write(buffer, offset, n);
+                    offset += n;
+                    inChunk += n;
+                    total += n;
+                }
+            }
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            if (out != null) {
+                out.close();
+            }
+            deleteRecursively(temp);
+            throw e;
+        }
+
+        return new StoredDocument(key, HexFormat.of().formatHex(digest.digest()), total);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        Path dir = directoryOf(key);
+        if (!Files.isDirectory(dir)) {
+            throw new IOException("Document not found: " + key);
+        }
+        return new ChunkInputStream(listChunks(dir));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        deleteRecursively(directoryOf(key));
+    }
+
+    // ================= HELPERS =================
+
+    private Path directoryOf(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid document key");
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static String chunkName(int index) {
+        return String.format("%06d.chunk", index);
+    }
+
+    private static List<Path> listChunks(Path dir) throws IOException {
+        List<Path> chunks = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.chunk")) {
+            stream.forEach(chunks::add);
+        }
+        chunks.sort(null); // zero-padded names sort in chunk order
+        return chunks;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path file : stream) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Reads chunk files back to back. {@link #skip(long)} jumps over whole
+     * chunks by their size and seeks inside the target chunk.
+     */
+    private static class ChunkInputStream extends InputStream {
+
+        private final List<Path> chunks;
+        private int next = 0;
+        private long pendingSkip = 0;
+        private InputStream current;
+
+        ChunkInputStream(List<Path> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            while (true) {
+                if (current == null && !openNext()) {
+                    return -1;
+                }
+                int n = current.read(b, off, len);
+                if (n != -1) {
+                    return n;
+                }
+                current.close();
+                current = null;
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0) {
+                return 0;
+            }
+            if (current != null) {
+                long skipped = current.skip(n);
+                if (skipped == n) {
+                    return n;
+                }
+                current.close();
+                current = null;
+                pendingSkip += n - skipped;
+                return n;
+            }
+            pendingSkip += n;
+            return n;
+        }
+
+        private boolean openNext() throws IOException {
+            while (next < chunks.size()) {
+                Path chunk = chunks.get(next++);
+                long size = Files.size(chunk);
+                if (pendingSkip >= size) {
+                    pendingSkip -= size; // whole chunk skipped without opening it
+                    continue;
+                }
+                SeekableByteChannel channel = Files.newByteChannel(chunk, StandardOpenOption.READ);
+                channel.position(pendingSkip);
+                pendingSkip = 0;
+                current = Channels.newInputStream(channel);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        }
+    }
+}
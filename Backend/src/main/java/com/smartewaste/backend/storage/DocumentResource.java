@@ -0,0 +1,50 @@
+package com.smartewaste.backend.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Re-openable view of a stored document. Returning it from a controller lets
+ * Spring MVC answer Range requests (206 / 416) without buffering the file.
+ */
+public class DocumentResource extends AbstractResource {
+
+    private final DocumentStore store;
+    private final String key;
+    private final long size;
+    private final String fileName;
+
+    public DocumentResource(DocumentStore store, String key, long size, String fileName) {
+        this.store = store;
+        this.key = key;
+        this.size = size;
+        this.fileName = fileName;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return store.open(key);
+    }
+
+    @Override
+    public long contentLength() {
+        return size;
+    }
+
+    @Override
+    public String getFilename() {
+        return fileName;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Document [" + key + "]";
+    }
+}
@@ -0,0 +1,21 @@
+package com.smartewaste.backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Blob storage for user documents (ID / address proofs). Bytes never live in
+ * the database; callers keep only the returned key and metadata.
+ */
+public interface DocumentStore {
+
+    StoredDocument write(InputStream content) throws IOException;
+
+    /**
+     * Opens the blob for reading. The returned stream implements {@code skip}
+     * by seeking, so ranged reads do not scan the skipped bytes.
+     */
+    InputStream open(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,25 @@
+package com.smartewaste.backend.storage;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Storage for uploaded device images. Implementations stream the upload
+ * instead of buffering it, and address content by its SHA-256 so identical
+ * photos are stored once.
+ */
+public interface ImageStore {
+
+    StoredImage store(MultipartFile file) throws IOException;
+
+    // Writes (or replaces) content under an explicit key, e.g. a derivative of a stored image
+    void put(String key, InputStream content) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    boolean exists(String key);
+
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,27 @@
+package com.smartewaste.backend.storage;
+
+/**
+ * Resized JPEG derivatives stored next to an original image. A derivative key
+ * is the original key plus a suffix, e.g. {@code <sha256>.png.thumb.jpg}.
+ */
+public enum ImageVariant {
+
+    THUMBNAIL("thumb", 240),
+    PREVIEW("medium", 960);
+
+    private final String suffix;
+    private final int maxDimension;
+
+    ImageVariant(String suffix, int maxDimension) {
+        this.suffix = suffix;
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String keyFor(String originalKey) {
+        return originalKey + "." + suffix + ".jpg";
+    }
+}
@@ -0,0 +1,122 @@
+package com.smartewaste.backend.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+@Component
+@ConditionalOnProperty(name = "storage.images.type", havingValue = "local", matchIfMissing = true)
+public class LocalImageStore implements ImageStore {
+
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("[a-z0-9]{1,8}");
+
+    private final Path root;
+
+    public LocalImageStore(@Value("${storage.images.dir:uploads}") String dir) throws IOException {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public StoredImage store(MultipartFile file) throws IOException {
+        MessageDigest digest = sha256();
+
+        // Stream into a temp file in the same directory so the final move is an atomic rename
+        Path temp = Files.createTempFile(root, "upload-", ".part");
+        long size;
+        try {
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String key = hash + extensionOf(file.getOriginalFilename());
+            Path target = root.resolve(key);
+
+            if (Files.exists(target)) {
+                return new StoredImage(key, hash, size, true);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same photo uploaded concurrently; the other writer won
+                return new StoredImage(key, hash, size, true);
+            }
+            return new StoredImage(key, hash, size, false);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void put(String key, InputStream content) throws IOException {
+        Path target = resolve(key);
+        Path temp = Files.createTempFile(root, "put-", ".part");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        // Keys are flat file names; reject anything that could escape the root
+        Path path = key == null ? null : root.resolve(key).normalize();
+        if (path == null || !root.equals(path.getParent())) {
+            throw new IllegalArgumentException("Invalid image key");
+        }
+        return path;
+    }
+
+    private static String extensionOf(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0 || dot == fileName.length() - 1) {
+            return "";
+        }
+        String ext = fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return SAFE_EXTENSION.matcher(ext).matches() ? "." + ext : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
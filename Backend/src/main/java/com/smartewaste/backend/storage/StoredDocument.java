@@ -0,0 +1,26 @@
+package com.smartewaste.backend.storage;
+
+public class StoredDocument {
+
+    private final String key;
+    private final String sha256;
+    private final long size;
+
+    public StoredDocument(String key, String sha256, long size) {
+        this.key = key;
+        this.sha256 = sha256;
+        this.size = size;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,32 @@
+package com.smartewaste.backend.storage;
+
+public class StoredImage {
+
+    private final String key; // e.g. "3f2a...9c.jpg", used as CollectionRequest.imagePath
+    private final String sha256;
+    private final long size;
+    private final boolean deduplicated; // true when identical content was already stored
+
+    public StoredImage(String key, String sha256, long size, boolean deduplicated) {
+        this.key = key;
+        this.sha256 = sha256;
+        this.size = size;
+        this.deduplicated = deduplicated;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public boolean isDeduplicated() {
+        return deduplicated;
+    }
+}
@@ -0,0 +1,143 @@
+package com.smartewaste.backend.service;
+
+import com.smartewaste.backend.dto.DashboardStatsDto;
+import com.smartewaste.backend.enums.RequestStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recount against in-memory H2 while request writes commit mid-way: every
+ * change must end up counted exactly once, whether the recount snapshot saw
+ * it or the journal replayed it.
+ */
+class DashboardStatsServiceTest {
+
+    private static final String FIRST_RECOUNT_QUERY = "SELECT status, COUNT(*), COALESCE(SUM(quantity), 0)";
+
+    private DriverManagerDataSource dataSource;
+    private PausingJdbcTemplate jdbc;
+    private TransactionTemplate transactions;
+    private DashboardStatsService stats;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:stats-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new PausingJdbcTemplate(dataSource);
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        jdbc.execute("CREATE TABLE user_accounts (id BIGINT PRIMARY KEY, city VARCHAR(100), status VARCHAR(20))");
+        jdbc.execute("CREATE TABLE collection_requests (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT, "
+                + "status VARCHAR(20), quantity INT, device_type VARCHAR(100), created_at TIMESTAMP)");
+        jdbc.execute("CREATE TABLE stats_counters (id BIGINT AUTO_INCREMENT PRIMARY KEY, dimension VARCHAR(32), "
+                + "bucket VARCHAR(100), counter_value BIGINT, updated_at TIMESTAMP)");
+
+        jdbc.update("INSERT INTO user_accounts (id, city, status) VALUES (1, 'Pune', 'VERIFIED')");
+        for (int i = 0; i < 3; i++) {
+            insertRequest();
+        }
+
+        stats = new DashboardStatsService(jdbc, transactions, 20);
+        stats.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("SHUTDOWN");
+    }
+
+    @Test
+    void writesCommittedDuringRebuildAreCountedOnce() throws Exception {
+        assertThat(stats.getStats(1).getTotalRequests()).isEqualTo(3);
+
+        jdbc.pauseAt(FIRST_RECOUNT_QUERY);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread rebuild = new Thread(() -> {
+            try {
+                stats.rebuild();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        rebuild.start();
+        assertThat(jdbc.paused.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Snapshot pinned, counting not started: commit a new request and a completion meanwhile
+        transactions.executeWithoutResult(status -> {
+            insertRequest();
+            stats.requestCreated("Laptop", "Pune", LocalDate.now());
+        });
+        transactions.executeWithoutResult(status -> {
+            jdbc.update("UPDATE collection_requests SET status = 'COMPLETED' WHERE id = 1");
+            stats.requestTransitioned(RequestStatus.PENDING, RequestStatus.COMPLETED, 2);
+        });
+
+        jdbc.resume.countDown();
+        rebuild.join(TimeUnit.SECONDS.toMillis(10));
+        assertThat(failure.get()).isNull();
+
+        DashboardStatsDto afterRebuild = stats.getStats(1);
+        assertThat(afterRebuild.getTotalRequests()).isEqualTo(4);
+        assertThat(afterRebuild.getRequestsByStatus())
+                .containsEntry(RequestStatus.PENDING.name(), 3L)
+                .containsEntry(RequestStatus.COMPLETED.name(), 1L);
+        assertThat(afterRebuild.getCompletedQuantity()).isEqualTo(2);
+        assertThat(afterRebuild.getRequestsByCity()).containsEntry("Pune", 4L);
+
+        // A quiet recount agrees
+        stats.rebuild();
+        DashboardStatsDto quiet = stats.getStats(1);
+        assertThat(quiet.getTotalRequests()).isEqualTo(afterRebuild.getTotalRequests());
+        assertThat(quiet.getRequestsByStatus()).isEqualTo(afterRebuild.getRequestsByStatus());
+        assertThat(quiet.getCompletedQuantity()).isEqualTo(afterRebuild.getCompletedQuantity());
+    }
+
+    private void insertRequest() {
+        jdbc.update("INSERT INTO collection_requests (user_id, status, quantity, device_type, created_at) "
+                + "VALUES (1, 'PENDING', 2, 'Laptop', CURRENT_TIMESTAMP)");
+    }
+
+    // Blocks the recount on its first counting query until the test has written
+    private static final class PausingJdbcTemplate extends JdbcTemplate {
+
+        private final CountDownLatch paused = new CountDownLatch(1);
+        private final CountDownLatch resume = new CountDownLatch(1);
+        private volatile String pauseAt;
+
+        private PausingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        void pauseAt(String sqlPrefix) {
+            pauseAt = sqlPrefix;
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch) {
+            String prefix = pauseAt;
+            if (prefix != null && sql.startsWith(prefix)) {
+                pauseAt = null;
+                paused.countDown();
+                try {
+                    resume.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.query(sql, rch);
+        }
+    }
+}
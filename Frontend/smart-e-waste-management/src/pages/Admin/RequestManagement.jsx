@@ -15,12 +15,13 @@ import { TimePicker } from '@mui/x-date-pickers/TimePicker';
 const RequestManagement = () => {
   const [requests, setRequests] = useState([]);
   const [requestLoading, setRequestLoading] = useState(false);
+  const [nextCursor, setNextCursor] = useState(null);
   const [isScheduleModalOpen, setIsScheduleModalOpen] = useState(false);
   const [selectedRequest, setSelectedRequest] = useState(null);
   const [scheduleData, setScheduleData] = useState({
       pickupDate: null,
       pickupTime: null,
-      pickupPersonnel: ''
+      personnelId: ''
   });
   const [personnel, setPersonnel] = useState([]); // Fetch for dropdown
   
@@ -40,8 +41,9 @@ const RequestManagement = () => {
   const fetchRequests = async () => {
       setRequestLoading(true);
       try {
-          const data = await adminService.getAllRequests();
-          setRequests(data);
+          const page = await adminService.getRequestFeed();
+          setRequests(page.items);
+          setNextCursor(page.nextCursor);
       } catch (error) {
           toast.error("Failed to fetch requests", 3000, "bottom-center");
       } finally {
@@ -49,6 +51,16 @@ const RequestManagement = () => {
       }
   };
 
+  const loadMoreRequests = async () => {
+      try {
+          const page = await adminService.getRequestFeed({ cursor: nextCursor });
+          setRequests(prev => [...prev, ...page.items]);
+          setNextCursor(page.nextCursor);
+      } catch (error) {
+          toast.error("Failed to fetch requests", 3000, "bottom-center");
+      }
+  };
+
   const fetchPersonnel = async () => {
       try {
           const data = await adminService.getAllPersonnel();
@@ -91,7 +103,7 @@ const RequestManagement = () => {
           await adminService.schedulePickup(selectedRequest.id, formattedData);
           toast.success("Pickup scheduled successfully!", 3000, "bottom-center");
           setIsScheduleModalOpen(false);
-          setScheduleData({ pickupDate: null, pickupTime: null, pickupPersonnel: '' });
+          setScheduleData({ pickupDate: null, pickupTime: null, personnelId: '' });
           fetchRequests();
       } catch (error) {
           toast.error("Failed to schedule pickup", 3000, "bottom-center");
@@ -163,6 +175,13 @@ const RequestManagement = () => {
                   </tbody>
               </table>
             )}
+            {!requestLoading && nextCursor && (
+              <div className="p-4 flex justify-center">
+                  <button onClick={loadMoreRequests} className="px-4 py-2 text-sm font-medium text-emerald-600 hover:bg-emerald-50 rounded-lg">
+                      Load more
+                  </button>
+              </div>
+            )}
           </div>
       </div>
 
@@ -229,12 +248,12 @@ const RequestManagement = () => {
                                   <select 
                                       required 
                                       className="p-2 border rounded-lg focus:ring-2 focus:ring-emerald-500 bg-white"
-                                      value={scheduleData.pickupPersonnel} 
-                                      onChange={e => setScheduleData({...scheduleData, pickupPersonnel: e.target.value})}
+                                      value={scheduleData.personnelId} 
+                                      onChange={e => setScheduleData({...scheduleData, personnelId: e.target.value})}
                                   >
                                       <option value="">Select Personnel</option>
                                       {personnel.map(p => (
-                                          <option key={p.id} value={p.name}>{p.name} ({p.role})</option>
+                                          <option key={p.id} value={p.id}>{p.name} ({p.role})</option>
                                       ))}
                                   </select>
                               </div>
@@ -24,13 +24,12 @@ import {
   Bar,
   Legend
 } from 'recharts';
-import userService from '../../services/userService';
 import adminService from '../../services/adminService';
 import { useToast } from '../../context/ToastContext';
 
 const AdminDashboard = () => {
-  const [users, setUsers] = useState([]);
-  const [requests, setRequests] = useState([]);
+  const [stats, setStats] = useState(null);
+  const [recentActivity, setRecentActivity] = useState([]);
   const [loading, setLoading] = useState(true);
   const toast = useToast();
 
@@ -40,12 +39,13 @@ const AdminDashboard = () => {
 
   const fetchData = async () => {
     try {
-      const [usersData, requestsData] = await Promise.all([
-        userService.getUsers(),
-        adminService.getAllRequests()
+      // Counters are pre-aggregated server-side; only the 5 newest requests are fetched
+      const [statsData, recentPage] = await Promise.all([
+        adminService.getStats(7),
+        adminService.getRequestFeed({ size: 5 })
       ]);
-      setUsers(usersData);
-      setRequests(requestsData);
+      setStats(statsData);
+      setRecentActivity(recentPage.items);
     } catch (error) {
       toast.error('Failed to fetch dashboard data', 3000, "bottom-center");
     } finally {
@@ -55,12 +55,15 @@ const AdminDashboard = () => {
 
   // --- DATA AGGREGATION ---
 
-  const suspendedCount = users.filter(u => u.status === 'SUSPENDED').length;
+  const byStatus = stats?.requestsByStatus || {};
+  const totalUsers = stats?.totalUsers || 0;
+  const totalRequests = stats?.totalRequests || 0;
+  const suspendedCount = stats?.usersByStatus?.SUSPENDED || 0;
   // Request Stats
-  const completedRequests = requests.filter(r => r.status === 'COMPLETED').length;
-  const pendingRequests = requests.filter(r => r.status === 'PENDING').length;
-  const inProgressRequests = requests.filter(r => r.status === 'IN_PROGRESS').length;
-  const rejectedRequests = requests.filter(r => r.status === 'REJECTED').length;
+  const completedRequests = byStatus.COMPLETED || 0;
+  const pendingRequests = byStatus.PENDING || 0;
+  const inProgressRequests = byStatus.IN_PROGRESS || 0;
+  const rejectedRequests = byStatus.REJECTED || 0;
 
   // Pie Chart Data
   const statusData = [
@@ -70,39 +73,16 @@ const AdminDashboard = () => {
     { name: 'Rejected', value: rejectedRequests, color: '#ef4444' }, // Red (Requested)
   ].filter(d => d.value > 0);
 
-  // Waste Stats
-  const wasteTypeCount = requests.reduce((acc, curr) => {
-    const type = curr.deviceType || 'Other';
-    acc[type] = (acc[type] || 0) + 1;
-    return acc;
-  }, {});
-  const wasteData = Object.keys(wasteTypeCount).map(key => ({
-    name: key,
-    count: wasteTypeCount[key]
-  })).sort((a, b) => b.count - a.count).slice(0, 5);
+  // Waste Stats (already sorted largest first)
+  const wasteData = Object.entries(stats?.requestsByDeviceType || {})
+      .map(([name, count]) => ({ name, count }))
+      .slice(0, 5);
 
   // Weekly Trend
-  const getLast7Days = () => {
-    const days = [];
-    for (let i = 6; i >= 0; i--) {
-        const d = new Date();
-        d.setDate(d.getDate() - i);
-        days.push(d.toISOString().split('T')[0]);
-    }
-    return days;
-  };
-  const dayLabels = getLast7Days();
-  const trendData = dayLabels.map(date => {
-      const count = requests.filter(r => r.createdAt && r.createdAt.startsWith(date)).length;
-      return {
-          date: new Date(date).toLocaleDateString('en-US', { weekday: 'short' }),
-          requests: count
-      };
-  });
-
-  const recentActivity = [...requests]
-      .sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt))
-      .slice(0, 5);
+  const trendData = Object.entries(stats?.requestsPerDay || {}).map(([date, count]) => ({
+      date: new Date(date).toLocaleDateString('en-US', { weekday: 'short' }),
+      requests: count
+  }));
 
   if (loading) {
       return (
@@ -133,13 +113,13 @@ const AdminDashboard = () => {
         <div className="grid grid-cols-1 sm:grid-cols-2 xl:grid-cols-4 gap-4 lg:gap-6">
           <StatCard 
             title="Total Users" 
-            value={users.length} 
+            value={totalUsers} 
             icon={<Users className="w-6 h-6 text-white" />} 
             color="bg-gradient-to-br from-indigo-500 to-purple-600"
           />
           <StatCard 
             title="Total Requests" 
-            value={requests.length} 
+            value={totalRequests} 
             icon={<Truck className="w-6 h-6 text-white" />} 
             color="bg-gradient-to-br from-emerald-400 to-teal-500"
           />
@@ -217,7 +197,7 @@ const AdminDashboard = () => {
                     </ResponsiveContainer>
                     <div className="absolute inset-0 flex items-center justify-center pointer-events-none pb-8">
                          <div className="text-center">
-                            <span className="text-3xl font-extrabold text-gray-800">{requests.length}</span>
+                            <span className="text-3xl font-extrabold text-gray-800">{totalRequests}</span>
                             <p className="text-xs text-gray-400 font-bold uppercase tracking-widest mt-1">Total</p>
                         </div>
                     </div>
@@ -117,7 +117,7 @@ const HistoryPage = () => {
                                                 <div className="flex items-center gap-3">
                                                     <div className="h-10 w-10 rounded-lg bg-gray-100 overflow-hidden shrink-0">
                                                         <img 
-                                                            src={`http://localhost:8080/uploads/${req.imagePath}`} 
+                                                            src={`http://localhost:8080${req.thumbnailUrl || `/uploads/${req.imagePath}`}`} 
                                                             alt={req.deviceType}
                                                             className="w-full h-full object-cover"
                                                             onError={(e) => {
@@ -183,7 +183,7 @@ const HistoryPage = () => {
                             <div className="relative h-48 bg-gray-100">
                                 <img 
                                     className="w-full h-full object-contain" 
-                                    src={`http://localhost:8080/uploads/${selectedRequest.imagePath}`} 
+                                    src={`http://localhost:8080${selectedRequest.previewUrl || `/uploads/${selectedRequest.imagePath}`}`} 
                                     alt={selectedRequest.deviceType}
                                     onError={(e) => {
                                         e.target.onerror = null; 
@@ -67,7 +67,7 @@ const MyRequests = () => {
                     <div className="relative h-48 rounded-xl overflow-hidden bg-gray-100">
                         <img 
                             className="w-full h-full object-contain group-hover:scale-105 transition-transform duration-500" 
-                            src={`http://localhost:8080/uploads/${req.imagePath}`} 
+                            src={`http://localhost:8080${req.thumbnailUrl || `/uploads/${req.imagePath}`}`} 
                             alt={req.deviceType} 
                             onError={(e) => {
                               e.target.onerror = null; 
@@ -124,7 +124,7 @@ const MyRequests = () => {
                     <div className="relative h-56 sm:h-72 bg-gray-100 flex-shrink-0">
                         <img 
                             className="w-full h-full object-contain" 
-                            src={`http://localhost:8080/uploads/${selectedRequest.imagePath}`} 
+                            src={`http://localhost:8080${selectedRequest.previewUrl || `/uploads/${selectedRequest.imagePath}`}`} 
                             alt={selectedRequest.deviceType}
                             onError={(e) => {
                                 e.target.onerror = null; 
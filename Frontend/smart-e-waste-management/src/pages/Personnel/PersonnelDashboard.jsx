@@ -116,7 +116,7 @@ const PersonnelDashboard = () => {
                         {/* Modal Header */}
                         <div className="relative h-56 sm:h-72 bg-gray-100 flex-shrink-0">
                             {selectedRequest.imagePath ? (
-                                <img src={`http://localhost:8080/uploads/${selectedRequest.imagePath}`} alt="Device" className="w-full h-full object-contain" />
+                                <img src={`http://localhost:8080${selectedRequest.previewUrl || `/uploads/${selectedRequest.imagePath}`}`} alt="Device" className="w-full h-full object-contain" />
                             ) : (
                                 <div className="w-full h-full flex items-center justify-center text-gray-400">No Image</div>
                             )}
@@ -218,7 +218,7 @@ const TaskCard = ({ req, onClick, onAction }) => {
         <div className="bg-white rounded-2xl shadow-sm border border-gray-100 overflow-hidden hover:shadow-lg transition-all group cursor-pointer" onClick={onClick}>
             <div className="relative h-36 sm:h-40 overflow-hidden">
                 {req.imagePath ? (
-                    <img src={`http://localhost:8080/uploads/${req.imagePath}`} alt="Device" className="w-full h-full object-cover group-hover:scale-105 transition-transform duration-500" />
+                    <img src={`http://localhost:8080${req.thumbnailUrl || `/uploads/${req.imagePath}`}`} alt="Device" className="w-full h-full object-cover group-hover:scale-105 transition-transform duration-500" />
                 ) : (
                     <div className="w-full h-full bg-gray-100 flex items-center justify-center text-gray-400 font-medium">No Image</div>
                 )}
@@ -265,7 +265,7 @@ const CompactHistoryCard = ({ req, onClick }) => {
         >
             <div className="w-12 h-12 rounded-lg bg-gray-100 overflow-hidden flex-shrink-0 border border-gray-200">
                  {req.imagePath ? (
-                    <img src={`http://localhost:8080/uploads/${req.imagePath}`} alt="Device" className="w-full h-full object-cover" />
+                    <img src={`http://localhost:8080${req.thumbnailUrl || `/uploads/${req.imagePath}`}`} alt="Device" className="w-full h-full object-cover" />
                 ) : (
                     <div className="flex items-center justify-center h-full text-[10px] text-gray-400">N/A</div>
                 )}
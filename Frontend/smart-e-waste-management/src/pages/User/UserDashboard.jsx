@@ -203,7 +203,7 @@ const UserDashboard = () => {
                                                 <div className="flex items-center gap-3">
                                                     <div className="w-10 h-10 rounded-lg bg-gray-100 overflow-hidden shrink-0 border border-gray-200">
                                                         <img 
-                                                            src={`http://localhost:8080/uploads/${req.imagePath}`} 
+                                                            src={`http://localhost:8080${req.thumbnailUrl || `/uploads/${req.imagePath}`}`} 
                                                             alt={req.deviceType}
                                                             className="w-full h-full object-cover"
                                                             onError={(e) => {
@@ -288,7 +288,7 @@ const UserDashboard = () => {
                     <div className="relative h-56 sm:h-72 bg-gray-100 flex-shrink-0">
                         <img 
                             className="w-full h-full object-contain" 
-                            src={`http://localhost:8080/uploads/${selectedRequest.imagePath}`} 
+                            src={`http://localhost:8080${selectedRequest.previewUrl || `/uploads/${selectedRequest.imagePath}`}`} 
                             alt={selectedRequest.deviceType}
                             onError={(e) => {
                                 e.target.onerror = null; 
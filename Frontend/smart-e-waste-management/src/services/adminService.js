@@ -7,9 +7,26 @@ const getAuthHeader = () => {
     return token ? { Authorization: `Bearer ${token}` } : {};
 };
 
-const getAllRequests = async () => {
+// Keyset-paginated feed: { items, nextCursor, hasMore }
+// params: { status, deviceType, pickupFrom, pickupTo, personnel, cursor, size }
+const getRequestFeed = async (params = {}) => {
     const response = await axios.get(`${API_URL}/requests`, {
-        headers: getAuthHeader()
+        headers: getAuthHeader(),
+        params
+    });
+    return response.data;
+};
+
+const getAllRequests = async () => {
+    const page = await getRequestFeed({ size: 100 });
+    return page.items;
+};
+
+// Pre-aggregated dashboard counters; days = length of the per-day trend
+const getStats = async (days = 7) => {
+    const response = await axios.get(`${API_URL}/stats`, {
+        headers: getAuthHeader(),
+        params: { days }
     });
     return response.data;
 };
@@ -23,7 +40,7 @@ const rejectRequest = async (requestId, reason) => {
 };
 
 const schedulePickup = async (requestId, scheduleData) => {
-    // scheduleData: { pickupDate, pickupTime, pickupPersonnel }
+    // scheduleData: { pickupDate, pickupTime, personnelId }
     const response = await axios.put(`${API_URL}/requests/${requestId}/schedule`, 
         scheduleData, 
         { headers: getAuthHeader() }
@@ -55,7 +72,9 @@ const deletePersonnel = async (id) => {
 };
 
 export default {
+    getRequestFeed,
     getAllRequests,
+    getStats,
     rejectRequest,
     rejectRequest,
     schedulePickup,